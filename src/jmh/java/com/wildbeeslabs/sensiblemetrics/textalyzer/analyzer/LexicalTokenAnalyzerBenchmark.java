@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntLongCounter;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntObjectMap;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenIdIndex;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenSet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.OffHeapLexicalTokenStore;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.BenchmarkCorpus;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark class for vowel lexical token analyzer operations
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexicalTokenAnalyzerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int corpusSize;
+
+    private VowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer;
+    private List<String> lines;
+    private List<IVowelLexicalToken<String>> tokenList;
+
+    @Setup
+    public void setUp() {
+        this.analyzer = new VowelLexicalTokenAnalyzer<>();
+        this.lines = BenchmarkCorpus.getLines(this.corpusSize);
+        this.tokenList = this.analyzer.getLexicalTokenList(this.lines.stream());
+    }
+
+    @Benchmark
+    public long getFilteredStream() {
+        return this.analyzer.getFilteredStream(this.lines.stream(), this.analyzer.getDefaultFilter(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER).count();
+    }
+
+    @Benchmark
+    public List<IVowelLexicalToken<String>> getLexicalTokenList() {
+        return this.analyzer.getLexicalTokenList(this.lines.stream());
+    }
+
+    @Benchmark
+    public long getOffHeapLexicalTokenList() throws IOException {
+        try (final OffHeapLexicalTokenStore store = new OffHeapLexicalTokenStore()) {
+            return this.analyzer.getOffHeapLexicalTokenList(this.lines.stream(), store).size();
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, List<IVowelLexicalToken<String>>> getLexicalTokenMapByLength() {
+        return this.analyzer.getLexicalTokenMapByLength(this.lines.stream());
+    }
+
+    @Benchmark
+    public Map<Integer, Set<IVowelLexicalToken<String>>> getUniqueLexicalTokenMapByLength() {
+        return this.analyzer.getUniqueLexicalTokenMapByLength(this.lines.stream());
+    }
+
+    @Benchmark
+    public IntObjectMap<LexicalTokenSet> getUniqueLexicalTokenSetByLength() {
+        return this.analyzer.getUniqueLexicalTokenSetByLength(this.lines.stream());
+    }
+
+    @Benchmark
+    public Map<Integer, Long> getCountMapByLength() {
+        return this.analyzer.getCountMapByLength(this.lines.stream());
+    }
+
+    @Benchmark
+    public IntLongCounter getCountByLength() {
+        return this.analyzer.getCountByLength(this.lines.stream());
+    }
+
+    @Benchmark
+    public IntObjectMap<List<IVowelLexicalToken<String>>> getLexicalTokenIntMapByLength() {
+        return this.analyzer.getLexicalTokenIntMapByLength(this.lines.stream());
+    }
+
+    @Benchmark
+    public Map<String, IVowelLexicalToken<String>> getLexicalTokenMapById() {
+        return this.analyzer.getLexicalTokenMapById(this.tokenList.stream());
+    }
+
+    @Benchmark
+    public LexicalTokenIdIndex<IVowelLexicalToken<String>> getLexicalTokenIndexById() {
+        return this.analyzer.getLexicalTokenIndexById(this.tokenList.stream());
+    }
+
+    @Benchmark
+    public Map<Integer, List<IVowelLexicalToken<String>>> getSortedLexicalTokenMapByKey() {
+        return this.analyzer.getSortedLexicalTokenMapByKey(this.lines.stream(), Comparator.reverseOrder());
+    }
+
+    @Benchmark
+    public List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> getLexicalTokenTermList() {
+        return this.analyzer.getLexicalTokenTermList(this.lines.stream(), Comparator.reverseOrder());
+    }
+
+    @Benchmark
+    public List<ILexicalTokenAggregate<String>> getLexicalTokenAggregateList() {
+        return this.analyzer.getLexicalTokenAggregateList(this.lines.stream(), Comparator.reverseOrder());
+    }
+
+    @Benchmark
+    public LexicalTokenPipeline getLexicalTokenPipeline() {
+        return this.analyzer.getLexicalTokenPipeline(this.lines.stream(), this.analyzer.getLexicalTokenPipeline());
+    }
+
+    @Benchmark
+    public void getLexicalTokenPipelineSeparately(final Blackhole blackhole) {
+        blackhole.consume(this.analyzer.getCountByLength(this.lines.stream()));
+        blackhole.consume(this.analyzer.getUniqueLexicalTokenSetByLength(this.lines.stream()));
+        blackhole.consume(this.analyzer.getLexicalTokenAggregateList(this.lines.stream(), Comparator.reverseOrder()));
+    }
+
+    @Benchmark
+    public Map<IVowelLexicalToken<String>, Integer> getVowelCountMapByLexicalToken() {
+        return this.analyzer.getVowelCountMapByLexicalToken(this.tokenList);
+    }
+}
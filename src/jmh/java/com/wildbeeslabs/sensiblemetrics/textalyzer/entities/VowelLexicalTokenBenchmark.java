@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.entities;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.VowelLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.BenchmarkCorpus;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark class for vowel lexical token / token term operations
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VowelLexicalTokenBenchmark {
+
+    @Param({"1000", "100000"})
+    private int corpusSize;
+
+    private List<String> words;
+    private List<IVowelLexicalToken<String>> tokenList;
+    private List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> termList;
+
+    @Setup
+    public void setUp() {
+        final VowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer = new VowelLexicalTokenAnalyzer<>();
+        final List<String> lines = BenchmarkCorpus.getLines(this.corpusSize);
+        this.tokenList = analyzer.getLexicalTokenList(lines.stream());
+        this.words = this.tokenList.stream().map(token -> ((VowelLexicalToken<String>) token).getValue()).collect(Collectors.toList());
+        this.termList = analyzer.getLexicalTokenTermList(lines.stream(), Comparator.reverseOrder());
+    }
+
+    @Benchmark
+    public void createToken(final Blackhole blackhole) {
+        for (final String word : this.words) {
+            blackhole.consume(new VowelLexicalToken<>(word));
+        }
+    }
+
+    @Benchmark
+    public long vowelCount() {
+        long count = 0;
+        for (final IVowelLexicalToken<String> token : this.tokenList) {
+            count += token.vowelCount();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long vowelMask() {
+        long mask = 0;
+        for (final IVowelLexicalToken<String> token : this.tokenList) {
+            mask |= token.vowelMask();
+        }
+        return mask;
+    }
+
+    @Benchmark
+    public void vowelCharacterSet(final Blackhole blackhole) {
+        for (final IVowelLexicalToken<String> token : this.tokenList) {
+            final Set<Character> vowelSet = token.vowelCharacterSet();
+            blackhole.consume(vowelSet);
+        }
+    }
+
+    @Benchmark
+    public void getDistinctVowelString(final Blackhole blackhole) {
+        for (final IVowelLexicalToken<String> token : this.tokenList) {
+            blackhole.consume(((VowelLexicalToken<String>) token).getDistinctVowelString());
+        }
+    }
+
+    @Benchmark
+    public void toFormatString(final Blackhole blackhole) {
+        for (final IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>> term : this.termList) {
+            blackhole.consume(term.toFormatString());
+        }
+    }
+}
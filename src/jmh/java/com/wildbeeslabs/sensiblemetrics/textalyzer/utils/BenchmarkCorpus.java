@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark corpus helper class to generate reproducible text input
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public final class BenchmarkCorpus {
+
+    /**
+     * Default random seed (corpus is identical across runs)
+     */
+    public static final long DEFAULT_SEED = 20171212L;
+    /**
+     * Default number of words per line
+     */
+    public static final int DEFAULT_WORDS_PER_LINE = 12;
+
+    private static final String[] DEFAULT_DELIMITERS = {" ", " ", " ", ", ", ". ", "; ", "! ", "? ", " - "};
+    private static final String DEFAULT_LETTERS = "abcdefghijklmnopqrstuvwxyzAEIOUYaeiouy";
+
+    private BenchmarkCorpus() {
+        // PRIVATE EMPTY CONSTRUCTOR
+    }
+
+    /**
+     * Returns list of text lines containing the given number of words
+     *
+     * @param wordCount - number of words
+     * @return list of text lines
+     */
+    public static List<String> getLines(final int wordCount) {
+        final Random random = new Random(DEFAULT_SEED);
+        final List<String> lines = new ArrayList<>(wordCount / DEFAULT_WORDS_PER_LINE + 1);
+        final StringBuilder line = new StringBuilder();
+        for (int i = 1; i <= wordCount; i++) {
+            final int length = 1 + random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                line.append(DEFAULT_LETTERS.charAt(random.nextInt(DEFAULT_LETTERS.length())));
+            }
+            if (0 == i % DEFAULT_WORDS_PER_LINE || i == wordCount) {
+                lines.add(line.toString());
+                line.setLength(0);
+            } else {
+                line.append(DEFAULT_DELIMITERS[random.nextInt(DEFAULT_DELIMITERS.length)]);
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.utils;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.VowelLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark class for file read / write operations
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileUtilsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int corpusSize;
+
+    private VowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer;
+    private File inputFile;
+    private File outputFile;
+    private List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> termList;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.analyzer = new VowelLexicalTokenAnalyzer<>();
+        this.inputFile = File.createTempFile("textalyzer-input", ".txt");
+        this.outputFile = File.createTempFile("textalyzer-output", ".txt");
+        Files.write(this.inputFile.toPath(), BenchmarkCorpus.getLines(this.corpusSize), FileUtils.DEFAULT_FILE_CHARACTER_ENCODING);
+        this.termList = FileUtils.readFile(this.inputFile, this.analyzer);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.inputFile.toPath());
+        Files.deleteIfExists(this.outputFile.toPath());
+    }
+
+    @Benchmark
+    public List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> readFile() {
+        return FileUtils.readFile(this.inputFile, this.analyzer);
+    }
+
+    @Benchmark
+    public List<ILexicalTokenAggregate<String>> readFileAggregate() {
+        return FileUtils.readFileAggregate(this.inputFile, this.analyzer);
+    }
+
+    @Benchmark
+    public List<ILexicalTokenAggregate<String>> readFileMapped() {
+        return FileUtils.readFileMapped(this.inputFile, this.analyzer);
+    }
+
+    @Benchmark
+    public List<ILexicalTokenAggregate<String>> readFileParallel() {
+        return FileUtils.readFileParallel(this.inputFile, this.analyzer, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Benchmark
+    public void writeFile() {
+        FileUtils.writeFile(this.outputFile, this.termList);
+    }
+}
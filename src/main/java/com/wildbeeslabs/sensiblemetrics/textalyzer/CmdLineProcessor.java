@@ -23,7 +23,20 @@
  */
 package com.wildbeeslabs.sensiblemetrics.textalyzer;
 
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.LexicalTokenFileFollower;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.CountMinSketch;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.HyperLogLog;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenResultCache;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalAlphabet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.server.LexicalTokenServer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.ByteLexicalTokenizer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.FileUtils;
+
 import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -48,12 +61,68 @@ public final class CmdLineProcessor {
      */
     private final Logger LOGGER = LogManager.getLogger(this.getClass());
 
-    @Option(name = "-in", aliases = {"--input"}, required = true, usage = "sets input text file", metaVar = "INPUT FILE")
+    /**
+     * Default glob pattern to match input files in batch mode
+     */
+    public static final String DEFAULT_BATCH_GLOB_PATTERN = "**";
+
+    @Option(name = "-in", aliases = {"--input"}, required = false, usage = "sets input text file, directory or glob pattern (directory and glob enable batch mode)", metaVar = "INPUT FILE")
     private File inputSource;
-    @Option(name = "-out", aliases = {"--output"}, required = true, usage = "sets output text file", metaVar = "OUTPUT FILE")
+    @Option(name = "-out", aliases = {"--output"}, required = false, usage = "sets output text file (output directory in batch mode, required unless server mode is enabled)", metaVar = "OUTPUT FILE")
     private File outputSource;
+    @Option(name = "-mo", aliases = {"--merged-output"}, required = false, usage = "sets merged output text file of all input files in batch mode", metaVar = "MERGED OUTPUT FILE")
+    private File mergedOutputSource;
     @Option(name = "-i", aliases = {"--ignore-case"}, required = false, usage = "enables/disables ignore case mode", metaVar = "IGNORE CASE MODE", handler = ExplicitBooleanOptionHandler.class)
     private boolean ignoreCase;
+    @Option(name = "-a", aliases = {"--aggregate"}, required = false, usage = "enables/disables streaming aggregation mode (tokens are not retained)", metaVar = "AGGREGATE MODE", handler = ExplicitBooleanOptionHandler.class)
+    private boolean aggregate;
+    @Option(name = "-p", aliases = {"--parallelism"}, required = false, usage = "sets number of worker threads to analyze input file in parallel chunks (enables aggregation mode if greater than 1, defaults to the number of processors in batch mode)", metaVar = "PARALLELISM")
+    private int parallelism = 1;
+    @Option(name = "-f", aliases = {"--follow"}, required = false, usage = "enables/disables follow mode (input file is tailed and output is updated incrementally)", metaVar = "FOLLOW MODE", handler = ExplicitBooleanOptionHandler.class)
+    private boolean follow;
+    @Option(name = "-pi", aliases = {"--poll-interval"}, required = false, usage = "sets poll interval of the follow mode (in milliseconds)", metaVar = "POLL INTERVAL")
+    private long pollInterval = LexicalTokenFileFollower.DEFAULT_POLL_INTERVAL;
+    @Option(name = "-s", aliases = {"--snapshot"}, required = false, usage = "sets binary snapshot file of the aggregates (enables aggregation mode)", metaVar = "SNAPSHOT FILE")
+    private File snapshotSource;
+    @Option(name = "-m", aliases = {"--merge"}, required = false, usage = "adds binary snapshot file to be merged into output instead of analyzing input (repeatable)", metaVar = "MERGE SNAPSHOT FILE")
+    private List<File> mergeSources = new ArrayList<>();
+    @Option(name = "-tk", aliases = {"--top-k"}, required = false, usage = "sets number of the most frequent tokens per length group to be estimated in bounded memory (enables top-K mode, merged output is required in batch mode)", metaVar = "TOP K")
+    private int topK;
+    @Option(name = "-te", aliases = {"--top-k-epsilon"}, required = false, usage = "sets relative error of the top-K frequency estimates (sketch memory grows as e / epsilon)", metaVar = "TOP K EPSILON")
+    private double topKEpsilon = CountMinSketch.DEFAULT_EPSILON;
+    @Option(name = "-td", aliases = {"--top-k-delta"}, required = false, usage = "sets error probability of the top-K frequency estimates (sketch memory grows as ln(1 / delta))", metaVar = "TOP K DELTA")
+    private double topKDelta = CountMinSketch.DEFAULT_DELTA;
+    @Option(name = "-dc", aliases = {"--distinct"}, required = false, usage = "enables/disables approximate distinct tokens counting per length and vowel set group (may be combined with top-K mode in a single pass, merged output is required in batch mode)", metaVar = "DISTINCT MODE", handler = ExplicitBooleanOptionHandler.class)
+    private boolean distinct;
+    @Option(name = "-dp", aliases = {"--distinct-precision"}, required = false, usage = "sets HyperLogLog precision of distinct tokens counting (2^precision bytes per group, standard error 1.04 / sqrt(2^precision))", metaVar = "DISTINCT PRECISION")
+    private int distinctPrecision = HyperLogLog.DEFAULT_PRECISION;
+    @Option(name = "-mt", aliases = {"--metrics"}, required = false, usage = "enables/disables pipeline metrics (exposed via JMX and reported on completion)", metaVar = "METRICS MODE", handler = ExplicitBooleanOptionHandler.class)
+    private boolean metrics;
+    @Option(name = "-ab", aliases = {"--alphabet"}, required = false, usage = "sets alphabet of the tokens and vowels (english, russian or union of alphabets joined by '+', e.g. english+russian)", metaVar = "ALPHABET")
+    private String alphabetName = LexicalAlphabet.DEFAULT_ALPHABET.getName();
+    private LexicalAlphabet alphabet = LexicalAlphabet.DEFAULT_ALPHABET;
+    @Option(name = "-enc", aliases = {"--encoding"}, required = false, usage = "sets character encoding of the input files (e.g. UTF-8, windows-1251, ISO-8859-1, UTF-16; overridden by byte order mark)", metaVar = "ENCODING")
+    private String encodingName = FileUtils.DEFAULT_FILE_CHARACTER_ENCODING.name();
+    private Charset encoding = FileUtils.DEFAULT_FILE_CHARACTER_ENCODING;
+    @Option(name = "-srv", aliases = {"--server"}, required = false, usage = "starts HTTP analysis server on the given port (0 - any free port) instead of analyzing input files (text is posted to /analyze)", metaVar = "SERVER PORT")
+    private Integer serverPort;
+    @Option(name = "-sw", aliases = {"--server-workers"}, required = false, usage = "sets number of worker threads of the HTTP analysis server", metaVar = "SERVER WORKERS")
+    private int serverWorkers = LexicalTokenServer.DEFAULT_WORKER_COUNT;
+    @Option(name = "-sq", aliases = {"--server-queue"}, required = false, usage = "sets number of requests waiting for a worker of the HTTP analysis server (requests beyond are rejected with 503)", metaVar = "SERVER QUEUE")
+    private int serverQueue = LexicalTokenServer.DEFAULT_QUEUE_CAPACITY;
+    @Option(name = "-sl", aliases = {"--server-limit"}, required = false, usage = "sets maximum (decompressed) request body size of the HTTP analysis server (in bytes, larger requests are rejected with 413)", metaVar = "SERVER REQUEST LIMIT")
+    private long serverLimit = LexicalTokenServer.DEFAULT_MAX_REQUEST_SIZE;
+    @Option(name = "-rt", aliases = {"--retain-tokens"}, required = false, usage = "enables/disables token retention in terms (false - terms keep summary statistics only, output is the same)", metaVar = "TOKEN RETENTION MODE", handler = ExplicitBooleanOptionHandler.class)
+    private boolean tokenRetention = true;
+    @Option(name = "-c", aliases = {"--cache"}, required = false, usage = "enables/disables result cache (output of unchanged input is reused, keyed by content hash and analyzer configuration)", metaVar = "CACHE MODE", handler = ExplicitBooleanOptionHandler.class)
+    private boolean cache;
+    @Option(name = "-cd", aliases = {"--cache-dir"}, required = false, usage = "sets on-disk result cache directory (enables result cache, entries are kept between runs)", metaVar = "CACHE DIRECTORY")
+    private File cacheDirectory;
+    @Option(name = "-cm", aliases = {"--cache-memory"}, required = false, usage = "sets maximum total size of the in-memory result cache entries (in bytes)", metaVar = "CACHE MEMORY")
+    private long cacheMemory = LexicalTokenResultCache.DEFAULT_MAX_SIZE;
+    // Batch mode input directory and glob pattern
+    private File inputDirectory;
+    private String inputPattern;
     // Error flag
     private boolean errorFlag = false;
 
@@ -62,8 +131,75 @@ public final class CmdLineProcessor {
         try {
             parser.parseArgument(args);
 
+            if (isServer()) {
+                if (null != getInputSource() || isMerge() || isFollow() || isTopK() || isDistinct()) {
+                    throw new CmdLineException(parser, "Invalid argument: --server cannot be combined with --input, --merge, --follow, --top-k or --distinct.", null);
+                }
+                if (getServerPort() < 0 || getServerPort() > 0xFFFF || getServerWorkers() < 1 || getServerQueue() < 0 || getServerLimit() < 1) {
+                    throw new CmdLineException(parser, "Invalid argument: --server, --server-workers, --server-queue and --server-limit should be valid port, positive, non-negative and positive numbers.", null);
+                }
+            } else if (null == getOutputSource()) {
+                throw new CmdLineException(parser, "Invalid argument: --output is required.", null);
+            }
+            if (getCacheMemory() < 0) {
+                throw new CmdLineException(parser, "Invalid argument: --cache-memory should be non-negative number.", null);
+            }
+            if (null == getInputSource() && !isMerge() && !isServer()) {
+                throw new CmdLineException(parser, "Invalid argument: --input or --merge is required.", null);
+            }
+            if (null != getInputSource() && isMerge()) {
+                throw new CmdLineException(parser, "Invalid argument: --input cannot be combined with --merge.", null);
+            }
+            for (final File mergeSource : getMergeSources()) {
+                if (!mergeSource.isFile()) {
+                    throw new CmdLineException(parser, String.format("Invalid argument: --merge %s is not a valid snapshot file.", mergeSource), null);
+                }
+            }
             if (null != getInputSource() && !getInputSource().isFile()) {
-                throw new CmdLineException(parser, "Invalid argument: --input is not a valid input file.", null);
+                this.initBatchInput(getInputSource());
+                if (null == getInputDirectory() || !getInputDirectory().isDirectory()) {
+                    throw new CmdLineException(parser, "Invalid argument: --input is not a valid input file, directory or glob pattern.", null);
+                }
+                if (getOutputSource().isFile()) {
+                    throw new CmdLineException(parser, "Invalid argument: --output should be a directory in batch mode.", null);
+                }
+            }
+            if (isFollow() && isBatch()) {
+                throw new CmdLineException(parser, "Invalid argument: --follow requires a single input file.", null);
+            }
+            if (getPollInterval() < 1) {
+                throw new CmdLineException(parser, "Invalid argument: --poll-interval should be a positive number.", null);
+            }
+            if (getTopK() < 0) {
+                throw new CmdLineException(parser, "Invalid argument: --top-k should be a non-negative number.", null);
+            }
+            if ((isTopK() || isDistinct()) && (isFollow() || isMerge())) {
+                throw new CmdLineException(parser, "Invalid argument: --top-k and --distinct cannot be combined with --follow or --merge.", null);
+            }
+            if ((isTopK() || isDistinct()) && isBatch() && null == getMergedOutputSource()) {
+                throw new CmdLineException(parser, "Invalid argument: --top-k and --distinct require --merged-output in batch mode.", null);
+            }
+            if (getDistinctPrecision() < HyperLogLog.MIN_PRECISION || getDistinctPrecision() > HyperLogLog.MAX_PRECISION) {
+                throw new CmdLineException(parser, String.format("Invalid argument: --distinct-precision should be in range [%d, %d].", HyperLogLog.MIN_PRECISION, HyperLogLog.MAX_PRECISION), null);
+            }
+            if (!(getTopKEpsilon() > 0 && getTopKEpsilon() < 1) || !(getTopKDelta() > 0 && getTopKDelta() < 1)) {
+                throw new CmdLineException(parser, "Invalid argument: --top-k-epsilon and --top-k-delta should be in range (0, 1).", null);
+            }
+            if (getParallelism() < 1) {
+                throw new CmdLineException(parser, "Invalid argument: --parallelism should be a positive number.", null);
+            }
+            try {
+                this.alphabet = LexicalAlphabet.getInstance(this.alphabetName);
+            } catch (IllegalArgumentException ex) {
+                throw new CmdLineException(parser, String.format("Invalid argument: --alphabet should be one of %s.", LexicalAlphabet.getNames()), ex);
+            }
+            try {
+                this.encoding = Charset.forName(this.encodingName);
+            } catch (IllegalArgumentException ex) {
+                throw new CmdLineException(parser, String.format("Invalid argument: --encoding %s is not a supported charset.", this.encodingName), ex);
+            }
+            if (isFollow() && !ByteLexicalTokenizer.isAsciiCompatible(getEncoding())) {
+                throw new CmdLineException(parser, "Invalid argument: --follow requires ASCII compatible --encoding.", null);
             }
 //            if (null == getOutputSource() || !getOutputSource().isFile()) {
 //                throw new CmdLineException(parser, "Invalid argument: --output is not a valid output file.", null);
@@ -75,6 +211,27 @@ public final class CmdLineProcessor {
         }
     }
 
+    private void initBatchInput(final File input) {
+        if (input.isDirectory()) {
+            this.inputDirectory = input;
+            this.inputPattern = DEFAULT_BATCH_GLOB_PATTERN;
+            return;
+        }
+        final Path path = input.toPath();
+        for (int i = 0; i < path.getNameCount(); i++) {
+            if (isGlobPattern(path.getName(i).toString())) {
+                final Path root = (0 == i) ? path.getRoot() : (null == path.getRoot() ? path.subpath(0, i) : path.getRoot().resolve(path.subpath(0, i)));
+                this.inputDirectory = (null == root) ? new File(".") : root.toFile();
+                this.inputPattern = path.subpath(i, path.getNameCount()).toString().replace(File.separatorChar, '/');
+                return;
+            }
+        }
+    }
+
+    private static boolean isGlobPattern(final String value) {
+        return value.chars().anyMatch(c -> '*' == c || '?' == c || '[' == c || '{' == c);
+    }
+
     /**
      * Returns whether the parameters could be parsed without an error.
      *
@@ -102,6 +259,43 @@ public final class CmdLineProcessor {
         return this.outputSource;
     }
 
+    /**
+     * Returns the merged output file in batch mode.
+     *
+     * @return The merged output file (or null).
+     */
+    public File getMergedOutputSource() {
+        return this.mergedOutputSource;
+    }
+
+    /**
+     * Returns the flag of batch mode (input is a directory or glob pattern)
+     *
+     * @return boolean (true - if batch mode is enabled, false - otherwise)
+     */
+    public boolean isBatch() {
+        return null != this.inputDirectory;
+    }
+
+    /**
+     * Returns the input directory in batch mode.
+     *
+     * @return The input directory (or null).
+     */
+    public File getInputDirectory() {
+        return this.inputDirectory;
+    }
+
+    /**
+     * Returns the glob pattern to match input files relative to the input
+     * directory in batch mode.
+     *
+     * @return The glob pattern (or null).
+     */
+    public String getInputPattern() {
+        return this.inputPattern;
+    }
+
     /**
      * Returns the flag of ignore case option
      *
@@ -111,4 +305,232 @@ public final class CmdLineProcessor {
     public boolean isIgnoreCase() {
         return this.ignoreCase;
     }
+
+    /**
+     * Returns the flag of streaming aggregation option
+     *
+     * @return boolean (true - if aggregation flag has been set, false -
+     * otherwise)
+     */
+    public boolean isAggregate() {
+        return this.aggregate;
+    }
+
+    /**
+     * Returns the binary snapshot file.
+     *
+     * @return The binary snapshot file (or null).
+     */
+    public File getSnapshotSource() {
+        return this.snapshotSource;
+    }
+
+    /**
+     * Returns the binary snapshot files to be merged.
+     *
+     * @return The list of snapshot files.
+     */
+    public List<File> getMergeSources() {
+        return this.mergeSources;
+    }
+
+    /**
+     * Returns number of the most frequent tokens per length group.
+     *
+     * @return The number of tokens (0 - if top-K mode is disabled).
+     */
+    public int getTopK() {
+        return this.topK;
+    }
+
+    /**
+     * Returns the flag of top-K mode
+     *
+     * @return boolean (true - if top-K mode is enabled, false - otherwise)
+     */
+    public boolean isTopK() {
+        return this.topK > 0;
+    }
+
+    /**
+     * Returns relative error of the top-K frequency estimates.
+     *
+     * @return The relative error.
+     */
+    public double getTopKEpsilon() {
+        return this.topKEpsilon;
+    }
+
+    /**
+     * Returns error probability of the top-K frequency estimates.
+     *
+     * @return The error probability.
+     */
+    public double getTopKDelta() {
+        return this.topKDelta;
+    }
+
+    /**
+     * Returns the flag of distinct tokens counting mode
+     *
+     * @return boolean (true - if distinct mode is enabled, false - otherwise)
+     */
+    public boolean isDistinct() {
+        return this.distinct;
+    }
+
+    /**
+     * Returns HyperLogLog precision of distinct tokens counting.
+     *
+     * @return The precision.
+     */
+    public int getDistinctPrecision() {
+        return this.distinctPrecision;
+    }
+
+    /**
+     * Returns the flag of pipeline metrics mode
+     *
+     * @return boolean (true - if metrics are enabled, false - otherwise)
+     */
+    public boolean isMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Returns alphabet of the tokens and vowels
+     *
+     * @return The alphabet.
+     */
+    public LexicalAlphabet getAlphabet() {
+        return this.alphabet;
+    }
+
+    /**
+     * Returns character encoding of the input files
+     *
+     * @return The input charset.
+     */
+    public Charset getEncoding() {
+        return this.encoding;
+    }
+
+    /**
+     * Returns the flag of token retention in terms
+     *
+     * @return boolean (true - if terms retain tokens, false - if terms keep
+     * summary statistics only)
+     */
+    public boolean isTokenRetention() {
+        return this.tokenRetention;
+    }
+
+    /**
+     * Returns the flag of result cache mode
+     *
+     * @return boolean (true - if result cache is enabled, false - otherwise)
+     */
+    public boolean isCache() {
+        return this.cache || null != this.cacheDirectory;
+    }
+
+    /**
+     * Returns on-disk result cache directory.
+     *
+     * @return The cache directory (null - if on-disk tier is disabled).
+     */
+    public File getCacheDirectory() {
+        return this.cacheDirectory;
+    }
+
+    /**
+     * Returns maximum total size of the in-memory result cache entries.
+     *
+     * @return The cache size limit (in bytes).
+     */
+    public long getCacheMemory() {
+        return this.cacheMemory;
+    }
+
+    /**
+     * Returns the flag of server mode
+     *
+     * @return boolean (true - if server mode is enabled, false - otherwise)
+     */
+    public boolean isServer() {
+        return null != this.serverPort;
+    }
+
+    /**
+     * Returns port of the HTTP analysis server.
+     *
+     * @return The server port.
+     */
+    public int getServerPort() {
+        return isServer() ? this.serverPort : LexicalTokenServer.DEFAULT_PORT;
+    }
+
+    /**
+     * Returns number of worker threads of the HTTP analysis server.
+     *
+     * @return The number of workers.
+     */
+    public int getServerWorkers() {
+        return this.serverWorkers;
+    }
+
+    /**
+     * Returns number of requests waiting for a worker of the HTTP analysis
+     * server.
+     *
+     * @return The queue capacity.
+     */
+    public int getServerQueue() {
+        return this.serverQueue;
+    }
+
+    /**
+     * Returns maximum request body size of the HTTP analysis server.
+     *
+     * @return The request size limit (in bytes).
+     */
+    public long getServerLimit() {
+        return this.serverLimit;
+    }
+
+    /**
+     * Returns the flag of merge mode (snapshot files are merged)
+     *
+     * @return boolean (true - if merge mode is enabled, false - otherwise)
+     */
+    public boolean isMerge() {
+        return !this.mergeSources.isEmpty();
+    }
+
+    /**
+     * Returns the flag of follow option
+     *
+     * @return boolean (true - if follow flag has been set, false - otherwise)
+     */
+    public boolean isFollow() {
+        return this.follow;
+    }
+
+    /**
+     * Returns the poll interval of the follow mode
+     *
+     * @return poll interval (in milliseconds)
+     */
+    public long getPollInterval() {
+        return this.pollInterval;
+    }
+
+    /**
+     * Returns the number of worker threads to analyze input file
+     *
+     * @return number of worker threads
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
 }
@@ -23,14 +23,41 @@
  */
 package com.wildbeeslabs.sensiblemetrics.textalyzer;
 
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.LexicalTokenFileFollower;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.LexicalTokenPipeline;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAnalyzer;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.VowelLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenCardinality;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenHeavyHitters;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenResultCache;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalAlphabet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalTokenIdStrategy;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.VowelLexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.LexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.LexicalTokenStage;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.NoOpLexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces.ILexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.server.LexicalTokenServer;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.FileUtils;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.SnapshotUtils;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.management.JMException;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -49,19 +76,301 @@ public class TextProcessor {
      * Default logger instance
      */
     private static final Logger LOGGER = LogManager.getLogger(TextProcessor.class);
+    /**
+     * Default per-file output suffix in batch mode
+     */
+    public static final String DEFAULT_BATCH_OUTPUT_SUFFIX = ".out";
+    /**
+     * Default pipeline subscription names of estimates (top-K and distinct
+     * tokens are estimated in a single pass if both are requested)
+     */
+    private static final String DEFAULT_TOP_K_SUBSCRIPTION = "topK";
+    private static final String DEFAULT_DISTINCT_SUBSCRIPTION = "distinct";
 
     public void init(final String[] args) {
         LOGGER.info("Initializing command line processor...");
         final CmdLineProcessor cmdProcessor = new CmdLineProcessor(args);
+        if (!cmdProcessor.isErrorFree()) {
+            return;
+        }
+        final LexicalTokenMetrics metrics = cmdProcessor.isMetrics() ? new LexicalTokenMetrics() : null;
+        if (Objects.nonNull(metrics)) {
+            try {
+                metrics.registerMBean();
+            } catch (JMException ex) {
+                LOGGER.error(String.format("ERROR: cannot register metrics MBean=%s, message=%s", LexicalTokenMetrics.DEFAULT_OBJECT_NAME, ex.getMessage()));
+            }
+        }
         LOGGER.info("Initializing vowel lexical token analyzer...");
-        final ILexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer = new VowelLexicalTokenAnalyzer<>();
+        final ILexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer = new VowelLexicalTokenAnalyzer<>(LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY, Objects.nonNull(metrics) ? metrics : NoOpLexicalTokenMetrics.getInstance(), Objects.nonNull(cmdProcessor.getAlphabet()) ? cmdProcessor.getAlphabet() : LexicalAlphabet.DEFAULT_ALPHABET, Objects.nonNull(cmdProcessor.getEncoding()) ? cmdProcessor.getEncoding() : FileUtils.DEFAULT_FILE_CHARACTER_ENCODING, cmdProcessor.isTokenRetention());
+        try {
+            this.process(cmdProcessor, analyzer);
+        } finally {
+            if (Objects.nonNull(metrics)) {
+                LOGGER.info(metrics.formatTo(new StringBuilder("Pipeline metrics: ")).toString());
+                try {
+                    metrics.unregisterMBean();
+                } catch (JMException ex) {
+                    LOGGER.error(String.format("ERROR: cannot unregister metrics MBean=%s, message=%s", LexicalTokenMetrics.DEFAULT_OBJECT_NAME, ex.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void process(final CmdLineProcessor cmdProcessor, final ILexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer) {
+        final LexicalTokenResultCache cache = this.getResultCache(cmdProcessor);
+        if (cmdProcessor.isServer()) {
+            this.serve(cmdProcessor, analyzer, cache);
+            return;
+        }
+        if (cmdProcessor.isMerge()) {
+            this.merge(cmdProcessor, analyzer);
+            return;
+        }
+        if (cmdProcessor.isTopK() || cmdProcessor.isDistinct()) {
+            this.estimate(cmdProcessor, analyzer);
+            return;
+        }
+        if (cmdProcessor.isFollow()) {
+            this.follow(cmdProcessor, analyzer);
+            return;
+        }
+        if (cmdProcessor.isBatch()) {
+            this.batch(cmdProcessor, analyzer);
+            return;
+        }
+        final String cacheKey = (Objects.nonNull(cache) && Objects.nonNull(cmdProcessor.getInputSource()) && Objects.nonNull(cmdProcessor.getOutputSource()) && Objects.isNull(cmdProcessor.getSnapshotSource())) ? this.getCacheKey(cmdProcessor, analyzer) : null;
+        if (Objects.nonNull(cacheKey) && this.writeCached(cmdProcessor.getOutputSource(), cache.get(cacheKey), analyzer.getMetrics())) {
+            return;
+        }
+        if (cmdProcessor.isAggregate() || cmdProcessor.getParallelism() > 1 || Objects.nonNull(cmdProcessor.getSnapshotSource())) {
+            if (!this.aggregate(cmdProcessor, analyzer)) {
+                return;
+            }
+        } else {
+            List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> tokenTermList = null;
+            if (Objects.nonNull(cmdProcessor.getInputSource())) {
+                tokenTermList = FileUtils.readFile(cmdProcessor.getInputSource(), analyzer);
+            }
+            if (Objects.nonNull(cmdProcessor.getOutputSource())) {
+                FileUtils.writeFile(cmdProcessor.getOutputSource(), tokenTermList, analyzer.getMetrics());
+            }
+        }
+        if (Objects.nonNull(cacheKey)) {
+            this.putCached(cmdProcessor.getOutputSource(), cache, cacheKey);
+        }
+    }
+
+    private LexicalTokenResultCache getResultCache(final CmdLineProcessor cmdProcessor) {
+        if (!cmdProcessor.isCache()) {
+            return null;
+        }
+        if (Objects.isNull(cmdProcessor.getCacheDirectory())) {
+            return new LexicalTokenResultCache(cmdProcessor.getCacheMemory());
+        }
+        try {
+            return new LexicalTokenResultCache(cmdProcessor.getCacheMemory(), cmdProcessor.getCacheDirectory());
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot create cache directory=%s, message=%s", String.valueOf(cmdProcessor.getCacheDirectory()), ex.getMessage()));
+            return null;
+        }
+    }
+
+    private String getCacheKey(final CmdLineProcessor cmdProcessor, final ILexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer) {
+        try {
+            return LexicalTokenResultCache.getKey(cmdProcessor.getInputSource(), String.format("%s|%s", analyzer.getSignature(), cmdProcessor.isIgnoreCase()));
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot hash input file=%s, message=%s", String.valueOf(cmdProcessor.getInputSource()), ex.getMessage()));
+            return null;
+        }
+    }
+
+    private boolean writeCached(final File outputFile, final byte[] output, final ILexicalTokenMetrics metrics) {
+        if (Objects.isNull(output)) {
+            return false;
+        }
+        LOGGER.info(String.format("Reusing cached output of unchanged input, output file=%s...", outputFile));
+        final long startTime = metrics.startTime();
+        try {
+            Files.write(outputFile.toPath(), output);
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot write output file=%s, message=%s", String.valueOf(outputFile), ex.getMessage()));
+            return false;
+        }
+        metrics.stop(LexicalTokenStage.WRITE, startTime);
+        metrics.addBytesWritten(output.length);
+        return true;
+    }
+
+    private void putCached(final File outputFile, final LexicalTokenResultCache cache, final String cacheKey) {
+        try {
+            cache.put(cacheKey, Files.readAllBytes(outputFile.toPath()));
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot read output file=%s, message=%s", String.valueOf(outputFile), ex.getMessage()));
+        }
+    }
+
+    private boolean aggregate(final CmdLineProcessor cmdProcessor, final ILexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer) {
+        LOGGER.info("Processing input source in streaming aggregation mode...");
+        final ILexicalTokenAggregator<String> aggregator;
+        try {
+            if (cmdProcessor.getParallelism() > 1) {
+                final ForkJoinPool pool = new ForkJoinPool(cmdProcessor.getParallelism());
+                try {
+                    aggregator = FileUtils.readFileAggregator(cmdProcessor.getInputSource(), analyzer, pool);
+                } finally {
+                    pool.shutdown();
+                }
+            } else {
+                aggregator = FileUtils.readFileAggregator(cmdProcessor.getInputSource(), analyzer);
+            }
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot read from input file=%s, message=%s", String.valueOf(cmdProcessor.getInputSource()), ex.getMessage()));
+            return false;
+        }
+        this.writeOutput(cmdProcessor, cmdProcessor.getOutputSource(), aggregator, analyzer.getMetrics());
+        return true;
+    }
+
+    private void merge(final CmdLineProcessor cmdProcessor, final ILexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer) {
+        LOGGER.info(String.format("Merging %d snapshot files...", cmdProcessor.getMergeSources().size()));
+        final ILexicalTokenAggregator<String> aggregator = analyzer.getLexicalTokenAggregator();
+        final ILexicalTokenMetrics metrics = analyzer.getMetrics();
+        for (final File mergeSource : cmdProcessor.getMergeSources()) {
+            final long startTime = metrics.startTime();
+            try {
+                SnapshotUtils.readSnapshot(mergeSource, aggregator);
+            } catch (IOException ex) {
+                LOGGER.error(String.format("ERROR: cannot read snapshot file=%s, message=%s", String.valueOf(mergeSource), ex.getMessage()));
+                return;
+            }
+            metrics.stop(LexicalTokenStage.READ, startTime);
+            if (metrics.isEnabled()) {
+                metrics.addBytesRead(mergeSource.length());
+            }
+        }
+        this.writeOutput(cmdProcessor, cmdProcessor.getOutputSource(), aggregator, metrics);
+    }
+
+    private void writeOutput(final CmdLineProcessor cmdProcessor, final File outputFile, final ILexicalTokenAggregator<String> aggregator, final ILexicalTokenMetrics metrics) {
+        if (Objects.nonNull(outputFile)) {
+            final long startTime = metrics.startTime();
+            final List<ILexicalTokenAggregate<String>> aggregateList = aggregator.getAggregateList(Comparator.reverseOrder());
+            metrics.stop(LexicalTokenStage.GROUP, startTime);
+            metrics.addGroups(aggregateList.size());
+            FileUtils.writeFile(outputFile, aggregateList, ILexicalTokenAggregate::formatTo, metrics);
+        }
+        if (Objects.nonNull(cmdProcessor.getSnapshotSource())) {
+            try {
+                SnapshotUtils.writeSnapshot(cmdProcessor.getSnapshotSource(), aggregator);
+            } catch (IOException ex) {
+                LOGGER.error(String.format("ERROR: cannot write snapshot file=%s, message=%s", String.valueOf(cmdProcessor.getSnapshotSource()), ex.getMessage()));
+            }
+        }
+    }
+
+    private void follow(final CmdLineProcessor cmdProcessor, final ILexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer) {
+        LOGGER.info(String.format("Following input source=%s, poll interval=%d ms...", cmdProcessor.getInputSource(), cmdProcessor.getPollInterval()));
+        try {
+            if (FileUtils.isGZIPFile(cmdProcessor.getInputSource())) {
+                LOGGER.error(String.format("ERROR: cannot follow compressed input file=%s", String.valueOf(cmdProcessor.getInputSource())));
+                return;
+            }
+            final LexicalTokenFileFollower<String> follower = new LexicalTokenFileFollower<>(cmdProcessor.getInputSource(), cmdProcessor.getOutputSource(), analyzer);
+            follower.follow(cmdProcessor.getPollInterval());
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot follow input file=%s, message=%s", String.valueOf(cmdProcessor.getInputSource()), ex.getMessage()));
+        }
+    }
+
+    private void serve(final CmdLineProcessor cmdProcessor, final ILexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer, final LexicalTokenResultCache cache) {
+        LOGGER.info(String.format("Starting lexical token server on port=%d...", cmdProcessor.getServerPort()));
+        try {
+            final LexicalTokenServer<String> server = new LexicalTokenServer<>(new InetSocketAddress(cmdProcessor.getServerPort()), analyzer, cmdProcessor.getServerWorkers(), cmdProcessor.getServerQueue(), cmdProcessor.getServerLimit(), cache);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            server.start();
+            server.join();
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot start lexical token server on port=%d, message=%s", cmdProcessor.getServerPort(), ex.getMessage()));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void estimate(final CmdLineProcessor cmdProcessor, final ILexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer) {
+        final LexicalTokenPipeline pipeline = new LexicalTokenPipeline();
+        if (cmdProcessor.isTopK()) {
+            LOGGER.info(String.format("Estimating top-%d tokens per length, epsilon=%s, delta=%s...", cmdProcessor.getTopK(), cmdProcessor.getTopKEpsilon(), cmdProcessor.getTopKDelta()));
+            pipeline.subscribe(DEFAULT_TOP_K_SUBSCRIPTION, () -> new LexicalTokenHeavyHitters(cmdProcessor.getTopK(), cmdProcessor.getTopKEpsilon(), cmdProcessor.getTopKDelta()), LexicalTokenHeavyHitters::merge);
+        }
+        if (cmdProcessor.isDistinct()) {
+            LOGGER.info(String.format("Estimating distinct tokens per length and vowel set, precision=%d...", cmdProcessor.getDistinctPrecision()));
+            pipeline.subscribe(DEFAULT_DISTINCT_SUBSCRIPTION, () -> analyzer.getLexicalTokenCardinality(cmdProcessor.getDistinctPrecision()), LexicalTokenCardinality::merge);
+        }
+        final List<File> inputFiles = this.getInputFiles(cmdProcessor);
+        if (Objects.isNull(inputFiles)) {
+            return;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(cmdProcessor.getParallelism());
+        try {
+            final LexicalTokenPipeline result = FileUtils.readFilePipeline(inputFiles, analyzer, pipeline, pool);
+            final ILexicalTokenMetrics metrics = analyzer.getMetrics();
+            final long startTime = metrics.startTime();
+            final List<String> output = new ArrayList<>();
+            if (result.contains(DEFAULT_TOP_K_SUBSCRIPTION)) {
+                final LexicalTokenHeavyHitters heavyHitters = result.get(DEFAULT_TOP_K_SUBSCRIPTION);
+                heavyHitters.getTopKList(Comparator.reverseOrder()).forEach((topK) -> output.add(topK.formatTo(new StringBuilder()).toString()));
+            }
+            if (result.contains(DEFAULT_DISTINCT_SUBSCRIPTION)) {
+                final LexicalTokenCardinality cardinality = result.get(DEFAULT_DISTINCT_SUBSCRIPTION);
+                cardinality.getLengthEstimateList(Comparator.reverseOrder()).forEach((entry) -> output.add(String.format("(%d) -> %d", entry.getKey(), entry.getValue())));
+                cardinality.getGroupEstimateList(Comparator.naturalOrder()).forEach((entry) -> output.add(VowelLexicalToken.appendVowels(new StringBuilder("({"), entry.getKey(), ", ").append("}) -> ").append(entry.getValue().longValue()).toString()));
+            }
+            metrics.stop(LexicalTokenStage.GROUP, startTime);
+            metrics.addGroups(output.size());
+            FileUtils.writeFile(this.getMergedOutputFile(cmdProcessor), output, (line, sBuffer) -> sBuffer.append(line), metrics);
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot read from input files=%s, message=%s", inputFiles, ex.getMessage()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<File> getInputFiles(final CmdLineProcessor cmdProcessor) {
+        if (!cmdProcessor.isBatch()) {
+            return Collections.singletonList(cmdProcessor.getInputSource());
+        }
+        try {
+            return FileUtils.listFiles(cmdProcessor.getInputDirectory(), cmdProcessor.getInputPattern());
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot list input directory=%s, message=%s", String.valueOf(cmdProcessor.getInputDirectory()), ex.getMessage()));
+            return null;
+        }
+    }
+
+    private File getMergedOutputFile(final CmdLineProcessor cmdProcessor) {
+        return cmdProcessor.isBatch() ? cmdProcessor.getMergedOutputSource() : cmdProcessor.getOutputSource();
+    }
 
-        List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> tokenTermList = null;
-        if (Objects.nonNull(cmdProcessor.getInputSource())) {
-            tokenTermList = FileUtils.readFile(cmdProcessor.getInputSource(), analyzer);
+    private void batch(final CmdLineProcessor cmdProcessor, final ILexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer) {
+        LOGGER.info(String.format("Processing input files in batch mode, directory=%s, pattern=%s...", cmdProcessor.getInputDirectory(), cmdProcessor.getInputPattern()));
+        final List<File> inputFiles;
+        try {
+            inputFiles = FileUtils.listFiles(cmdProcessor.getInputDirectory(), cmdProcessor.getInputPattern());
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot list input directory=%s, message=%s", String.valueOf(cmdProcessor.getInputDirectory()), ex.getMessage()));
+            return;
         }
-        if (Objects.nonNull(cmdProcessor.getOutputSource())) {
-            FileUtils.writeFile(cmdProcessor.getOutputSource(), tokenTermList);
+        final Path inputRoot = cmdProcessor.getInputDirectory().toPath();
+        final Path outputRoot = cmdProcessor.getOutputSource().toPath();
+        final int parallelism = (cmdProcessor.getParallelism() > 1) ? cmdProcessor.getParallelism() : Runtime.getRuntime().availableProcessors();
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final ILexicalTokenAggregator<String> aggregator = FileUtils.readFileBatchAggregator(inputFiles, analyzer,
+                    inputFile -> outputRoot.resolve(inputRoot.relativize(inputFile.toPath()).toString() + DEFAULT_BATCH_OUTPUT_SUFFIX).toFile(), pool);
+            this.writeOutput(cmdProcessor, cmdProcessor.getMergedOutputSource(), aggregator, analyzer.getMetrics());
+        } finally {
+            pool.shutdown();
         }
     }
 }
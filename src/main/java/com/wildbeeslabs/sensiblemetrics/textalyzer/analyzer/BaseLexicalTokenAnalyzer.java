@@ -23,26 +23,48 @@
  */
 package com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer;
 
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntLongCounter;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntObjectMap;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenCardinality;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenHeavyHitters;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenIdIndex;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenSet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalAlphabet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalTokenIdStrategy;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.LexicalTokenStage;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.NoOpLexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces.ILexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.LexicalTokenFilter;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.LexicalTokenizer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.RegexLexicalTokenizer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.interfaces.ILexicalTokenizer;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.ConverterUtils;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.FileUtils;
 
+import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 
@@ -57,8 +79,8 @@ import org.apache.log4j.Logger;
  * @param <U>
  *
  */
-@EqualsAndHashCode
-@ToString
+@EqualsAndHashCode(exclude = "metrics")
+@ToString(exclude = "metrics")
 public abstract class BaseLexicalTokenAnalyzer<E extends CharSequence, T extends ILexicalToken<E>, U extends ILexicalTokenTerm<E, T>> implements ILexicalTokenAnalyzer<E, T, U> {
 
     /**
@@ -70,15 +92,62 @@ public abstract class BaseLexicalTokenAnalyzer<E extends CharSequence, T extends
      */
     public static final String DEFAULT_TOKEN_DELIMITER = "[,./?;:!-\"\\s]+?";
 
+    /**
+     * Lexical token identifier strategy
+     */
+    private final LexicalTokenIdStrategy idStrategy;
+    /**
+     * Pipeline metrics
+     */
+    private final ILexicalTokenMetrics metrics;
+    /**
+     * Input charset
+     */
+    private final Charset charset;
+
     public BaseLexicalTokenAnalyzer() {
+        this(LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY);
+    }
+
+    public BaseLexicalTokenAnalyzer(final LexicalTokenIdStrategy idStrategy) {
+        this(idStrategy, NoOpLexicalTokenMetrics.getInstance());
+    }
+
+    public BaseLexicalTokenAnalyzer(final LexicalTokenIdStrategy idStrategy, final ILexicalTokenMetrics metrics) {
+        this(idStrategy, metrics, FileUtils.DEFAULT_FILE_CHARACTER_ENCODING);
+    }
+
+    public BaseLexicalTokenAnalyzer(final LexicalTokenIdStrategy idStrategy, final ILexicalTokenMetrics metrics, final Charset charset) {
+        Objects.requireNonNull(idStrategy);
+        Objects.requireNonNull(metrics);
+        Objects.requireNonNull(charset);
         getLogger().debug("Initializing base lexical token analyzer...");
+        this.idStrategy = idStrategy;
+        this.metrics = metrics;
+        this.charset = charset;
     }
 
     protected Stream<E> getFilteredStream(final Stream<E> stream, final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim) {
-        return stream.flatMap(line -> Arrays.stream(String.valueOf(line).trim().split(tokenDelim)))
-                .map(word -> tokenFilter.apply(word))
-                .filter(StringUtils::isNotBlank)
-                .map(word -> (E) word);
+        final ILexicalTokenizer tokenizer = this.getTokenizer(tokenFilter, tokenDelim);
+        return stream.flatMap(line -> {
+            final Stream.Builder<E> builder = Stream.builder();
+            tokenizer.tokenize(line, (word) -> builder.add((E) word.toString()));
+            return builder.build();
+        });
+    }
+
+    protected ILexicalTokenizer getTokenizer(final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim) {
+        if (tokenFilter instanceof LexicalTokenFilter) {
+            final LexicalAlphabet alphabet = ((LexicalTokenFilter) tokenFilter).getAlphabet();
+            if (Objects.nonNull(alphabet) && LexicalTokenizer.isCompilable(tokenDelim, alphabet.getFilterPattern())) {
+                return LexicalTokenizer.getInstance(tokenDelim, alphabet);
+            }
+            final String tokenFilterPattern = ((LexicalTokenFilter) tokenFilter).getPattern();
+            if (LexicalTokenizer.isCompilable(tokenDelim, tokenFilterPattern)) {
+                return LexicalTokenizer.getInstance(tokenDelim, tokenFilterPattern);
+            }
+        }
+        return new RegexLexicalTokenizer(tokenFilter, tokenDelim);
     }
 
     @Override
@@ -97,8 +166,17 @@ public abstract class BaseLexicalTokenAnalyzer<E extends CharSequence, T extends
     }
 
     protected Map<Integer, List<T>> getLexicalTokenMapByLength(final Stream<E> stream, final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim) {
+        return this.getLexicalTokenIntMapByLength(stream, tokenFilter, tokenDelim).toMap();
+    }
+
+    @Override
+    public IntObjectMap<List<T>> getLexicalTokenIntMapByLength(final Stream<E> stream) {
+        return this.getLexicalTokenIntMapByLength(stream, this.getDefaultFilter(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER);
+    }
+
+    protected IntObjectMap<List<T>> getLexicalTokenIntMapByLength(final Stream<E> stream, final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim) {
         final Stream<E> filteredStream = this.getFilteredStream(stream, tokenFilter, tokenDelim);
-        return ConverterUtils.convertToMapList(filteredStream, (word) -> word.length(), (word) -> createLexicalToken((E) word));
+        return ConverterUtils.convertToIntMapList(filteredStream, CharSequence::length, (word) -> createLexicalToken((E) word));
     }
 
     @Override
@@ -107,8 +185,37 @@ public abstract class BaseLexicalTokenAnalyzer<E extends CharSequence, T extends
     }
 
     protected Map<Integer, Set<T>> getUniqueLexicalTokenMapByLength(final Stream<E> stream, final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim) {
-        final Stream<E> filteredStream = this.getFilteredStream(stream, tokenFilter, tokenDelim);
-        return ConverterUtils.convertToMapSet(filteredStream, (word) -> word.length(), (word) -> createLexicalToken((E) word));
+        final IntObjectMap<LexicalTokenSet> tokenSetMap = this.getUniqueLexicalTokenSetByLength(stream, tokenFilter, tokenDelim);
+        final Map<Integer, Set<T>> tokenMap = new HashMap<>();
+        tokenSetMap.forEach((tokenSet, length) -> {
+            final Set<T> tokens = new HashSet<>(Math.max((int) (tokenSet.size() / .75f) + 1, 16));
+            tokenSet.forEach((word) -> tokens.add(createLexicalToken((E) word.toString())));
+            tokenMap.put(length, tokens);
+        });
+        return tokenMap;
+    }
+
+    @Override
+    public IntObjectMap<LexicalTokenSet> getUniqueLexicalTokenSetByLength(final Stream<E> stream) {
+        return this.getUniqueLexicalTokenSetByLength(stream, this.getDefaultFilter(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER);
+    }
+
+    protected IntObjectMap<LexicalTokenSet> getUniqueLexicalTokenSetByLength(final Stream<E> stream, final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim) {
+        final ILexicalTokenizer tokenizer = this.getTokenizer(tokenFilter, tokenDelim);
+        return stream.collect(IntObjectMap::new,
+                (result, line) -> tokenizer.tokenize(line, (word) -> addUniqueLexicalToken(result, word)),
+                BaseLexicalTokenAnalyzer::mergeUniqueLexicalTokens);
+    }
+
+    private static void addUniqueLexicalToken(final IntObjectMap<LexicalTokenSet> tokenSetMap, final CharSequence word) {
+        tokenSetMap.computeIfAbsent(word.length(), (length) -> new LexicalTokenSet()).add(word);
+    }
+
+    private static void mergeUniqueLexicalTokens(final IntObjectMap<LexicalTokenSet> first, final IntObjectMap<LexicalTokenSet> last) {
+        first.merge(last, (firstSet, lastSet) -> {
+            firstSet.addAll(lastSet);
+            return firstSet;
+        });
     }
 
     protected Map<Integer, IntSummaryStatistics> getLexicalTokenStatistics(final Stream<T> stream, final Function<T, Integer> groupingBy, final ToIntFunction<? super T> mapper) {
@@ -121,13 +228,85 @@ public abstract class BaseLexicalTokenAnalyzer<E extends CharSequence, T extends
     }
 
     protected Map<Integer, Long> getCountMapByLength(final Stream<E> stream, final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim) {
-        final Stream<E> filteredStream = this.getFilteredStream(stream, tokenFilter, tokenDelim);
-        return ConverterUtils.getMapCountBy(filteredStream, (word) -> word.length());
+        return this.getCountByLength(stream, tokenFilter, tokenDelim).toMap();
+    }
+
+    @Override
+    public IntLongCounter getCountByLength(final Stream<E> stream) {
+        return this.getCountByLength(stream, this.getDefaultFilter(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER);
+    }
+
+    protected IntLongCounter getCountByLength(final Stream<E> stream, final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim) {
+        final ILexicalTokenizer tokenizer = this.getTokenizer(tokenFilter, tokenDelim);
+        return stream.collect(IntLongCounter::new,
+                (counter, line) -> tokenizer.tokenize(line, (word) -> counter.increment(word.length())),
+                IntLongCounter::merge);
+    }
+
+    @Override
+    public LexicalTokenHeavyHitters getLexicalTokenHeavyHitters(final Stream<E> stream, final int topK, final double epsilon, final double delta) {
+        return this.getLexicalTokenHeavyHitters(stream, this.getDefaultFilter(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, topK, epsilon, delta);
+    }
+
+    protected LexicalTokenHeavyHitters getLexicalTokenHeavyHitters(final Stream<E> stream, final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim, final int topK, final double epsilon, final double delta) {
+        final ILexicalTokenizer tokenizer = this.getTokenizer(tokenFilter, tokenDelim);
+        return stream.collect(() -> new LexicalTokenHeavyHitters(topK, epsilon, delta),
+                (result, line) -> tokenizer.tokenize(line, result),
+                LexicalTokenHeavyHitters::merge);
+    }
+
+    @Override
+    public LexicalTokenCardinality getLexicalTokenCardinality(final Stream<E> stream, final int precision) {
+        return this.getLexicalTokenCardinality(stream, this.getDefaultFilter(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, precision);
+    }
+
+    protected LexicalTokenCardinality getLexicalTokenCardinality(final Stream<E> stream, final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim, final int precision) {
+        final ILexicalTokenizer tokenizer = this.getTokenizer(tokenFilter, tokenDelim);
+        return stream.collect(() -> this.getLexicalTokenCardinality(precision),
+                (result, line) -> tokenizer.tokenize(line, result),
+                LexicalTokenCardinality::merge);
+    }
+
+    @Override
+    public LexicalTokenCardinality getLexicalTokenCardinality(final int precision) {
+        return new LexicalTokenCardinality(precision, this.getTokenGroupKey());
+    }
+
+    @Override
+    public LexicalTokenPipeline getLexicalTokenPipeline() {
+        return new LexicalTokenPipeline()
+                .subscribe(LexicalTokenPipeline.DEFAULT_COUNT_BY_LENGTH, IntLongCounter::new, (IntLongCounter counter, CharSequence word) -> counter.increment(word.length()), IntLongCounter::merge)
+                .subscribe(LexicalTokenPipeline.DEFAULT_UNIQUE_BY_LENGTH, IntObjectMap<LexicalTokenSet>::new, BaseLexicalTokenAnalyzer::addUniqueLexicalToken, BaseLexicalTokenAnalyzer::mergeUniqueLexicalTokens)
+                .subscribe(LexicalTokenPipeline.DEFAULT_AGGREGATES, this::getLexicalTokenAggregator, ILexicalTokenAggregator::merge);
+    }
+
+    @Override
+    public LexicalTokenPipeline getLexicalTokenPipeline(final Stream<E> stream, final LexicalTokenPipeline pipeline) {
+        return this.getLexicalTokenPipeline(stream, this.getDefaultFilter(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, pipeline);
+    }
+
+    protected LexicalTokenPipeline getLexicalTokenPipeline(final Stream<E> stream, final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim, final LexicalTokenPipeline pipeline) {
+        Objects.requireNonNull(pipeline);
+        final ILexicalTokenizer tokenizer = this.getTokenizer(tokenFilter, tokenDelim);
+        final long startTime = this.metrics.startTime();
+        final LexicalTokenPipeline result = stream.collect(pipeline::copy,
+                (partial, line) -> tokenizer.tokenize(line, partial),
+                LexicalTokenPipeline::merge);
+        this.metrics.stop(LexicalTokenStage.TOKENIZE, startTime);
+        this.metrics.addTokens(result.getTokenCount());
+        return result;
     }
 
     @Override
     public Map<String, T> getLexicalTokenMapById(final Stream<T> stream) {
-        return ConverterUtils.convertToMap(stream, (token) -> token.getId().toString(), Function.identity());
+        return ConverterUtils.convertToMap(stream.filter(ILexicalToken::hasId), (token) -> token.getId().toString(), Function.identity());
+    }
+
+    @Override
+    public LexicalTokenIdIndex<T> getLexicalTokenIndexById(final Stream<T> stream) {
+        final LexicalTokenIdIndex<T> index = new LexicalTokenIdIndex<>();
+        stream.filter(ILexicalToken::hasId).forEachOrdered(index::put);
+        return index;
     }
 
     @Override
@@ -150,7 +329,16 @@ public abstract class BaseLexicalTokenAnalyzer<E extends CharSequence, T extends
 
     @Override
     public List<U> getLexicalTokenTermList(final Stream<E> stream, final Comparator<? super Integer> comparator) {
+        if (!this.isTokenRetention()) {
+            return this.getLexicalTokenSummaryTermList(stream, comparator);
+        }
+        long startTime = this.metrics.startTime();
         final Map<Integer, List<T>> tokenMap = this.getSortedLexicalTokenMapByKey(stream, this.getDefaultFilter(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, comparator);
+        this.metrics.stop(LexicalTokenStage.TOKENIZE, startTime);
+        if (this.metrics.isEnabled()) {
+            this.metrics.addTokens(tokenMap.values().stream().mapToLong(List::size).sum());
+        }
+        startTime = this.metrics.startTime();
         @SuppressWarnings("UnusedAssignment")
         final List<U> tokenTermList = new ArrayList<>(tokenMap.size());
         tokenMap.entrySet().stream().map((tokenEntry) -> {
@@ -160,18 +348,125 @@ public abstract class BaseLexicalTokenAnalyzer<E extends CharSequence, T extends
         }).forEach((tokenTerm) -> {
             tokenTermList.add(tokenTerm);
         });
+        this.metrics.stop(LexicalTokenStage.GROUP, startTime);
+        this.metrics.addGroups(tokenTermList.size());
+        return tokenTermList;
+    }
+
+    /**
+     * Returns collection of token terms folded directly from the token stream
+     * (tokens are neither grouped into lists nor retained by terms)
+     *
+     * @param stream - input text stream
+     * @param comparator - comparator instance for sort ordering
+     * @return collection of token terms
+     */
+    protected List<U> getLexicalTokenSummaryTermList(final Stream<E> stream, final Comparator<? super Integer> comparator) {
+        final long startTime = this.metrics.startTime();
+        final IntObjectMap<U> termMap = new IntObjectMap<>();
+        this.getFilteredStream(stream, this.getDefaultFilter(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER)
+                .forEachOrdered((word) -> this.acceptLexicalToken(termMap.computeIfAbsent(word.length(), (length) -> this.createLexicalTokenTerm()), word));
+        final List<U> tokenTermList = termMap.toMap().entrySet().stream().sorted(Map.Entry.comparingByKey(comparator)).map(Map.Entry::getValue).collect(Collectors.toList());
+        this.metrics.stop(LexicalTokenStage.TOKENIZE, startTime);
+        if (this.metrics.isEnabled()) {
+            this.metrics.addTokens(tokenTermList.stream().mapToLong(U::size).sum());
+            this.metrics.addGroups(tokenTermList.size());
+        }
         return tokenTermList;
     }
 
+    /**
+     * Folds token value into the term (token is materialized by default)
+     *
+     * @param tokenTerm - target term
+     * @param value - token value
+     */
+    protected void acceptLexicalToken(final U tokenTerm, final E value) {
+        tokenTerm.addToken(this.createLexicalToken(value));
+    }
+
+    /**
+     * Returns the flag of token retention in terms
+     *
+     * @return boolean (true - if terms retain tokens, false - if terms keep
+     * summary statistics only and do not support token removal)
+     */
+    public boolean isTokenRetention() {
+        return true;
+    }
+
+    @Override
+    public List<ILexicalTokenAggregate<E>> getLexicalTokenAggregateList(final Stream<E> stream, final Comparator<? super Integer> comparator) {
+        return this.getLexicalTokenAggregateList(stream, this.getDefaultFilter(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, comparator);
+    }
+
+    protected List<ILexicalTokenAggregate<E>> getLexicalTokenAggregateList(final Stream<E> stream, final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim, final Comparator<? super Integer> comparator) {
+        final ILexicalTokenizer tokenizer = this.getTokenizer(tokenFilter, tokenDelim);
+        long startTime = this.metrics.startTime();
+        final ILexicalTokenAggregator<E> aggregator = stream.collect(this::getLexicalTokenAggregator,
+                (result, line) -> tokenizer.tokenize(line, result),
+                ILexicalTokenAggregator::merge);
+        this.metrics.stop(LexicalTokenStage.TOKENIZE, startTime);
+        startTime = this.metrics.startTime();
+        final List<ILexicalTokenAggregate<E>> aggregateList = aggregator.getAggregateList(comparator);
+        this.metrics.stop(LexicalTokenStage.GROUP, startTime);
+        if (this.metrics.isEnabled()) {
+            this.metrics.addTokens(aggregateList.stream().mapToLong(ILexicalTokenAggregate::getTokenCount).sum());
+            this.metrics.addGroups(aggregateList.size());
+        }
+        return aggregateList;
+    }
+
+    @Override
+    public ILexicalTokenAggregator<E> getLexicalTokenAggregator() {
+        return new LexicalTokenAggregator<>(this::createLexicalTokenAggregate);
+    }
+
+    @Override
+    public ILexicalTokenizer getTokenizer() {
+        return this.getTokenizer(this.getDefaultFilter(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER);
+    }
+
+    public LexicalTokenIdStrategy getIdStrategy() {
+        return this.idStrategy;
+    }
+
+    @Override
+    public ILexicalTokenMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public Charset getCharset() {
+        return this.charset;
+    }
+
+    @Override
+    public String getSignature() {
+        return String.format("%s|%s|%s|%s", this.getClass().getName(), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, this.getDefaultFilter(), this.charset.name());
+    }
+
     protected Logger getLogger() {
         return this.LOGGER;
     }
 
+    /**
+     * Returns analyzer specific token group key function (null - if tokens
+     * are grouped by length only)
+     *
+     * @return token group key function
+     */
+    protected ToLongFunction<CharSequence> getTokenGroupKey() {
+        return null;
+    }
+
     protected Function<CharSequence, CharSequence> getDefaultFilter() {
-        return ((word) -> String.valueOf(word).toLowerCase().trim());
+        return new LexicalTokenFilter();
     }
 
     protected abstract U createLexicalTokenTerm();
 
+    protected abstract ILexicalTokenAggregate<E> createLexicalTokenAggregate();
+
     protected abstract T createLexicalToken(final E value);
 }
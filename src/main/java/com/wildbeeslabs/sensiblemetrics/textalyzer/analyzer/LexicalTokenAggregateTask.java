@@ -0,0 +1,118 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.ByteLexicalTokenizer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork / join task to aggregate lexical tokens of the file byte ranges in
+ * parallel (ranges are split in halves until a single range remains, partial
+ * aggregators are merged on join)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ * @param <E>
+ *
+ */
+public class LexicalTokenAggregateTask<E extends CharSequence> extends RecursiveTask<ILexicalTokenAggregator<E>> {
+
+    private final File inputFile;
+    private final ILexicalTokenAnalyzer<E, ?, ?> analyzer;
+    private final Charset charset;
+    private final long[] boundaries;
+    private final int from;
+    private final int to;
+
+    /**
+     * Creates task to aggregate file byte ranges [boundaries[i],
+     * boundaries[i + 1]) for i in [from, to)
+     *
+     * @param inputFile - input file
+     * @param analyzer - analyzer instance
+     * @param boundaries - range boundaries aligned to token boundaries
+     * @param from - first range index (inclusive)
+     * @param to - last range index (exclusive)
+     */
+    public LexicalTokenAggregateTask(final File inputFile, final ILexicalTokenAnalyzer<E, ?, ?> analyzer, final long[] boundaries, final int from, final int to) {
+        this(inputFile, analyzer, analyzer.getCharset(), boundaries, from, to);
+    }
+
+    /**
+     * Creates task to aggregate file byte ranges in the given charset
+     *
+     * @param inputFile - input file
+     * @param analyzer - analyzer instance
+     * @param charset - input charset
+     * @param boundaries - range boundaries aligned to token boundaries
+     * @param from - first range index (inclusive)
+     * @param to - last range index (exclusive)
+     */
+    public LexicalTokenAggregateTask(final File inputFile, final ILexicalTokenAnalyzer<E, ?, ?> analyzer, final Charset charset, final long[] boundaries, final int from, final int to) {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(analyzer);
+        Objects.requireNonNull(charset);
+        Objects.requireNonNull(boundaries);
+        this.inputFile = inputFile;
+        this.analyzer = analyzer;
+        this.charset = charset;
+        this.boundaries = boundaries;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected ILexicalTokenAggregator<E> compute() {
+        if (this.to - this.from <= 1) {
+            final ILexicalTokenAggregator<E> aggregator = this.analyzer.getLexicalTokenAggregator();
+            if (this.from < this.to) {
+                final long position = this.boundaries[this.from];
+                final long size = this.boundaries[this.to] - position;
+                try {
+                    FileUtils.readFileMapped(this.inputFile, position, size, new ByteLexicalTokenizer(this.analyzer.getTokenizer(), aggregator, this.analyzer.getMetrics(), this.charset));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            return aggregator;
+        }
+        final int middle = (this.from + this.to) >>> 1;
+        final LexicalTokenAggregateTask<E> left = new LexicalTokenAggregateTask<>(this.inputFile, this.analyzer, this.charset, this.boundaries, this.from, middle);
+        final LexicalTokenAggregateTask<E> right = new LexicalTokenAggregateTask<>(this.inputFile, this.analyzer, this.charset, this.boundaries, middle, this.to);
+        left.fork();
+        final ILexicalTokenAggregator<E> aggregator = right.compute();
+        aggregator.merge(left.join());
+        return aggregator;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntObjectMap;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Lexical token aggregator class to fold tokens into aggregates grouped by
+ * token length
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ * @param <E>
+ *
+ */
+@EqualsAndHashCode(exclude = "aggregateFactory")
+@ToString(exclude = "aggregateFactory")
+public class LexicalTokenAggregator<E extends CharSequence> implements ILexicalTokenAggregator<E> {
+
+    private final IntObjectMap<ILexicalTokenAggregate<E>> aggregateMap;
+    private final Supplier<? extends ILexicalTokenAggregate<E>> aggregateFactory;
+
+    public LexicalTokenAggregator(final Supplier<? extends ILexicalTokenAggregate<E>> aggregateFactory) {
+        Objects.requireNonNull(aggregateFactory);
+        this.aggregateMap = new IntObjectMap<>();
+        this.aggregateFactory = aggregateFactory;
+    }
+
+    @Override
+    public void accept(final CharSequence token) {
+        this.getAggregate(token.length()).accept(token);
+    }
+
+    @Override
+    public void merge(final ILexicalTokenAggregator<E> aggregator) {
+        if (Objects.isNull(aggregator) || this == aggregator) {
+            return;
+        }
+        if (!(aggregator instanceof LexicalTokenAggregator)) {
+            throw new IllegalArgumentException(String.format("ERROR: cannot merge aggregator of type=(%s)", aggregator.getClass().getName()));
+        }
+        this.aggregateMap.merge(((LexicalTokenAggregator<E>) aggregator).aggregateMap, (first, last) -> {
+            first.merge(last);
+            return first;
+        });
+    }
+
+    @Override
+    public int size() {
+        return this.aggregateMap.size();
+    }
+
+    @Override
+    public ILexicalTokenAggregate<E> getAggregate(final int key) {
+        ILexicalTokenAggregate<E> aggregate = this.aggregateMap.get(key);
+        if (Objects.isNull(aggregate)) {
+            aggregate = this.aggregateFactory.get();
+            this.aggregateMap.put(key, aggregate);
+        }
+        return aggregate;
+    }
+
+    @Override
+    public void forEach(final ObjIntConsumer<? super ILexicalTokenAggregate<E>> action) {
+        Objects.requireNonNull(action);
+        this.aggregateMap.forEach(action);
+    }
+
+    @Override
+    public List<ILexicalTokenAggregate<E>> getAggregateList(final Comparator<? super Integer> comparator) {
+        final Integer[] keys = Arrays.stream(this.aggregateMap.keys()).boxed().toArray(Integer[]::new);
+        Arrays.sort(keys, comparator);
+        final List<ILexicalTokenAggregate<E>> aggregateList = new ArrayList<>(keys.length);
+        for (final Integer key : keys) {
+            aggregateList.add(this.aggregateMap.get(key));
+        }
+        return aggregateList;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.LexicalTokenStage;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces.ILexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.ByteLexicalTokenizer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.FileUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Lexical token file follower class to aggregate growing file incrementally
+ * (only bytes appended since the last refresh up to the last token boundary
+ * are tokenized, output is rewritten atomically)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ * @param <E>
+ *
+ */
+public class LexicalTokenFileFollower<E extends CharSequence> implements Closeable {
+
+    /**
+     * Default logger instance
+     */
+    private static final Logger LOGGER = LogManager.getLogger(LexicalTokenFileFollower.class);
+    /**
+     * Default poll interval (in milliseconds)
+     */
+    public static final long DEFAULT_POLL_INTERVAL = 1000;
+
+    private final File inputFile;
+    private final File outputFile;
+    private final ILexicalTokenAnalyzer<E, ?, ?> analyzer;
+    private final ByteBuffer buffer;
+    private ILexicalTokenAggregator<E> aggregator;
+    private long position;
+    private volatile boolean closed;
+
+    public LexicalTokenFileFollower(final File inputFile, final File outputFile, final ILexicalTokenAnalyzer<E, ?, ?> analyzer) {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(outputFile);
+        Objects.requireNonNull(analyzer);
+        this.inputFile = inputFile;
+        this.outputFile = outputFile;
+        this.analyzer = analyzer;
+        this.buffer = ByteBuffer.allocate(ByteLexicalTokenizer.DEFAULT_CHUNK_SIZE);
+        this.aggregator = analyzer.getLexicalTokenAggregator();
+        this.position = 0;
+    }
+
+    /**
+     * Returns byte offset of the input file processed so far
+     *
+     * @return byte offset
+     */
+    public long getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Tokenizes bytes appended since the last refresh (up to the last token
+     * boundary) and rewrites output if anything changed (input charset should
+     * be ASCII compatible)
+     *
+     * @return true - if output has been rewritten, false - otherwise
+     * @throws IOException On read / write operation.
+     */
+    public boolean refresh() throws IOException {
+        final long limit;
+        try (final FileChannel channel = FileChannel.open(this.inputFile.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < this.position) {
+                LOGGER.info(String.format("Input file=%s has been truncated, restarting from the beginning...", this.inputFile));
+                this.aggregator = this.analyzer.getLexicalTokenAggregator();
+                this.position = 0;
+            }
+            limit = this.findLastTokenBoundary(channel, this.position, size);
+        }
+        if (limit <= this.position) {
+            return false;
+        }
+        final Charset charset = FileUtils.getCharset(this.inputFile, this.analyzer.getCharset());
+        if (!ByteLexicalTokenizer.isAsciiCompatible(charset)) {
+            throw new IOException(String.format("ERROR: cannot follow input file=%s in charset=%s (not ASCII compatible)", this.inputFile, charset));
+        }
+        FileUtils.readFileMapped(this.inputFile, this.position, limit - this.position, new ByteLexicalTokenizer(this.analyzer.getTokenizer(), this.aggregator, this.analyzer.getMetrics(), charset));
+        this.position = limit;
+        final ILexicalTokenMetrics metrics = this.analyzer.getMetrics();
+        long startTime = metrics.startTime();
+        final List<ILexicalTokenAggregate<E>> aggregateList = this.aggregator.getAggregateList(Comparator.reverseOrder());
+        metrics.stop(LexicalTokenStage.GROUP, startTime);
+        metrics.addGroups(aggregateList.size());
+        startTime = metrics.startTime();
+        FileUtils.writeFileAtomic(this.outputFile, aggregateList, ILexicalTokenAggregate::formatTo);
+        metrics.stop(LexicalTokenStage.WRITE, startTime);
+        if (metrics.isEnabled()) {
+            metrics.addBytesWritten(this.outputFile.length());
+        }
+        return true;
+    }
+
+    private long findLastTokenBoundary(final FileChannel channel, final long from, final long to) throws IOException {
+        long offset = to;
+        while (offset > from) {
+            final int length = (int) Math.min(this.buffer.capacity(), offset - from);
+            this.buffer.clear().limit(length);
+            final long start = offset - length;
+            while (this.buffer.hasRemaining()) {
+                if (channel.read(this.buffer, start + this.buffer.position()) < 0) {
+                    return from;
+                }
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                if (ByteLexicalTokenizer.isTokenBoundary(this.analyzer.getTokenizer(), this.buffer.get(i))) {
+                    return start + i + 1;
+                }
+            }
+            offset = start;
+        }
+        return from;
+    }
+
+    /**
+     * Follows input file until the follower is closed or the thread is
+     * interrupted (file changes are detected by watch service, polling is
+     * used as a fallback)
+     *
+     * @param pollInterval - poll interval (in milliseconds)
+     * @throws IOException On read / write operation.
+     */
+    public void follow(final long pollInterval) throws IOException {
+        final Path path = this.inputFile.toPath().toAbsolutePath();
+        try (final WatchService watchService = path.getFileSystem().newWatchService()) {
+            path.getParent().register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            while (!this.closed && !Thread.currentThread().isInterrupted()) {
+                this.refresh();
+                final WatchKey key = watchService.poll(pollInterval, TimeUnit.MILLISECONDS);
+                if (Objects.nonNull(key)) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ex) {
+            LOGGER.debug(String.format("Watch service has been closed, message=%s", ex.getMessage()));
+        }
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.ByteLexicalTokenizer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.RecursiveTask;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Fork / join task to aggregate lexical tokens of a single file in batch mode
+ * (large files are split into ranges processed by the same pool, failures are
+ * logged and isolated to the file)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ * @param <E>
+ *
+ */
+public class LexicalTokenFileTask<E extends CharSequence> extends RecursiveTask<ILexicalTokenAggregator<E>> {
+
+    /**
+     * Default logger instance
+     */
+    private static final Logger LOGGER = LogManager.getLogger(LexicalTokenFileTask.class);
+
+    private final File inputFile;
+    private final File outputFile;
+    private final ILexicalTokenAnalyzer<E, ?, ?> analyzer;
+
+    /**
+     * Creates task to aggregate input file
+     *
+     * @param inputFile - input file
+     * @param outputFile - per-file output (or null if not required)
+     * @param analyzer - analyzer instance
+     */
+    public LexicalTokenFileTask(final File inputFile, final File outputFile, final ILexicalTokenAnalyzer<E, ?, ?> analyzer) {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(analyzer);
+        this.inputFile = inputFile;
+        this.outputFile = outputFile;
+        this.analyzer = analyzer;
+    }
+
+    public File getInputFile() {
+        return this.inputFile;
+    }
+
+    /**
+     * Returns file aggregator (or null if the file could not be processed)
+     *
+     * @return file aggregator
+     */
+    @Override
+    protected ILexicalTokenAggregator<E> compute() {
+        try {
+            final ILexicalTokenAggregator<E> aggregator;
+            final Charset charset = FileUtils.getCharset(this.inputFile, this.analyzer.getCharset());
+            if (FileUtils.isGZIPFile(this.inputFile)) {
+                aggregator = this.analyzer.getLexicalTokenAggregator();
+                FileUtils.readFileStream(this.inputFile, new ByteLexicalTokenizer(this.analyzer.getTokenizer(), aggregator, this.analyzer.getMetrics(), charset));
+            } else {
+                final int chunks = FileUtils.getChunkCount(this.inputFile, getPool().getParallelism());
+                final long[] boundaries = FileUtils.splitFile(this.inputFile, chunks, this.analyzer.getTokenizer(), charset);
+                aggregator = new LexicalTokenAggregateTask<>(this.inputFile, this.analyzer, charset, boundaries, 0, boundaries.length - 1).compute();
+            }
+            if (Objects.nonNull(this.outputFile)) {
+                if (Objects.nonNull(this.outputFile.getParentFile())) {
+                    this.outputFile.getParentFile().mkdirs();
+                }
+                FileUtils.writeFile(this.outputFile, aggregator.getAggregateList(Comparator.reverseOrder()), ILexicalTokenAggregate::formatTo, this.analyzer.getMetrics());
+            }
+            return aggregator;
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.error(String.format("ERROR: cannot process input file=%s, message=%s", String.valueOf(this.inputFile), ex.getMessage()));
+        }
+        return null;
+    }
+}
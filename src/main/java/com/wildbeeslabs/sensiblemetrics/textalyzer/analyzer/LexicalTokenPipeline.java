@@ -0,0 +1,228 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Lexical token pipeline class to feed tokens of a single tokenization pass
+ * into several subscribed analyses (each subscription keeps its own partial
+ * result, partial pipelines of parallel chunks / files are merged
+ * subscription by subscription)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class LexicalTokenPipeline implements Consumer<CharSequence> {
+
+    /**
+     * Default name of token counts by length subscription
+     * ({@link com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntLongCounter})
+     */
+    public static final String DEFAULT_COUNT_BY_LENGTH = "countByLength";
+    /**
+     * Default name of unique tokens by length subscription
+     * ({@link com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntObjectMap}
+     * of {@link com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenSet})
+     */
+    public static final String DEFAULT_UNIQUE_BY_LENGTH = "uniqueByLength";
+    /**
+     * Default name of token aggregates subscription
+     * ({@link com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator})
+     */
+    public static final String DEFAULT_AGGREGATES = "aggregates";
+
+    private static final class Subscription {
+
+        private final String name;
+        private final Supplier<?> supplier;
+        private final BiConsumer<Object, CharSequence> accumulator;
+        private final BiConsumer<Object, Object> combiner;
+
+        private <A> Subscription(final String name, final Supplier<A> supplier, final BiConsumer<? super A, ? super CharSequence> accumulator, final BiConsumer<A, A> combiner) {
+            this.name = name;
+            this.supplier = supplier;
+            this.accumulator = (BiConsumer<Object, CharSequence>) accumulator;
+            this.combiner = (BiConsumer<Object, Object>) combiner;
+        }
+    }
+
+    private final List<Subscription> subscriptions;
+    private BiConsumer<Object, CharSequence>[] accumulators;
+    private Object[] results;
+    private long tokenCount;
+
+    public LexicalTokenPipeline() {
+        this.subscriptions = new ArrayList<>();
+        this.accumulators = new BiConsumer[0];
+        this.results = new Object[0];
+    }
+
+    /**
+     * Subscribes analysis to the pipeline tokens
+     *
+     * @param name - unique subscription name
+     * @param supplier - partial result factory
+     * @param accumulator - folds token into partial result
+     * @param combiner - merges partial results (into the first one)
+     * @return the current pipeline
+     */
+    public <A> LexicalTokenPipeline subscribe(final String name, final Supplier<A> supplier, final BiConsumer<? super A, ? super CharSequence> accumulator, final BiConsumer<A, A> combiner) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(supplier);
+        Objects.requireNonNull(accumulator);
+        Objects.requireNonNull(combiner);
+        if (this.indexOf(name) >= 0) {
+            throw new IllegalArgumentException(String.format("ERROR: duplicate subscription name=(%s)", name));
+        }
+        this.add(new Subscription(name, supplier, accumulator, combiner));
+        return this;
+    }
+
+    /**
+     * Subscribes token consumer analysis to the pipeline tokens
+     *
+     * @param name - unique subscription name
+     * @param supplier - partial result factory
+     * @param combiner - merges partial results (into the first one)
+     * @return the current pipeline
+     */
+    public <A extends Consumer<? super CharSequence>> LexicalTokenPipeline subscribe(final String name, final Supplier<A> supplier, final BiConsumer<A, A> combiner) {
+        return this.subscribe(name, supplier, Consumer::accept, combiner);
+    }
+
+    private void add(final Subscription subscription) {
+        final int size = this.subscriptions.size();
+        this.subscriptions.add(subscription);
+        this.accumulators = Arrays.copyOf(this.accumulators, size + 1);
+        this.accumulators[size] = subscription.accumulator;
+        this.results = Arrays.copyOf(this.results, size + 1);
+        this.results[size] = subscription.supplier.get();
+    }
+
+    /**
+     * Returns empty pipeline with the same subscriptions (partial pipeline of
+     * parallel chunk / file)
+     *
+     * @return empty pipeline
+     */
+    public LexicalTokenPipeline copy() {
+        final LexicalTokenPipeline pipeline = new LexicalTokenPipeline();
+        this.subscriptions.forEach(pipeline::add);
+        return pipeline;
+    }
+
+    @Override
+    public void accept(final CharSequence token) {
+        this.tokenCount++;
+        for (int i = 0; i < this.results.length; i++) {
+            this.accumulators[i].accept(this.results[i], token);
+        }
+    }
+
+    /**
+     * Merges partial pipeline with the same subscriptions into the current
+     * pipeline
+     *
+     * @param pipeline - pipeline to be merged
+     */
+    public void merge(final LexicalTokenPipeline pipeline) {
+        if (Objects.isNull(pipeline) || this == pipeline) {
+            return;
+        }
+        if (this.subscriptions.size() != pipeline.subscriptions.size()) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid number of subscriptions=(%d)", pipeline.subscriptions.size()));
+        }
+        for (int i = 0; i < this.results.length; i++) {
+            final Subscription subscription = this.subscriptions.get(i);
+            if (!subscription.name.equals(pipeline.subscriptions.get(i).name)) {
+                throw new IllegalArgumentException(String.format("ERROR: invalid subscription name=(%s)", pipeline.subscriptions.get(i).name));
+            }
+            subscription.combiner.accept(this.results[i], pipeline.results[i]);
+        }
+        this.tokenCount += pipeline.tokenCount;
+    }
+
+    /**
+     * Returns result of the subscription
+     *
+     * @param name - subscription name
+     * @return subscription result
+     */
+    public <A> A get(final String name) {
+        final int index = this.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid subscription name=(%s)", name));
+        }
+        return (A) this.results[index];
+    }
+
+    public boolean contains(final String name) {
+        return this.indexOf(name) >= 0;
+    }
+
+    private int indexOf(final String name) {
+        for (int i = 0; i < this.subscriptions.size(); i++) {
+            if (this.subscriptions.get(i).name.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns number of subscriptions
+     *
+     * @return number of subscriptions
+     */
+    public int size() {
+        return this.subscriptions.size();
+    }
+
+    /**
+     * Returns number of tokens passed through the pipeline
+     *
+     * @return number of tokens
+     */
+    public long getTokenCount() {
+        return this.tokenCount;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sBuffer = new StringBuilder("LexicalTokenPipeline(tokenCount=").append(this.tokenCount).append(", subscriptions=[");
+        for (int i = 0; i < this.subscriptions.size(); i++) {
+            sBuffer.append((i > 0) ? ", " : "").append(this.subscriptions.get(i).name);
+        }
+        return sBuffer.append("])").toString();
+    }
+}
@@ -24,23 +24,38 @@
 package com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer;
 
 import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.IVowelLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntObjectMap;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.OffHeapLexicalTokenList;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.OffHeapLexicalTokenStore;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalAlphabet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalTokenIdStrategy;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.VowelLexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.VowelLexicalTokenAggregate;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.VowelLexicalTokenSummaryTerm;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.VowelLexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.NoOpLexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces.ILexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.LexicalTokenFilter;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.interfaces.ILexicalTokenizer;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.ConverterUtils;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.FileUtils;
 
+import java.nio.charset.Charset;
 import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.Value;
 
-import org.apache.commons.lang3.StringUtils;
-
 /**
  * Vowel lexical token analyzer class to operate on lexical tokens stream
  *
@@ -60,9 +75,42 @@ public class VowelLexicalTokenAnalyzer<E extends CharSequence, T extends IVowelL
     /**
      * Default token filter pattern
      */
-    public static final String DEFAULT_TOKEN_FILTER_PATTERN = "[^a-zA-Z]";
+    public static final String DEFAULT_TOKEN_FILTER_PATTERN = LexicalAlphabet.DEFAULT_ALPHABET.getFilterPattern();
+
+    /**
+     * Token alphabet (letters to keep in tokens / vowels to count)
+     */
+    private final LexicalAlphabet alphabet;
+    /**
+     * Token retention flag (false - terms keep summary statistics only and do
+     * not support token removal)
+     */
+    private final boolean tokenRetention;
 
     public VowelLexicalTokenAnalyzer() {
+        this(LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY);
+    }
+
+    public VowelLexicalTokenAnalyzer(final LexicalTokenIdStrategy idStrategy) {
+        this(idStrategy, NoOpLexicalTokenMetrics.getInstance());
+    }
+
+    public VowelLexicalTokenAnalyzer(final LexicalTokenIdStrategy idStrategy, final ILexicalTokenMetrics metrics) {
+        this(idStrategy, metrics, LexicalAlphabet.DEFAULT_ALPHABET);
+    }
+
+    public VowelLexicalTokenAnalyzer(final LexicalTokenIdStrategy idStrategy, final ILexicalTokenMetrics metrics, final LexicalAlphabet alphabet) {
+        this(idStrategy, metrics, alphabet, FileUtils.DEFAULT_FILE_CHARACTER_ENCODING);
+    }
+
+    public VowelLexicalTokenAnalyzer(final LexicalTokenIdStrategy idStrategy, final ILexicalTokenMetrics metrics, final LexicalAlphabet alphabet, final Charset charset) {
+        this(idStrategy, metrics, alphabet, charset, true);
+    }
+
+    public VowelLexicalTokenAnalyzer(final LexicalTokenIdStrategy idStrategy, final ILexicalTokenMetrics metrics, final LexicalAlphabet alphabet, final Charset charset, final boolean tokenRetention) {
+        super(idStrategy, metrics, charset);
+        this.alphabet = Objects.requireNonNull(alphabet);
+        this.tokenRetention = tokenRetention;
         getLogger().debug("Initializing vowel lexical token analyzer...");
     }
 
@@ -71,26 +119,66 @@ public class VowelLexicalTokenAnalyzer<E extends CharSequence, T extends IVowelL
         return ConverterUtils.getMapSumBy(tokenList.stream(), Function.identity(), token -> token.vowelCount());
     }
 
+    @Override
+    public OffHeapLexicalTokenList getOffHeapLexicalTokenList(final Stream<E> stream, final OffHeapLexicalTokenStore store) {
+        final ILexicalTokenizer tokenizer = this.getTokenizer();
+        final OffHeapLexicalTokenList tokenList = new OffHeapLexicalTokenList(store, this.alphabet);
+        stream.forEachOrdered((line) -> tokenizer.tokenize(line, tokenList::append));
+        return tokenList;
+    }
+
+    @Override
+    public IntObjectMap<OffHeapLexicalTokenList> getOffHeapLexicalTokenMapByLength(final Stream<E> stream, final OffHeapLexicalTokenStore store) {
+        final ILexicalTokenizer tokenizer = this.getTokenizer();
+        final IntObjectMap<OffHeapLexicalTokenList> tokenMap = new IntObjectMap<>();
+        stream.forEachOrdered((line) -> tokenizer.tokenize(line, (word) -> tokenMap.computeIfAbsent(word.length(), (length) -> new OffHeapLexicalTokenList(store, this.alphabet)).append(word)));
+        return tokenMap;
+    }
+
     protected Map<String, Integer> getLexicalTokenVowelCountMap(final List<T> tokenList) {
-        return ConverterUtils.getMapSumBy(tokenList.stream(), (token) -> token.getId().toString(), token -> token.vowelCount());
+        return ConverterUtils.getMapSumBy(tokenList.stream().filter(token -> token.hasId()), (token) -> token.getId().toString(), token -> token.vowelCount());
     }
 
     public Map<Integer, IntSummaryStatistics> getVowelLexicalTokenStatisticsByLength(final List<T> tokenList) {
         return this.getLexicalTokenStatistics(tokenList.stream(), (token) -> token.length(), mapper -> mapper.vowelCount());
     }
 
+    @Override
+    protected ToLongFunction<CharSequence> getTokenGroupKey() {
+        return this.alphabet::toVowelMask;
+    }
+
     @Override
     protected Function<CharSequence, CharSequence> getDefaultFilter() {
-        return ((word) -> String.valueOf(word).replaceAll(VowelLexicalTokenAnalyzer.DEFAULT_TOKEN_FILTER_PATTERN, StringUtils.EMPTY).toLowerCase().trim());
+        return new LexicalTokenFilter(this.alphabet);
     }
 
     @Override
     protected T createLexicalToken(final E value) {
-        return (T) new VowelLexicalToken(value);
+        return (T) new VowelLexicalToken(value, VowelLexicalToken.DEFAULT_TOKEN_SORT_COMPARATOR, this.getIdStrategy(), this.alphabet);
+    }
+
+    @Override
+    public boolean isTokenRetention() {
+        return this.tokenRetention;
+    }
+
+    @Override
+    protected void acceptLexicalToken(final U tokenTerm, final E value) {
+        if (tokenTerm instanceof VowelLexicalTokenSummaryTerm) {
+            ((VowelLexicalTokenSummaryTerm<E, T>) tokenTerm).accept(value);
+            return;
+        }
+        super.acceptLexicalToken(tokenTerm, value);
     }
 
     @Override
     protected U createLexicalTokenTerm() {
-        return (U) new VowelLexicalTokenTerm<>();
+        return (U) (this.tokenRetention ? new VowelLexicalTokenTerm<>() : new VowelLexicalTokenSummaryTerm<>(this.alphabet));
+    }
+
+    @Override
+    protected ILexicalTokenAggregate<E> createLexicalTokenAggregate() {
+        return new VowelLexicalTokenAggregate<>(this.alphabet);
     }
 }
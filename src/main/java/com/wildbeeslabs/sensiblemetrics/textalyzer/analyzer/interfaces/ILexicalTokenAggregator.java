@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ *
+ * Lexical token aggregator interface declaration (folds tokens into
+ * aggregates grouped by token length)
+ *
+ * @author Alex
+ * @version 1.0.0
+ * @since 2017-12-12
+ * @param <E>
+ */
+public interface ILexicalTokenAggregator<E extends CharSequence> extends Consumer<CharSequence> {
+
+    /**
+     * Merges partial aggregator into the current aggregator
+     *
+     * @param aggregator - aggregator to be merged
+     */
+    void merge(final ILexicalTokenAggregator<E> aggregator);
+
+    /**
+     * Returns number of token groups of the current aggregator
+     *
+     * @return number of token groups
+     */
+    int size();
+
+    /**
+     * Returns aggregate of the token group (created if absent)
+     *
+     * @param key - token group key
+     * @return aggregate of the token group
+     */
+    ILexicalTokenAggregate<E> getAggregate(final int key);
+
+    /**
+     * Performs action on each token group aggregate (in no particular order)
+     *
+     * @param action - action to be performed on aggregate and group key
+     */
+    void forEach(final ObjIntConsumer<? super ILexicalTokenAggregate<E>> action);
+
+    /**
+     * Returns collection of token aggregates in a sorted order by group key
+     *
+     * @param comparator - comparator instance for sort ordering
+     * @return collection of token aggregates
+     */
+    List<ILexicalTokenAggregate<E>> getAggregateList(final Comparator<? super Integer> comparator);
+}
@@ -23,9 +23,20 @@
  */
 package com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces;
 
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.LexicalTokenPipeline;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntLongCounter;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntObjectMap;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenCardinality;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenHeavyHitters;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenIdIndex;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenSet;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces.ILexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.interfaces.ILexicalTokenizer;
 
+import java.nio.charset.Charset;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +72,14 @@ public interface ILexicalTokenAnalyzer<E extends CharSequence, T extends ILexica
      */
     Map<Integer, List<T>> getLexicalTokenMapByLength(final Stream<E> stream);
 
+    /**
+     * Returns tokens int-keyed map grouped by length (lengths are not boxed)
+     *
+     * @param stream - input text stream
+     * @return tokens int-keyed map grouped by length
+     */
+    IntObjectMap<List<T>> getLexicalTokenIntMapByLength(final Stream<E> stream);
+
     /**
      * Returns tokens unique map grouped by length
      *
@@ -69,6 +88,15 @@ public interface ILexicalTokenAnalyzer<E extends CharSequence, T extends ILexica
      */
     Map<Integer, Set<T>> getUniqueLexicalTokenMapByLength(final Stream<E> stream);
 
+    /**
+     * Returns arena backed unique tokens sets grouped by length (tokens are
+     * not materialized)
+     *
+     * @param stream - input text stream
+     * @return unique tokens sets grouped by length
+     */
+    IntObjectMap<LexicalTokenSet> getUniqueLexicalTokenSetByLength(final Stream<E> stream);
+
     /**
      * Returns tokens count map grouped by length
      *
@@ -77,6 +105,65 @@ public interface ILexicalTokenAnalyzer<E extends CharSequence, T extends ILexica
      */
     Map<Integer, Long> getCountMapByLength(final Stream<E> stream);
 
+    /**
+     * Returns tokens counter grouped by length (neither lengths nor counts are
+     * boxed, tokens are not materialized)
+     *
+     * @param stream - input text stream
+     * @return tokens counter grouped by length
+     */
+    IntLongCounter getCountByLength(final Stream<E> stream);
+
+    /**
+     * Returns the most frequent tokens grouped by length estimated in bounded
+     * memory (Count-Min sketch with Space-Saving top-K per group)
+     *
+     * @param stream - input text stream
+     * @param topK - number of the most frequent tokens per group
+     * @param epsilon - relative error of the frequency estimates
+     * @param delta - error probability of the frequency estimates
+     * @return heavy hitters grouped by length
+     */
+    LexicalTokenHeavyHitters getLexicalTokenHeavyHitters(final Stream<E> stream, final int topK, final double epsilon, final double delta);
+
+    /**
+     * Returns distinct tokens estimates grouped by length (and by analyzer
+     * specific token group) in fixed memory (HyperLogLog per group)
+     *
+     * @param stream - input text stream
+     * @param precision - HyperLogLog precision
+     * @return cardinality tracker
+     */
+    LexicalTokenCardinality getLexicalTokenCardinality(final Stream<E> stream, final int precision);
+
+    /**
+     * Returns new empty cardinality tracker with analyzer specific token
+     * grouping
+     *
+     * @param precision - HyperLogLog precision
+     * @return cardinality tracker
+     */
+    LexicalTokenCardinality getLexicalTokenCardinality(final int precision);
+
+    /**
+     * Returns new pipeline with default subscriptions (token counts by
+     * length, unique tokens by length and token aggregates)
+     *
+     * @return pipeline
+     */
+    LexicalTokenPipeline getLexicalTokenPipeline();
+
+    /**
+     * Returns pipeline filled by a single tokenization pass of the input
+     * stream (subscriptions are copied from the pipeline template, template
+     * itself is not changed)
+     *
+     * @param stream - input stream
+     * @param pipeline - pipeline template
+     * @return filled pipeline
+     */
+    LexicalTokenPipeline getLexicalTokenPipeline(final Stream<E> stream, final LexicalTokenPipeline pipeline);
+
     /**
      * Returns tokens map grouped by token ID
      *
@@ -85,6 +172,14 @@ public interface ILexicalTokenAnalyzer<E extends CharSequence, T extends ILexica
      */
     Map<String, T> getLexicalTokenMapById(final Stream<T> stream);
 
+    /**
+     * Returns tokens index by token ID (tokens without ID are skipped)
+     *
+     * @param stream - input token stream
+     * @return tokens index by token ID
+     */
+    LexicalTokenIdIndex<T> getLexicalTokenIndexById(final Stream<T> stream);
+
     /**
      * Returns tokens map grouped by key in a sorted order
      *
@@ -102,4 +197,52 @@ public interface ILexicalTokenAnalyzer<E extends CharSequence, T extends ILexica
      * @return collection of token terms
      */
     List<U> getLexicalTokenTermList(final Stream<E> stream, final Comparator<? super Integer> comparator);
+
+    /**
+     * Returns collection of token aggregates folded from the current stream
+     * without retaining tokens
+     *
+     * @param stream - input text stream
+     * @param comparator - comparator instance for sort ordering
+     * @return collection of token aggregates
+     */
+    List<ILexicalTokenAggregate<E>> getLexicalTokenAggregateList(final Stream<E> stream, final Comparator<? super Integer> comparator);
+
+    /**
+     * Returns new token aggregator to fold tokens into aggregates grouped by
+     * length
+     *
+     * @return token aggregator
+     */
+    ILexicalTokenAggregator<E> getLexicalTokenAggregator();
+
+    /**
+     * Returns tokenizer with default token filter and delimiter
+     *
+     * @return default tokenizer
+     */
+    ILexicalTokenizer getTokenizer();
+
+    /**
+     * Returns pipeline metrics of the analyzer
+     *
+     * @return pipeline metrics
+     */
+    ILexicalTokenMetrics getMetrics();
+
+    /**
+     * Returns character encoding of the input bytes (input files)
+     *
+     * @return input charset
+     */
+    Charset getCharset();
+
+    /**
+     * Returns configuration signature of the analyzer (analyzer type, token
+     * delimiter, token filter and input charset), analyzers with equal
+     * signatures produce equal output for equal input
+     *
+     * @return configuration signature
+     */
+    String getSignature();
 }
@@ -23,11 +23,15 @@
  */
 package com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces;
 
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntObjectMap;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.OffHeapLexicalTokenList;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.OffHeapLexicalTokenStore;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  *
@@ -50,4 +54,23 @@ public interface IVowelLexicalTokenAnalyzer<E extends CharSequence, T extends IV
      */
     Map<T, Integer> getVowelCountMapByLexicalToken(final List<T> tokenList);
 
+    /**
+     * Returns tokens list with token characters stored off-heap
+     *
+     * @param stream - input text stream
+     * @param store - off-heap token store
+     * @return off-heap tokens list
+     */
+    OffHeapLexicalTokenList getOffHeapLexicalTokenList(final Stream<E> stream, final OffHeapLexicalTokenStore store);
+
+    /**
+     * Returns tokens lists with token characters stored off-heap grouped by
+     * length
+     *
+     * @param stream - input text stream
+     * @param store - off-heap token store
+     * @return off-heap tokens lists grouped by length
+     */
+    IntObjectMap<OffHeapLexicalTokenList> getOffHeapLexicalTokenMapByLength(final Stream<E> stream, final OffHeapLexicalTokenStore store);
+
 }
@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.StringUtils;
+
+import java.util.Objects;
+
+/**
+ * Count-Min sketch class to estimate token frequencies in bounded memory:
+ * estimates never underestimate and overestimate by at most epsilon * total
+ * count with probability 1 - delta (sketches of the same dimensions are
+ * mergeable)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class CountMinSketch {
+
+    /**
+     * Default relative error
+     */
+    public static final double DEFAULT_EPSILON = 1e-4;
+    /**
+     * Default error probability
+     */
+    public static final double DEFAULT_DELTA = 1e-3;
+
+    private final int width;
+    private final int depth;
+    private final long[] table;
+    private long totalCount;
+
+    public CountMinSketch() {
+        this(DEFAULT_EPSILON, DEFAULT_DELTA);
+    }
+
+    /**
+     * Creates sketch by error bounds
+     *
+     * @param epsilon - relative error (of the total count)
+     * @param delta - error probability
+     */
+    public CountMinSketch(final double epsilon, final double delta) {
+        this(getWidth(epsilon), getDepth(delta));
+    }
+
+    /**
+     * Creates sketch by dimensions
+     *
+     * @param width - number of counters per row
+     * @param depth - number of rows (hash functions)
+     */
+    public CountMinSketch(final int width, final int depth) {
+        if (width < 1 || depth < 1 || (long) width * depth > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid sketch dimensions=(%d x %d)", width, depth));
+        }
+        this.width = width;
+        this.depth = depth;
+        this.table = new long[width * depth];
+    }
+
+    public static int getWidth(final double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid epsilon=(%s)", epsilon));
+        }
+        return (int) Math.ceil(Math.E / epsilon);
+    }
+
+    public static int getDepth(final double delta) {
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid delta=(%s)", delta));
+        }
+        return (int) Math.ceil(Math.log(1 / delta));
+    }
+
+    private int index(final int row, final long hash) {
+        final int h = (int) hash + row * (int) (hash >>> 32);
+        return row * this.width + ((h & Integer.MAX_VALUE) % this.width);
+    }
+
+    /**
+     * Adds count of the value
+     *
+     * @param value - input value
+     * @param count - count to be added
+     * @return frequency estimate of the value after update
+     */
+    public long add(final CharSequence value, final long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid count=(%d)", count));
+        }
+        final long hash = StringUtils.hash64(value);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < this.depth; row++) {
+            final int index = this.index(row, hash);
+            this.table[index] += count;
+            estimate = Math.min(estimate, this.table[index]);
+        }
+        this.totalCount += count;
+        return estimate;
+    }
+
+    /**
+     * Returns frequency estimate of the value
+     *
+     * @param value - input value
+     * @return frequency estimate
+     */
+    public long estimate(final CharSequence value) {
+        final long hash = StringUtils.hash64(value);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < this.depth; row++) {
+            estimate = Math.min(estimate, this.table[this.index(row, hash)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Merges sketch of the same dimensions into the current sketch
+     *
+     * @param sketch - sketch to be merged
+     */
+    public void merge(final CountMinSketch sketch) {
+        Objects.requireNonNull(sketch);
+        if (this.width != sketch.width || this.depth != sketch.depth) {
+            throw new IllegalArgumentException(String.format("ERROR: cannot merge sketch dimensions=(%d x %d) into (%d x %d)", sketch.width, sketch.depth, this.width, this.depth));
+        }
+        for (int i = 0; i < this.table.length; i++) {
+            this.table[i] += sketch.table[i];
+        }
+        this.totalCount += sketch.totalCount;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public long getTotalCount() {
+        return this.totalCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CountMinSketch(width=%d, depth=%d, totalCount=%d)", this.width, this.depth, this.totalCount);
+    }
+}
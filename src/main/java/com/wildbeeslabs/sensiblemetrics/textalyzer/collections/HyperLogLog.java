@@ -0,0 +1,167 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * HyperLogLog class to estimate number of distinct values in fixed memory
+ * (2^precision one-byte registers, relative standard error is about
+ * 1.04 / sqrt(2^precision), sketches of the same precision are mergeable)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class HyperLogLog {
+
+    /**
+     * Default precision (16384 registers, ~0.8% standard error)
+     */
+    public static final int DEFAULT_PRECISION = 14;
+    /**
+     * Minimum precision
+     */
+    public static final int MIN_PRECISION = 4;
+    /**
+     * Maximum precision
+     */
+    public static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(final int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid precision=(%d), expected range=[%d, %d]", precision, MIN_PRECISION, MAX_PRECISION));
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Adds value by its 64-bit hash
+     *
+     * @param hash - 64-bit hash of the value
+     */
+    public void add(final long hash) {
+        final int index = (int) (hash >>> (Long.SIZE - this.precision));
+        final int rank = Long.numberOfLeadingZeros((hash << this.precision) | (1L << (this.precision - 1))) + 1;
+        if (rank > this.registers[index]) {
+            this.registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Returns estimated number of distinct values
+     *
+     * @return cardinality estimate
+     */
+    public long estimate() {
+        final int m = this.registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (final byte register : this.registers) {
+            sum += Double.longBitsToDouble((1023L - register) << 52);
+            if (0 == register) {
+                zeros++;
+            }
+        }
+        final double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            return Math.round(m * Math.log((double) m / zeros));
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(final int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    /**
+     * Merges sketch of the same precision into the current sketch
+     *
+     * @param sketch - sketch to be merged
+     */
+    public void merge(final HyperLogLog sketch) {
+        Objects.requireNonNull(sketch);
+        if (this.precision != sketch.precision) {
+            throw new IllegalArgumentException(String.format("ERROR: cannot merge sketch precision=(%d) into (%d)", sketch.precision, this.precision));
+        }
+        for (int i = 0; i < this.registers.length; i++) {
+            if (sketch.registers[i] > this.registers[i]) {
+                this.registers[i] = sketch.registers[i];
+            }
+        }
+    }
+
+    public int getPrecision() {
+        return this.precision;
+    }
+
+    /**
+     * Returns sketch size (in bytes)
+     *
+     * @return number of registers
+     */
+    public int getSize() {
+        return this.registers.length;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof HyperLogLog)) {
+            return false;
+        }
+        return Arrays.equals(this.registers, ((HyperLogLog) obj).registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.registers);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HyperLogLog(precision=%d, estimate=%d)", this.precision, this.estimate());
+    }
+}
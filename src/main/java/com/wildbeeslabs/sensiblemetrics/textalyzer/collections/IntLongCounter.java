@@ -0,0 +1,301 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Int-keyed counter class for small dense keys (token lengths): counters of
+ * keys in range [0, DEFAULT_DENSE_LIMIT) are stored in a growable long array
+ * indexed by key, other keys fall back to open addressing with linear probing,
+ * neither keys nor counters are boxed (keys with zero count are absent)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class IntLongCounter {
+
+    /**
+     * Default initial capacity of the dense array
+     */
+    public static final int DEFAULT_INITIAL_CAPACITY = 32;
+    /**
+     * Default upper bound (exclusive) of the dense key range
+     */
+    public static final int DEFAULT_DENSE_LIMIT = IntObjectMap.DEFAULT_DENSE_LIMIT;
+    /**
+     * Default maximum load factor of the sparse table
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    /**
+     * Counter procedure declaration
+     */
+    @FunctionalInterface
+    public interface IntLongProcedure {
+
+        void accept(final int key, final long count);
+    }
+
+    private long[] denseCounts;
+    private int[] sparseKeys;
+    private long[] sparseCounts;
+    private boolean[] sparseUsed;
+    private int sparseSize;
+
+    public IntLongCounter() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public IntLongCounter(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid initial capacity=(%d)", initialCapacity));
+        }
+        this.denseCounts = new long[Math.min(Math.max(initialCapacity, 1), DEFAULT_DENSE_LIMIT)];
+    }
+
+    private static boolean isDense(final int key) {
+        return key >= 0 && key < DEFAULT_DENSE_LIMIT;
+    }
+
+    private static int hash(final int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(final int key) {
+        final int mask = this.sparseKeys.length - 1;
+        int index = hash(key) & mask;
+        while (this.sparseUsed[index] && this.sparseKeys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Increments counter by key
+     *
+     * @param key - counter key
+     */
+    public void increment(final int key) {
+        if (key >= 0 && key < this.denseCounts.length) {
+            this.denseCounts[key]++;
+        } else {
+            this.add(key, 1);
+        }
+    }
+
+    /**
+     * Adds delta to counter by key
+     *
+     * @param key - counter key
+     * @param delta - counter delta
+     */
+    public void add(final int key, final long delta) {
+        if (isDense(key)) {
+            if (key >= this.denseCounts.length) {
+                this.denseCounts = Arrays.copyOf(this.denseCounts, Math.min(Integer.highestOneBit(key) << 1, DEFAULT_DENSE_LIMIT));
+            }
+            this.denseCounts[key] += delta;
+            return;
+        }
+        if (Objects.isNull(this.sparseKeys)) {
+            this.allocate(DEFAULT_INITIAL_CAPACITY);
+        }
+        int index = this.indexOf(key);
+        if (!this.sparseUsed[index]) {
+            if (this.sparseSize + 1 > this.sparseKeys.length * DEFAULT_LOAD_FACTOR) {
+                this.rehash(this.sparseKeys.length << 1);
+                index = this.indexOf(key);
+            }
+            this.sparseUsed[index] = true;
+            this.sparseKeys[index] = key;
+            this.sparseSize++;
+        }
+        this.sparseCounts[index] += delta;
+    }
+
+    /**
+     * Returns counter by key
+     *
+     * @param key - counter key
+     * @return counter value (0 if absent)
+     */
+    public long get(final int key) {
+        if (isDense(key)) {
+            return key < this.denseCounts.length ? this.denseCounts[key] : 0;
+        }
+        if (Objects.isNull(this.sparseKeys)) {
+            return 0;
+        }
+        final int index = this.indexOf(key);
+        return this.sparseUsed[index] ? this.sparseCounts[index] : 0;
+    }
+
+    /**
+     * Merges all counters into the current counter
+     *
+     * @param counter - counter to be merged
+     */
+    public void merge(final IntLongCounter counter) {
+        if (Objects.isNull(counter) || this == counter) {
+            return;
+        }
+        counter.forEach(this::add);
+    }
+
+    /**
+     * Performs action on each non-zero counter (dense keys in ascending order
+     * first, sparse keys in no particular order)
+     *
+     * @param action - action to be performed on key and count
+     */
+    public void forEach(final IntLongProcedure action) {
+        Objects.requireNonNull(action);
+        for (int key = 0; key < this.denseCounts.length; key++) {
+            if (0 != this.denseCounts[key]) {
+                action.accept(key, this.denseCounts[key]);
+            }
+        }
+        if (Objects.nonNull(this.sparseKeys)) {
+            for (int i = 0; i < this.sparseKeys.length; i++) {
+                if (this.sparseUsed[i] && 0 != this.sparseCounts[i]) {
+                    action.accept(this.sparseKeys[i], this.sparseCounts[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns keys of non-zero counters in ascending order
+     *
+     * @return array of keys
+     */
+    public int[] keys() {
+        final int[] keys = new int[this.size()];
+        final int[] index = {0};
+        this.forEach((key, count) -> keys[index[0]++] = key);
+        if (this.sparseSize > 0) {
+            Arrays.sort(keys);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns sum of all counters
+     *
+     * @return total count
+     */
+    public long total() {
+        final long[] total = {0};
+        this.forEach((key, count) -> total[0] += count);
+        return total[0];
+    }
+
+    /**
+     * Returns boxed copy of the current counter
+     *
+     * @return map of counts by key
+     */
+    public Map<Integer, Long> toMap() {
+        final Map<Integer, Long> map = new HashMap<>();
+        this.forEach((key, count) -> map.put(key, count));
+        return map;
+    }
+
+    /**
+     * Returns number of non-zero counters
+     *
+     * @return number of keys
+     */
+    public int size() {
+        final int[] size = {0};
+        this.forEach((key, count) -> size[0]++);
+        return size[0];
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size();
+    }
+
+    public void clear() {
+        Arrays.fill(this.denseCounts, 0);
+        this.sparseKeys = null;
+        this.sparseCounts = null;
+        this.sparseUsed = null;
+        this.sparseSize = 0;
+    }
+
+    private void allocate(final int capacity) {
+        this.sparseKeys = new int[capacity];
+        this.sparseCounts = new long[capacity];
+        this.sparseUsed = new boolean[capacity];
+    }
+
+    private void rehash(final int capacity) {
+        final int[] oldKeys = this.sparseKeys;
+        final long[] oldCounts = this.sparseCounts;
+        final boolean[] oldUsed = this.sparseUsed;
+        this.allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                final int index = this.indexOf(oldKeys[i]);
+                this.sparseUsed[index] = true;
+                this.sparseKeys[index] = oldKeys[i];
+                this.sparseCounts[index] = oldCounts[i];
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof IntLongCounter)) {
+            return false;
+        }
+        final IntLongCounter other = (IntLongCounter) obj;
+        final boolean[] result = {this.size() == other.size()};
+        this.forEach((key, count) -> result[0] &= count == other.get(key));
+        return result[0];
+    }
+
+    @Override
+    public int hashCode() {
+        final int[] result = {0};
+        this.forEach((key, count) -> result[0] += key ^ Long.hashCode(count));
+        return result[0];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IntLongCounter(values=%s)", this.toMap());
+    }
+}
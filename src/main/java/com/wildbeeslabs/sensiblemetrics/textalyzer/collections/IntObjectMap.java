@@ -0,0 +1,290 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Int-keyed map class for small dense keys (token lengths): keys in range
+ * [0, DEFAULT_DENSE_LIMIT) are stored in a growable array indexed by key,
+ * other keys fall back to open addressing with linear probing, keys are never
+ * boxed
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ * @param <V>
+ *
+ */
+public class IntObjectMap<V> {
+
+    /**
+     * Default initial capacity of the dense array
+     */
+    public static final int DEFAULT_INITIAL_CAPACITY = 32;
+    /**
+     * Default upper bound (exclusive) of the dense key range
+     */
+    public static final int DEFAULT_DENSE_LIMIT = 1024;
+    /**
+     * Default maximum load factor of the sparse table
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    private Object[] denseValues;
+    private int[] sparseKeys;
+    private Object[] sparseValues;
+    private int sparseSize;
+    private int size;
+
+    public IntObjectMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public IntObjectMap(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid initial capacity=(%d)", initialCapacity));
+        }
+        this.denseValues = new Object[Math.min(Math.max(initialCapacity, 1), DEFAULT_DENSE_LIMIT)];
+    }
+
+    private static boolean isDense(final int key) {
+        return key >= 0 && key < DEFAULT_DENSE_LIMIT;
+    }
+
+    private static int hash(final int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(final int key) {
+        final int mask = this.sparseValues.length - 1;
+        int index = hash(key) & mask;
+        while (Objects.nonNull(this.sparseValues[index]) && this.sparseKeys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Returns value by key
+     *
+     * @param key - map key
+     * @return value (or null if absent)
+     */
+    public V get(final int key) {
+        if (isDense(key)) {
+            return key < this.denseValues.length ? (V) this.denseValues[key] : null;
+        }
+        return Objects.isNull(this.sparseValues) ? null : (V) this.sparseValues[this.indexOf(key)];
+    }
+
+    public boolean containsKey(final int key) {
+        return Objects.nonNull(this.get(key));
+    }
+
+    /**
+     * Puts value by key
+     *
+     * @param key - map key
+     * @param value - value to be stored (not null)
+     * @return previous value (or null)
+     */
+    public V put(final int key, final V value) {
+        Objects.requireNonNull(value);
+        final V previous;
+        if (isDense(key)) {
+            if (key >= this.denseValues.length) {
+                this.denseValues = Arrays.copyOf(this.denseValues, Math.min(Integer.highestOneBit(key) << 1, DEFAULT_DENSE_LIMIT));
+            }
+            previous = (V) this.denseValues[key];
+            this.denseValues[key] = value;
+        } else {
+            if (Objects.isNull(this.sparseValues)) {
+                this.sparseKeys = new int[DEFAULT_INITIAL_CAPACITY];
+                this.sparseValues = new Object[DEFAULT_INITIAL_CAPACITY];
+            }
+            int index = this.indexOf(key);
+            previous = (V) this.sparseValues[index];
+            if (Objects.isNull(previous)) {
+                if (this.sparseSize + 1 > this.sparseValues.length * DEFAULT_LOAD_FACTOR) {
+                    this.rehash(this.sparseValues.length << 1);
+                    index = this.indexOf(key);
+                }
+                this.sparseKeys[index] = key;
+                this.sparseSize++;
+            }
+            this.sparseValues[index] = value;
+        }
+        if (Objects.isNull(previous)) {
+            this.size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Returns value by key, creates and stores new value if absent
+     *
+     * @param key - map key
+     * @param factory - value factory
+     * @return current (or created) value
+     */
+    public V computeIfAbsent(final int key, final IntFunction<? extends V> factory) {
+        V value = this.get(key);
+        if (Objects.isNull(value)) {
+            value = factory.apply(key);
+            this.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Merges all entries of the map into the current map
+     *
+     * @param map - map to be merged
+     * @param combiner - combiner of values stored by the same key
+     */
+    public void merge(final IntObjectMap<V> map, final BinaryOperator<V> combiner) {
+        if (Objects.isNull(map) || this == map) {
+            return;
+        }
+        map.forEach((value, key) -> {
+            final V previous = this.get(key);
+            this.put(key, Objects.isNull(previous) ? value : combiner.apply(previous, value));
+        });
+    }
+
+    /**
+     * Performs action on each entry (dense keys in ascending order first,
+     * sparse keys in no particular order)
+     *
+     * @param action - action to be performed on value and key
+     */
+    public void forEach(final ObjIntConsumer<? super V> action) {
+        Objects.requireNonNull(action);
+        for (int key = 0; key < this.denseValues.length; key++) {
+            if (Objects.nonNull(this.denseValues[key])) {
+                action.accept((V) this.denseValues[key], key);
+            }
+        }
+        if (Objects.nonNull(this.sparseValues)) {
+            for (int i = 0; i < this.sparseValues.length; i++) {
+                if (Objects.nonNull(this.sparseValues[i])) {
+                    action.accept((V) this.sparseValues[i], this.sparseKeys[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns keys in ascending order
+     *
+     * @return array of keys
+     */
+    public int[] keys() {
+        final int[] keys = new int[this.size];
+        final int[] index = {0};
+        this.forEach((value, key) -> keys[index[0]++] = key);
+        if (this.sparseSize > 0) {
+            Arrays.sort(keys);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns boxed copy of the current map
+     *
+     * @return map of values by key
+     */
+    public Map<Integer, V> toMap() {
+        final Map<Integer, V> map = new HashMap<>(Math.max((int) (this.size / .75f) + 1, 16));
+        this.forEach((value, key) -> map.put(key, value));
+        return map;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    public void clear() {
+        Arrays.fill(this.denseValues, null);
+        this.sparseKeys = null;
+        this.sparseValues = null;
+        this.sparseSize = 0;
+        this.size = 0;
+    }
+
+    private void rehash(final int capacity) {
+        final int[] oldKeys = this.sparseKeys;
+        final Object[] oldValues = this.sparseValues;
+        this.sparseKeys = new int[capacity];
+        this.sparseValues = new Object[capacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (Objects.nonNull(oldValues[i])) {
+                final int index = this.indexOf(oldKeys[i]);
+                this.sparseKeys[index] = oldKeys[i];
+                this.sparseValues[index] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof IntObjectMap)) {
+            return false;
+        }
+        final IntObjectMap<?> other = (IntObjectMap<?>) obj;
+        if (this.size != other.size) {
+            return false;
+        }
+        final boolean[] result = {true};
+        this.forEach((value, key) -> result[0] &= value.equals(other.get(key)));
+        return result[0];
+    }
+
+    @Override
+    public int hashCode() {
+        final int[] result = {0};
+        this.forEach((value, key) -> result[0] += key ^ value.hashCode());
+        return result[0];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IntObjectMap(size=%d, values=%s)", this.size, this.toMap());
+    }
+}
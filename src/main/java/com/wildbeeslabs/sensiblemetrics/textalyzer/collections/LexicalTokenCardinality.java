@@ -0,0 +1,182 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.StringUtils;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Lexical token cardinality class to estimate number of distinct tokens per
+ * token length and per custom token group (e.g. vowel set) by HyperLogLog
+ * sketches (each token is hashed once, trackers of the same precision and
+ * grouping are mergeable, group keys are long, e.g. 64-bit vowel masks)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class LexicalTokenCardinality implements Consumer<CharSequence> {
+
+    private final int precision;
+    private final ToLongFunction<? super CharSequence> groupKey;
+    private final IntObjectMap<HyperLogLog> lengthSketchMap;
+    private final Map<Long, HyperLogLog> groupSketchMap;
+
+    public LexicalTokenCardinality() {
+        this(HyperLogLog.DEFAULT_PRECISION, null);
+    }
+
+    /**
+     * Creates cardinality tracker
+     *
+     * @param precision - HyperLogLog precision
+     * @param groupKey - token group key function (or null if only length
+     * groups are tracked)
+     */
+    public LexicalTokenCardinality(final int precision, final ToLongFunction<? super CharSequence> groupKey) {
+        if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid precision=(%d), expected range=[%d, %d]", precision, HyperLogLog.MIN_PRECISION, HyperLogLog.MAX_PRECISION));
+        }
+        this.precision = precision;
+        this.groupKey = groupKey;
+        this.lengthSketchMap = new IntObjectMap<>();
+        this.groupSketchMap = new HashMap<>();
+    }
+
+    @Override
+    public void accept(final CharSequence token) {
+        final long hash = StringUtils.hash64(token);
+        this.getSketch(this.lengthSketchMap, token.length()).add(hash);
+        if (Objects.nonNull(this.groupKey)) {
+            this.groupSketchMap.computeIfAbsent(this.groupKey.applyAsLong(token), (key) -> new HyperLogLog(this.precision)).add(hash);
+        }
+    }
+
+    private HyperLogLog getSketch(final IntObjectMap<HyperLogLog> sketchMap, final int key) {
+        HyperLogLog sketch = sketchMap.get(key);
+        if (Objects.isNull(sketch)) {
+            sketch = new HyperLogLog(this.precision);
+            sketchMap.put(key, sketch);
+        }
+        return sketch;
+    }
+
+    /**
+     * Merges cardinality tracker into the current tracker
+     *
+     * @param cardinality - tracker to be merged
+     */
+    public void merge(final LexicalTokenCardinality cardinality) {
+        if (Objects.isNull(cardinality) || this == cardinality) {
+            return;
+        }
+        final BinaryOperator<HyperLogLog> combiner = (first, last) -> {
+            first.merge(last);
+            return first;
+        };
+        this.lengthSketchMap.merge(cardinality.lengthSketchMap, combiner);
+        cardinality.groupSketchMap.forEach((key, sketch) -> this.groupSketchMap.merge(key, sketch, combiner));
+    }
+
+    /**
+     * Returns estimated number of distinct tokens by token length
+     *
+     * @param length - token length
+     * @return cardinality estimate (0 if absent)
+     */
+    public long estimateByLength(final int length) {
+        final HyperLogLog sketch = this.lengthSketchMap.get(length);
+        return Objects.isNull(sketch) ? 0 : sketch.estimate();
+    }
+
+    /**
+     * Returns estimated number of distinct tokens by group key
+     *
+     * @param key - group key
+     * @return cardinality estimate (0 if absent)
+     */
+    public long estimateByGroup(final long key) {
+        final HyperLogLog sketch = this.groupSketchMap.get(key);
+        return Objects.isNull(sketch) ? 0 : sketch.estimate();
+    }
+
+    /**
+     * Returns estimates of distinct tokens by token length
+     *
+     * @param comparator - comparator instance for sort ordering
+     * @return list of length / estimate entries
+     */
+    public List<Map.Entry<Integer, Long>> getLengthEstimateList(final Comparator<? super Integer> comparator) {
+        return getEstimateList(this.lengthSketchMap.toMap(), comparator);
+    }
+
+    /**
+     * Returns estimates of distinct tokens by group key
+     *
+     * @param comparator - comparator instance for sort ordering
+     * @return list of group key / estimate entries
+     */
+    public List<Map.Entry<Long, Long>> getGroupEstimateList(final Comparator<? super Long> comparator) {
+        return getEstimateList(this.groupSketchMap, comparator);
+    }
+
+    private static <K> List<Map.Entry<K, Long>> getEstimateList(final Map<K, HyperLogLog> sketchMap, final Comparator<? super K> comparator) {
+        final List<K> keys = new ArrayList<>(sketchMap.keySet());
+        keys.sort(comparator);
+        final List<Map.Entry<K, Long>> estimateList = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            estimateList.add(new AbstractMap.SimpleImmutableEntry<>(key, sketchMap.get(key).estimate()));
+        }
+        return estimateList;
+    }
+
+    public int getPrecision() {
+        return this.precision;
+    }
+
+    /**
+     * Returns total size of sketches (in bytes)
+     *
+     * @return size of sketches
+     */
+    public long getSize() {
+        return (long) (this.lengthSketchMap.size() + this.groupSketchMap.size()) << this.precision;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LexicalTokenCardinality(precision=%d, lengthGroups=%d, groups=%d)", this.precision, this.lengthSketchMap.size(), this.groupSketchMap.size());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Lexical token heavy hitters class to find the most frequent tokens per
+ * token length in bounded memory: token frequencies are estimated by a shared
+ * Count-Min sketch, the top-K tokens of each length group are tracked by a
+ * Space-Saving heap (mergeable across chunks and files if created with the
+ * same parameters)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class LexicalTokenHeavyHitters implements Consumer<CharSequence> {
+
+    /**
+     * Default number of the most frequent tokens per group
+     */
+    public static final int DEFAULT_TOP_K = 10;
+
+    private final int topK;
+    private final CountMinSketch sketch;
+    private final IntObjectMap<LexicalTokenTopK> topKMap;
+
+    public LexicalTokenHeavyHitters() {
+        this(DEFAULT_TOP_K, CountMinSketch.DEFAULT_EPSILON, CountMinSketch.DEFAULT_DELTA);
+    }
+
+    /**
+     * Creates heavy hitters tracker
+     *
+     * @param topK - number of the most frequent tokens per group
+     * @param epsilon - relative error of the frequency estimates
+     * @param delta - error probability of the frequency estimates
+     */
+    public LexicalTokenHeavyHitters(final int topK, final double epsilon, final double delta) {
+        if (topK < 1) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid top-K=(%d)", topK));
+        }
+        this.topK = topK;
+        this.sketch = new CountMinSketch(epsilon, delta);
+        this.topKMap = new IntObjectMap<>();
+    }
+
+    @Override
+    public void accept(final CharSequence token) {
+        final long estimate = this.sketch.add(token, 1);
+        this.getTopK(token.length()).offer(token, estimate);
+    }
+
+    private LexicalTokenTopK getTopK(final int key) {
+        LexicalTokenTopK topK = this.topKMap.get(key);
+        if (Objects.isNull(topK)) {
+            topK = new LexicalTokenTopK(key, this.topK);
+            this.topKMap.put(key, topK);
+        }
+        return topK;
+    }
+
+    /**
+     * Merges heavy hitters tracker into the current tracker (tracked tokens of
+     * both trackers are re-estimated by the merged sketch)
+     *
+     * @param heavyHitters - tracker to be merged
+     */
+    public void merge(final LexicalTokenHeavyHitters heavyHitters) {
+        if (Objects.isNull(heavyHitters) || this == heavyHitters) {
+            return;
+        }
+        if (this.topK != heavyHitters.topK) {
+            throw new IllegalArgumentException(String.format("ERROR: cannot merge top-K=(%d) into (%d)", heavyHitters.topK, this.topK));
+        }
+        this.sketch.merge(heavyHitters.sketch);
+        IntStream.concat(Arrays.stream(this.topKMap.keys()), Arrays.stream(heavyHitters.topKMap.keys())).distinct().forEach((key) -> {
+            final LexicalTokenTopK merged = new LexicalTokenTopK(key, this.topK);
+            for (final LexicalTokenTopK topK : new LexicalTokenTopK[]{this.topKMap.get(key), heavyHitters.topKMap.get(key)}) {
+                if (Objects.nonNull(topK)) {
+                    topK.getTokens().forEach((token) -> merged.offer(token, this.sketch.estimate(token)));
+                }
+            }
+            this.topKMap.put(key, merged);
+        });
+    }
+
+    /**
+     * Returns top-K trackers ordered by group key (token length)
+     *
+     * @param comparator - comparator instance for sort ordering
+     * @return list of top-K trackers
+     */
+    public List<LexicalTokenTopK> getTopKList(final Comparator<? super Integer> comparator) {
+        final Integer[] keys = Arrays.stream(this.topKMap.keys()).boxed().toArray(Integer[]::new);
+        Arrays.sort(keys, comparator);
+        final List<LexicalTokenTopK> topKList = new ArrayList<>(keys.length);
+        for (final Integer key : keys) {
+            topKList.add(this.topKMap.get(key));
+        }
+        return topKList;
+    }
+
+    /**
+     * Returns top-K tracker by group key (token length)
+     *
+     * @param key - group key
+     * @return top-K tracker (or null if absent)
+     */
+    public LexicalTokenTopK get(final int key) {
+        return this.topKMap.get(key);
+    }
+
+    public int getTopK() {
+        return this.topK;
+    }
+
+    public CountMinSketch getSketch() {
+        return this.sketch;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LexicalTokenHeavyHitters(topK=%d, sketch=%s, groups=%d)", this.topK, this.sketch, this.topKMap.size());
+    }
+}
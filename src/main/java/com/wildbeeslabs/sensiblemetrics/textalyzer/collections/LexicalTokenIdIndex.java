@@ -0,0 +1,212 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalToken;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import lombok.ToString;
+
+/**
+ * Lexical token index class to look up tokens by identifier (open addressing
+ * with linear probing on primitive identifier bits, keys are neither boxed nor
+ * converted to strings)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ * @param <T>
+ *
+ */
+@ToString(exclude = {"mostSignificantBits", "leastSignificantBits", "values"})
+public class LexicalTokenIdIndex<T extends ILexicalToken<?>> {
+
+    /**
+     * Default initial capacity
+     */
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+    /**
+     * Default maximum load factor
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    private long[] mostSignificantBits;
+    private long[] leastSignificantBits;
+    private Object[] values;
+    private int size;
+
+    public LexicalTokenIdIndex() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public LexicalTokenIdIndex(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid expected size=(%d)", expectedSize));
+        }
+        this.allocate(tableSizeFor(expectedSize));
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        final long capacity = Math.max(DEFAULT_INITIAL_CAPACITY, (long) Math.ceil(expectedSize / DEFAULT_LOAD_FACTOR));
+        if (capacity > (1 << 30)) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid expected size=(%d)", expectedSize));
+        }
+        return Integer.highestOneBit((int) capacity - 1) << 1;
+    }
+
+    private void allocate(final int capacity) {
+        this.mostSignificantBits = new long[capacity];
+        this.leastSignificantBits = new long[capacity];
+        this.values = new Object[capacity];
+    }
+
+    private static int hash(final long mostSignificantBits, final long leastSignificantBits) {
+        long h = mostSignificantBits * 0x9E3779B97F4A7C15L ^ leastSignificantBits;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private int indexOf(final long mostSignificantBits, final long leastSignificantBits) {
+        final int mask = this.values.length - 1;
+        int index = hash(mostSignificantBits, leastSignificantBits) & mask;
+        while (Objects.nonNull(this.values[index])) {
+            if (this.mostSignificantBits[index] == mostSignificantBits && this.leastSignificantBits[index] == leastSignificantBits) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Puts token into the index by its identifier
+     *
+     * @param token - token to be indexed
+     * @return previous token with the same identifier (or null)
+     */
+    public T put(final T token) {
+        Objects.requireNonNull(token);
+        if (!token.hasId()) {
+            throw new IllegalArgumentException(String.format("ERROR: cannot index token without identifier, token=(%s)", token));
+        }
+        final long msb = token.getIdMostSignificantBits();
+        final long lsb = token.getIdLeastSignificantBits();
+        int index = this.indexOf(msb, lsb);
+        final T previous = (T) this.values[index];
+        if (Objects.isNull(previous)) {
+            if (this.size + 1 > this.values.length * DEFAULT_LOAD_FACTOR) {
+                this.rehash(this.values.length << 1);
+                index = this.indexOf(msb, lsb);
+            }
+            this.mostSignificantBits[index] = msb;
+            this.leastSignificantBits[index] = lsb;
+            this.size++;
+        }
+        this.values[index] = token;
+        return previous;
+    }
+
+    /**
+     * Returns token by identifier bits
+     *
+     * @param mostSignificantBits - most significant bits of the identifier
+     * @param leastSignificantBits - least significant bits of the identifier
+     * @return token (or null if absent)
+     */
+    public T get(final long mostSignificantBits, final long leastSignificantBits) {
+        return (T) this.values[this.indexOf(mostSignificantBits, leastSignificantBits)];
+    }
+
+    /**
+     * Returns token by identifier
+     *
+     * @param id - token identifier
+     * @return token (or null if absent)
+     */
+    public T get(final UUID id) {
+        if (Objects.isNull(id)) {
+            return null;
+        }
+        return this.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    /**
+     * Returns flag whether token with the identifier bits is indexed
+     *
+     * @param mostSignificantBits - most significant bits of the identifier
+     * @param leastSignificantBits - least significant bits of the identifier
+     * @return true if token is indexed, false otherwise
+     */
+    public boolean contains(final long mostSignificantBits, final long leastSignificantBits) {
+        return Objects.nonNull(this.get(mostSignificantBits, leastSignificantBits));
+    }
+
+    /**
+     * Performs action on each indexed token (in no particular order)
+     *
+     * @param action - action to be performed
+     */
+    public void forEach(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        for (final Object value : this.values) {
+            if (Objects.nonNull(value)) {
+                action.accept((T) value);
+            }
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    public void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldMostSignificantBits = this.mostSignificantBits;
+        final long[] oldLeastSignificantBits = this.leastSignificantBits;
+        final Object[] oldValues = this.values;
+        this.allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (Objects.nonNull(oldValues[i])) {
+                final int index = this.indexOf(oldMostSignificantBits[i], oldLeastSignificantBits[i]);
+                this.mostSignificantBits[index] = oldMostSignificantBits[i];
+                this.leastSignificantBits[index] = oldLeastSignificantBits[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+}
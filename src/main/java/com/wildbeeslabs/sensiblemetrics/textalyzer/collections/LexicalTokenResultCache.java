@@ -0,0 +1,303 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.FileUtils;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.ToString;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Lexical token result cache class to reuse formatted output of unchanged
+ * inputs (keyed by 128-bit content hash of the input and analyzer signature,
+ * in-memory LRU tier bounded by total output size with optional on-disk tier)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+@ToString(exclude = {"entries"})
+public class LexicalTokenResultCache {
+
+    /**
+     * Default logger instance
+     */
+    private static final Logger LOGGER = LogManager.getLogger(LexicalTokenResultCache.class);
+    /**
+     * Default maximum total size of the in-memory entries (in bytes)
+     */
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+    /**
+     * Default on-disk entry file suffix
+     */
+    public static final String DEFAULT_ENTRY_SUFFIX = ".out";
+
+    private static final long PRIME_1 = 0x9E3779B97F4A7C15L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_3 = 0x165667B19E3779F9L;
+
+    private final long maxSize;
+    private final Path directory;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private long size;
+
+    public LexicalTokenResultCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public LexicalTokenResultCache(final long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid max size=(%d)", maxSize));
+        }
+        this.maxSize = maxSize;
+        this.directory = null;
+    }
+
+    /**
+     * Creates cache with on-disk tier (directory is created if missing)
+     *
+     * @param maxSize - maximum total size of the in-memory entries (0 - only
+     * on-disk tier is used)
+     * @param directory - on-disk tier directory
+     * @throws IOException On directory creation.
+     */
+    public LexicalTokenResultCache(final long maxSize, final File directory) throws IOException {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid max size=(%d)", maxSize));
+        }
+        this.maxSize = maxSize;
+        this.directory = Files.createDirectories(directory.toPath());
+    }
+
+    /**
+     * Returns cached output by key (on-disk hits are promoted to the
+     * in-memory tier)
+     *
+     * @param key - cache key
+     * @return cached output (null - if missing)
+     */
+    public byte[] get(final String key) {
+        Objects.requireNonNull(key);
+        synchronized (this.entries) {
+            final byte[] value = this.entries.get(key);
+            if (Objects.nonNull(value)) {
+                this.hitCount.increment();
+                return value;
+            }
+        }
+        if (Objects.nonNull(this.directory)) {
+            try {
+                final byte[] value = Files.readAllBytes(this.getEntryPath(key));
+                this.hitCount.increment();
+                this.putMemory(key, value);
+                return value;
+            } catch (NoSuchFileException ex) {
+                // MISSING ENTRY
+            } catch (IOException ex) {
+                LOGGER.error(String.format("ERROR: cannot read cache entry=%s, message=%s", key, ex.getMessage()));
+            }
+        }
+        this.missCount.increment();
+        return null;
+    }
+
+    /**
+     * Stores output by key in both tiers (on-disk entries are replaced
+     * atomically)
+     *
+     * @param key - cache key
+     * @param value - output
+     */
+    public void put(final String key, final byte[] value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        this.putMemory(key, value);
+        if (Objects.nonNull(this.directory)) {
+            final Path target = this.getEntryPath(key);
+            try {
+                final Path temp = Files.createTempFile(this.directory, key, ".tmp");
+                try {
+                    Files.write(temp, value);
+                    try {
+                        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (AtomicMoveNotSupportedException ex) {
+                        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException ex) {
+                LOGGER.error(String.format("ERROR: cannot write cache entry=%s, message=%s", key, ex.getMessage()));
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    /**
+     * Returns total size of the in-memory entries
+     *
+     * @return total size (in bytes)
+     */
+    public long getSize() {
+        synchronized (this.entries) {
+            return this.size;
+        }
+    }
+
+    public long getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Returns cache key of the input file content (single pass over the
+     * memory-mapped file)
+     *
+     * @param inputFile - input file
+     * @param signature - analyzer configuration signature
+     * @return cache key
+     * @throws IOException On read operation.
+     */
+    public static String getKey(final File inputFile, final String signature) throws IOException {
+        Objects.requireNonNull(inputFile);
+        final long[] state = newState(signature);
+        try (final FileChannel channel = FileChannel.open(inputFile.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (long offset = 0; offset < size; offset += FileUtils.DEFAULT_MAPPED_WINDOW_SIZE) {
+                update(state, channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(FileUtils.DEFAULT_MAPPED_WINDOW_SIZE, size - offset)));
+            }
+        }
+        return toKey(state);
+    }
+
+    /**
+     * Returns cache key of the content
+     *
+     * @param content - input content
+     * @param offset - content offset
+     * @param length - content length
+     * @param signature - analyzer configuration signature
+     * @return cache key
+     */
+    public static String getKey(final byte[] content, final int offset, final int length, final String signature) {
+        final long[] state = newState(signature);
+        update(state, ByteBuffer.wrap(content, offset, length));
+        return toKey(state);
+    }
+
+    private void putMemory(final String key, final byte[] value) {
+        if (value.length > this.maxSize) {
+            return;
+        }
+        synchronized (this.entries) {
+            final byte[] previous = this.entries.put(key, value);
+            this.size += value.length - (Objects.nonNull(previous) ? previous.length : 0);
+            for (final Iterator<Map.Entry<String, byte[]>> iterator = this.entries.entrySet().iterator(); this.size > this.maxSize && iterator.hasNext();) {
+                this.size -= iterator.next().getValue().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    private Path getEntryPath(final String key) {
+        return this.directory.resolve(key + DEFAULT_ENTRY_SUFFIX);
+    }
+
+    private static long[] newState(final String signature) {
+        final long seed = StringUtils.hash64(Objects.requireNonNull(signature));
+        return new long[]{seed ^ PRIME_1, seed ^ PRIME_2, 0};
+    }
+
+    /**
+     * Folds buffer into the hash state (two independent 64-bit lanes over
+     * 8-byte words, buffers except the last one should be multiples of 8
+     * bytes)
+     */
+    private static void update(final long[] state, final ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        long h1 = state[0];
+        long h2 = state[1];
+        state[2] += buffer.remaining();
+        while (buffer.remaining() >= Long.BYTES) {
+            final long word = buffer.getLong();
+            h1 = Long.rotateLeft(h1 ^ (word * PRIME_2), 31) * PRIME_1;
+            h2 = Long.rotateLeft(h2 ^ (word * PRIME_3), 27) * PRIME_2 + h1;
+        }
+        if (buffer.hasRemaining()) {
+            long word = 0;
+            for (int shift = 0; buffer.hasRemaining(); shift += Byte.SIZE) {
+                word |= (buffer.get() & 0xFFL) << shift;
+            }
+            h1 = Long.rotateLeft(h1 ^ (word * PRIME_2), 31) * PRIME_1;
+            h2 = Long.rotateLeft(h2 ^ (word * PRIME_3), 27) * PRIME_2 + h1;
+        }
+        state[0] = h1;
+        state[1] = h2;
+    }
+
+    private static String toKey(final long[] state) {
+        final long h1 = mix(state[0] ^ state[2]);
+        final long h2 = mix(state[1] + h1);
+        return String.format("%016x%016x", h1, h2);
+    }
+
+    private static long mix(final long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
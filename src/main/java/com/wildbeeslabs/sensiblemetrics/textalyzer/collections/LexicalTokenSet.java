@@ -0,0 +1,365 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Unique lexical token set class backed by a byte arena: token characters are
+ * copied into shared arena pages (one byte per character for Latin-1 tokens,
+ * two bytes otherwise), the set itself is an open addressing table of entry
+ * indexes with precomputed hashes, tokens are returned as character sequence
+ * views over the arena
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class LexicalTokenSet {
+
+    /**
+     * Default arena page size (in bytes)
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1 << 16;
+    /**
+     * Default initial capacity
+     */
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+    /**
+     * Default maximum load factor
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.5f;
+    /**
+     * Length flag of two-byte (non Latin-1) entries
+     */
+    private static final int UTF16_FLAG = 1 << 31;
+
+    private byte[][] pages;
+    private int pageCount;
+    private int pagePosition;
+    private long arenaSize;
+
+    private long[] offsets;
+    private int[] lengths;
+    private int[] hashes;
+    private int size;
+
+    private int[] slots;
+
+    public LexicalTokenSet() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public LexicalTokenSet(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid expected size=(%d)", expectedSize));
+        }
+        final int capacity = Math.max(DEFAULT_INITIAL_CAPACITY, expectedSize);
+        this.pages = new byte[4][];
+        this.offsets = new long[capacity];
+        this.lengths = new int[capacity];
+        this.hashes = new int[capacity];
+        this.slots = new int[Integer.highestOneBit((int) Math.min(1 << 30, (long) Math.ceil(capacity / DEFAULT_LOAD_FACTOR)) - 1) << 1];
+    }
+
+    private static int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Adds token into the current set (token characters are copied)
+     *
+     * @param value - token value
+     * @return index of the token in the current set
+     */
+    public int add(final CharSequence value) {
+        Objects.requireNonNull(value);
+        final int length = value.length();
+        int hash = 0;
+        boolean latin1 = true;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            hash = 31 * hash + c;
+            latin1 &= c <= 0xFF;
+        }
+        final int mask = this.slots.length - 1;
+        int slot = mix(hash) & mask;
+        while (0 != this.slots[slot]) {
+            final int index = this.slots[slot] - 1;
+            if (this.hashes[index] == hash && this.contentEquals(index, value)) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        final int index = this.append(value, length, latin1, hash);
+        if (this.size > this.slots.length * DEFAULT_LOAD_FACTOR) {
+            this.rehash(this.slots.length << 1);
+        } else {
+            this.slots[slot] = index + 1;
+        }
+        return index;
+    }
+
+    /**
+     * Adds all tokens of the set into the current set
+     *
+     * @param set - set to be added
+     */
+    public void addAll(final LexicalTokenSet set) {
+        if (Objects.isNull(set) || this == set) {
+            return;
+        }
+        set.forEach(this::add);
+    }
+
+    /**
+     * Returns index of the token in the current set
+     *
+     * @param value - token value
+     * @return index of the token (or -1 if absent)
+     */
+    public int indexOf(final CharSequence value) {
+        Objects.requireNonNull(value);
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        final int mask = this.slots.length - 1;
+        int slot = mix(hash) & mask;
+        while (0 != this.slots[slot]) {
+            final int index = this.slots[slot] - 1;
+            if (this.hashes[index] == hash && this.contentEquals(index, value)) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean contains(final CharSequence value) {
+        return this.indexOf(value) >= 0;
+    }
+
+    /**
+     * Returns token view by index
+     *
+     * @param index - token index
+     * @return token view over the arena
+     */
+    public CharSequence get(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(String.format("ERROR: index=(%d) is out of bounds, size=(%d)", index, this.size));
+        }
+        return new TokenView(this, index);
+    }
+
+    /**
+     * Performs action on each token view (in insertion order)
+     *
+     * @param action - action to be performed
+     */
+    public void forEach(final Consumer<? super CharSequence> action) {
+        Objects.requireNonNull(action);
+        for (int index = 0; index < this.size; index++) {
+            action.accept(new TokenView(this, index));
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    /**
+     * Returns number of arena bytes occupied by tokens
+     *
+     * @return arena size in bytes
+     */
+    public long getArenaSize() {
+        return this.arenaSize;
+    }
+
+    private int length(final int index) {
+        return this.lengths[index] & ~UTF16_FLAG;
+    }
+
+    private char charAt(final int index, final int position) {
+        final long offset = this.offsets[index];
+        final byte[] page = this.pages[(int) (offset >>> 32)];
+        final int start = (int) offset;
+        if (0 == (this.lengths[index] & UTF16_FLAG)) {
+            return (char) (page[start + position] & 0xFF);
+        }
+        final int i = start + (position << 1);
+        return (char) (((page[i] & 0xFF) << 8) | (page[i + 1] & 0xFF));
+    }
+
+    private boolean contentEquals(final int index, final CharSequence value) {
+        final int length = this.length(index);
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (this.charAt(index, i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int append(final CharSequence value, final int length, final boolean latin1, final int hash) {
+        final int byteLength = latin1 ? length : length << 1;
+        if (0 == this.pageCount || this.pagePosition + byteLength > this.pages[this.pageCount - 1].length) {
+            if (this.pageCount == this.pages.length) {
+                this.pages = Arrays.copyOf(this.pages, this.pageCount << 1);
+            }
+            this.pages[this.pageCount++] = new byte[Math.max(DEFAULT_PAGE_SIZE, byteLength)];
+            this.pagePosition = 0;
+        }
+        final byte[] page = this.pages[this.pageCount - 1];
+        int position = this.pagePosition;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (latin1) {
+                page[position++] = (byte) c;
+            } else {
+                page[position++] = (byte) (c >>> 8);
+                page[position++] = (byte) c;
+            }
+        }
+        if (this.size == this.offsets.length) {
+            final int capacity = this.size << 1;
+            this.offsets = Arrays.copyOf(this.offsets, capacity);
+            this.lengths = Arrays.copyOf(this.lengths, capacity);
+            this.hashes = Arrays.copyOf(this.hashes, capacity);
+        }
+        final int index = this.size++;
+        this.offsets[index] = ((long) (this.pageCount - 1) << 32) | this.pagePosition;
+        this.lengths[index] = latin1 ? length : length | UTF16_FLAG;
+        this.hashes[index] = hash;
+        this.pagePosition = position;
+        this.arenaSize += byteLength;
+        return index;
+    }
+
+    private void rehash(final int capacity) {
+        this.slots = new int[capacity];
+        final int mask = capacity - 1;
+        for (int index = 0; index < this.size; index++) {
+            int slot = mix(this.hashes[index]) & mask;
+            while (0 != this.slots[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            this.slots[slot] = index + 1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LexicalTokenSet(size=%d, arenaSize=%d)", this.size, this.arenaSize);
+    }
+
+    /**
+     * Token view class over the arena of the token set (views of equal tokens
+     * are equal, hash code is compatible with {@link String#hashCode()})
+     */
+    private static final class TokenView implements CharSequence, Comparable<CharSequence> {
+
+        private final LexicalTokenSet set;
+        private final int index;
+
+        TokenView(final LexicalTokenSet set, final int index) {
+            this.set = set;
+            this.index = index;
+        }
+
+        @Override
+        public int length() {
+            return this.set.length(this.index);
+        }
+
+        @Override
+        public char charAt(final int position) {
+            if (position < 0 || position >= this.length()) {
+                throw new IndexOutOfBoundsException(String.format("ERROR: index=(%d) is out of bounds, length=(%d)", position, this.length()));
+            }
+            return this.set.charAt(this.index, position);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return this.toString().subSequence(start, end);
+        }
+
+        @Override
+        public int compareTo(final CharSequence other) {
+            final int length = this.length();
+            final int limit = Math.min(length, other.length());
+            for (int i = 0; i < limit; i++) {
+                final int diff = this.set.charAt(this.index, i) - other.charAt(i);
+                if (0 != diff) {
+                    return diff;
+                }
+            }
+            return length - other.length();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TokenView)) {
+                return false;
+            }
+            final TokenView other = (TokenView) obj;
+            if (this.set == other.set) {
+                return this.index == other.index;
+            }
+            return this.hashCode() == other.hashCode() && this.set.contentEquals(this.index, other);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.set.hashes[this.index];
+        }
+
+        @Override
+        public String toString() {
+            final int length = this.length();
+            final char[] value = new char[length];
+            for (int i = 0; i < length; i++) {
+                value[i] = this.set.charAt(this.index, i);
+            }
+            return new String(value);
+        }
+    }
+}
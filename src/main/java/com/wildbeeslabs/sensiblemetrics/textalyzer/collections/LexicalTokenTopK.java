@@ -0,0 +1,294 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Space-Saving top-K class to track the most frequent tokens of a group in
+ * bounded memory: a min-heap of at most K tokens ordered by (estimated)
+ * frequency, new tokens replace the least frequent one only if their
+ * frequency is greater (tokens are looked up by character content without
+ * string allocation)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class LexicalTokenTopK {
+
+    /**
+     * Default top-K entry order (by count descending, then by token)
+     */
+    public static final Comparator<Map.Entry<String, Long>> DEFAULT_ENTRY_COMPARATOR = Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final int key;
+    private final int capacity;
+    private final String[] tokens;
+    private final long[] counts;
+    private final int[] hashes;
+    private final int[] heap;
+    private final int[] positions;
+    private final int[] slots;
+    private int size;
+
+    /**
+     * Creates top-K tracker
+     *
+     * @param key - group key (token length)
+     * @param capacity - maximum number of tracked tokens (K)
+     */
+    public LexicalTokenTopK(final int key, final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid capacity=(%d)", capacity));
+        }
+        this.key = key;
+        this.capacity = capacity;
+        this.tokens = new String[capacity];
+        this.counts = new long[capacity];
+        this.hashes = new int[capacity];
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.slots = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+    }
+
+    private static int hash(final CharSequence value) {
+        int h = 0;
+        for (int i = 0; i < value.length(); i++) {
+            h = 31 * h + value.charAt(i);
+        }
+        return h;
+    }
+
+    private static int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean contentEquals(final String token, final CharSequence value) {
+        if (token.length() != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Offers token with its (estimated) total count
+     *
+     * @param value - token value
+     * @param count - total count of the token
+     * @return true if token is tracked, false otherwise
+     */
+    public boolean offer(final CharSequence value, final long count) {
+        if (this.size == this.capacity && count <= this.counts[this.heap[0]]) {
+            return false;
+        }
+        final int hash = hash(value);
+        final int mask = this.slots.length - 1;
+        int slot = mix(hash) & mask;
+        while (0 != this.slots[slot]) {
+            final int entry = this.slots[slot] - 1;
+            if (this.hashes[entry] == hash && contentEquals(this.tokens[entry], value)) {
+                if (count > this.counts[entry]) {
+                    this.counts[entry] = count;
+                    this.siftDown(this.positions[entry]);
+                }
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        final int entry;
+        if (this.size < this.capacity) {
+            entry = this.size;
+            this.heap[this.size] = entry;
+            this.positions[entry] = this.size++;
+        } else {
+            entry = this.heap[0];
+            this.removeSlot(entry);
+            slot = mix(hash) & mask;
+            while (0 != this.slots[slot]) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        this.tokens[entry] = value.toString();
+        this.hashes[entry] = hash;
+        this.counts[entry] = count;
+        this.slots[slot] = entry + 1;
+        this.siftUp(this.positions[entry]);
+        this.siftDown(this.positions[entry]);
+        return true;
+    }
+
+    /**
+     * Offers all tracked tokens of the top-K tracker
+     *
+     * @param topK - top-K tracker
+     */
+    public void offerAll(final LexicalTokenTopK topK) {
+        Objects.requireNonNull(topK);
+        for (int i = 0; i < topK.size; i++) {
+            this.offer(topK.tokens[i], topK.counts[i]);
+        }
+    }
+
+    /**
+     * Returns minimum tracked count (0 if the tracker is not full)
+     *
+     * @return minimum tracked count
+     */
+    public long getMinCount() {
+        return (this.size < this.capacity) ? 0 : this.counts[this.heap[0]];
+    }
+
+    /**
+     * Returns tracked tokens with counts ordered by count descending
+     *
+     * @return list of token / count entries
+     */
+    public List<Map.Entry<String, Long>> getEntries() {
+        final List<Map.Entry<String, Long>> entries = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(this.tokens[i], this.counts[i]));
+        }
+        entries.sort(DEFAULT_ENTRY_COMPARATOR);
+        return entries;
+    }
+
+    /**
+     * Returns tracked tokens
+     *
+     * @return list of tokens (in no particular order)
+     */
+    public List<String> getTokens() {
+        final List<String> tokenList = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            tokenList.add(this.tokens[i]);
+        }
+        return tokenList;
+    }
+
+    /**
+     * Appends formatted output representation of the current tracker
+     *
+     * @param sBuffer - target buffer
+     * @return - target buffer
+     */
+    public StringBuilder formatTo(final StringBuilder sBuffer) {
+        sBuffer.append('(').append(this.key).append(") -> [");
+        final List<Map.Entry<String, Long>> entries = this.getEntries();
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                sBuffer.append(", ");
+            }
+            sBuffer.append(entries.get(i).getKey()).append('=').append(entries.get(i).getValue().longValue());
+        }
+        return sBuffer.append(']');
+    }
+
+    public int getKey() {
+        return this.key;
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private void removeSlot(final int entry) {
+        final int mask = this.slots.length - 1;
+        int slot = mix(this.hashes[entry]) & mask;
+        while (this.slots[slot] != entry + 1) {
+            slot = (slot + 1) & mask;
+        }
+        // backward shift deletion (linear probing)
+        int next = (slot + 1) & mask;
+        while (0 != this.slots[next]) {
+            final int home = mix(this.hashes[this.slots[next] - 1]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                this.slots[slot] = this.slots[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.slots[slot] = 0;
+    }
+
+    private boolean less(final int first, final int last) {
+        return this.counts[this.heap[first]] < this.counts[this.heap[last]];
+    }
+
+    private void swap(final int first, final int last) {
+        final int entry = this.heap[first];
+        this.heap[first] = this.heap[last];
+        this.heap[last] = entry;
+        this.positions[this.heap[first]] = first;
+        this.positions[this.heap[last]] = last;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            final int parent = (position - 1) >>> 1;
+            if (!this.less(position, parent)) {
+                break;
+            }
+            this.swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            final int left = 2 * position + 1;
+            if (left >= this.size) {
+                break;
+            }
+            final int right = left + 1;
+            final int child = (right < this.size && this.less(right, left)) ? right : left;
+            if (!this.less(child, position)) {
+                break;
+            }
+            this.swap(position, child);
+            position = child;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.formatTo(new StringBuilder()).toString();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalAlphabet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.OffHeapVowelLexicalToken;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Off-heap lexical token list class: only primitive token handles are kept on
+ * heap, token flyweights are created on access
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class OffHeapLexicalTokenList extends AbstractList<OffHeapVowelLexicalToken> implements RandomAccess {
+
+    /**
+     * Default initial capacity
+     */
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private final OffHeapLexicalTokenStore store;
+    private final LexicalAlphabet alphabet;
+    private long[] handles;
+    private int size;
+
+    public OffHeapLexicalTokenList(final OffHeapLexicalTokenStore store) {
+        this(store, LexicalAlphabet.DEFAULT_ALPHABET);
+    }
+
+    public OffHeapLexicalTokenList(final OffHeapLexicalTokenStore store, final LexicalAlphabet alphabet) {
+        Objects.requireNonNull(store);
+        Objects.requireNonNull(alphabet);
+        this.store = store;
+        this.alphabet = alphabet;
+        this.handles = new long[DEFAULT_INITIAL_CAPACITY];
+    }
+
+    /**
+     * Appends token characters to the store and its handle to the current
+     * list
+     *
+     * @param value - token value
+     */
+    public void append(final CharSequence value) {
+        if (value instanceof OffHeapVowelLexicalToken && ((OffHeapVowelLexicalToken) value).getStore() == this.store) {
+            this.appendHandle(((OffHeapVowelLexicalToken) value).getHandle());
+        } else {
+            this.appendHandle(this.store.put(value));
+        }
+    }
+
+    private void appendHandle(final long handle) {
+        if (this.size == this.handles.length) {
+            this.handles = Arrays.copyOf(this.handles, this.size << 1);
+        }
+        this.handles[this.size++] = handle;
+    }
+
+    @Override
+    public boolean add(final OffHeapVowelLexicalToken token) {
+        this.append(token);
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public OffHeapVowelLexicalToken get(final int index) {
+        return this.store.get(this.getHandle(index), this.alphabet);
+    }
+
+    /**
+     * Returns token handle by index
+     *
+     * @param index - token index
+     * @return token handle
+     */
+    public long getHandle(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(String.format("ERROR: index=(%d) is out of bounds, size=(%d)", index, this.size));
+        }
+        return this.handles[index];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    public OffHeapLexicalTokenStore getStore() {
+        return this.store;
+    }
+
+    public LexicalAlphabet getAlphabet() {
+        return this.alphabet;
+    }
+}
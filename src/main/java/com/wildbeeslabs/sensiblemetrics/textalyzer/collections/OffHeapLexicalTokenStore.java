@@ -0,0 +1,262 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.collections;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalAlphabet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.OffHeapVowelLexicalToken;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Off-heap lexical token store class: token characters are appended to direct
+ * (or memory-mapped) byte buffer segments outside of the GC-managed heap, each
+ * token is addressed by a primitive handle (segment index and offset) and read
+ * through {@link OffHeapVowelLexicalToken} flyweights
+ *
+ * Entry layout: int header (token length, high bit set for two-byte
+ * characters) followed by token characters (one byte per character for
+ * Latin-1 tokens, two bytes otherwise). The store is not thread-safe for
+ * writes.
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class OffHeapLexicalTokenStore implements Closeable {
+
+    /**
+     * Default segment size (in bytes)
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 4 << 20;
+    /**
+     * Entry header size (in bytes)
+     */
+    private static final int HEADER_SIZE = Integer.BYTES;
+    /**
+     * Header flag of two-byte (non Latin-1) entries
+     */
+    private static final int UTF16_FLAG = 1 << 31;
+
+    private final int segmentSize;
+    private final FileChannel channel;
+    private ByteBuffer[] segments;
+    private int segmentCount;
+    private int position;
+    private long tokenCount;
+    private long byteSize;
+
+    public OffHeapLexicalTokenStore() {
+        this(DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates store on direct byte buffer segments
+     *
+     * @param segmentSize - segment size (in bytes)
+     */
+    public OffHeapLexicalTokenStore(final int segmentSize) {
+        this((FileChannel) null, segmentSize);
+    }
+
+    /**
+     * Creates store on memory-mapped segments of the backing file (the file is
+     * truncated)
+     *
+     * @param file - backing file
+     * @param segmentSize - segment size (in bytes)
+     * @throws IOException On file open operation.
+     */
+    public OffHeapLexicalTokenStore(final File file, final int segmentSize) throws IOException {
+        this(FileChannel.open(Objects.requireNonNull(file).toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), segmentSize);
+    }
+
+    private OffHeapLexicalTokenStore(final FileChannel channel, final int segmentSize) {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid segment size=(%d)", segmentSize));
+        }
+        this.segmentSize = segmentSize;
+        this.channel = channel;
+        this.segments = new ByteBuffer[4];
+    }
+
+    /**
+     * Appends token characters to the current store
+     *
+     * @param value - token value
+     * @return token handle
+     */
+    public long put(final CharSequence value) {
+        Objects.requireNonNull(value);
+        final int length = value.length();
+        boolean latin1 = true;
+        for (int i = 0; i < length && latin1; i++) {
+            latin1 = value.charAt(i) <= 0xFF;
+        }
+        final long byteLength = HEADER_SIZE + (latin1 ? (long) length : (long) length << 1);
+        if (byteLength > this.segmentSize) {
+            throw new IllegalArgumentException(String.format("ERROR: token length=(%d) exceeds segment size=(%d)", length, this.segmentSize));
+        }
+        if (0 == this.segmentCount || this.position + byteLength > this.segmentSize) {
+            this.allocate();
+        }
+        final ByteBuffer segment = this.segments[this.segmentCount - 1];
+        final int offset = this.position;
+        segment.putInt(offset, latin1 ? length : length | UTF16_FLAG);
+        int index = offset + HEADER_SIZE;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (latin1) {
+                segment.put(index++, (byte) c);
+            } else {
+                segment.putChar(index, c);
+                index += Character.BYTES;
+            }
+        }
+        this.position = index;
+        this.tokenCount++;
+        this.byteSize += byteLength;
+        return ((long) (this.segmentCount - 1) << 32) | offset;
+    }
+
+    /**
+     * Returns token flyweight by handle
+     *
+     * @param handle - token handle
+     * @return token flyweight
+     */
+    public OffHeapVowelLexicalToken get(final long handle) {
+        return new OffHeapVowelLexicalToken(this, handle);
+    }
+
+    /**
+     * Returns token flyweight by handle counting vowels of the alphabet
+     *
+     * @param handle - token handle
+     * @param alphabet - vowels alphabet
+     * @return token flyweight
+     */
+    public OffHeapVowelLexicalToken get(final long handle, final LexicalAlphabet alphabet) {
+        return new OffHeapVowelLexicalToken(this, handle, alphabet);
+    }
+
+    /**
+     * Returns token length by handle
+     *
+     * @param handle - token handle
+     * @return token length
+     */
+    public int length(final long handle) {
+        return this.segment(handle).getInt((int) handle) & ~UTF16_FLAG;
+    }
+
+    /**
+     * Returns token character by handle and character index (index is not
+     * checked against token length)
+     *
+     * @param handle - token handle
+     * @param index - character index
+     * @return token character
+     */
+    public char charAt(final long handle, final int index) {
+        final ByteBuffer segment = this.segment(handle);
+        final int offset = (int) handle;
+        if (0 == (segment.getInt(offset) & UTF16_FLAG)) {
+            return (char) (segment.get(offset + HEADER_SIZE + index) & 0xFF);
+        }
+        return segment.getChar(offset + HEADER_SIZE + (index << 1));
+    }
+
+    /**
+     * Returns number of tokens appended to the current store
+     *
+     * @return number of tokens
+     */
+    public long getTokenCount() {
+        return this.tokenCount;
+    }
+
+    /**
+     * Returns number of off-heap bytes occupied by tokens
+     *
+     * @return size in bytes
+     */
+    public long getByteSize() {
+        return this.byteSize;
+    }
+
+    private ByteBuffer segment(final long handle) {
+        if (Objects.isNull(this.segments)) {
+            throw new IllegalStateException("ERROR: token store is closed");
+        }
+        return this.segments[(int) (handle >>> 32)];
+    }
+
+    private void allocate() {
+        if (Objects.isNull(this.segments)) {
+            throw new IllegalStateException("ERROR: token store is closed");
+        }
+        if (this.segmentCount == this.segments.length) {
+            this.segments = Arrays.copyOf(this.segments, this.segmentCount << 1);
+        }
+        if (Objects.isNull(this.channel)) {
+            this.segments[this.segmentCount] = ByteBuffer.allocateDirect(this.segmentSize);
+        } else {
+            try {
+                this.segments[this.segmentCount] = this.channel.map(FileChannel.MapMode.READ_WRITE, (long) this.segmentCount * this.segmentSize, this.segmentSize);
+            } catch (IOException ex) {
+                throw new IllegalStateException(String.format("ERROR: cannot map token store segment=(%d), message=%s", this.segmentCount, ex.getMessage()), ex);
+            }
+        }
+        this.segmentCount++;
+        this.position = 0;
+    }
+
+    /**
+     * Releases segments of the current store (flyweights must not be used
+     * afterwards)
+     *
+     * @throws IOException On backing file close operation.
+     */
+    @Override
+    public void close() throws IOException {
+        this.segments = null;
+        this.segmentCount = 0;
+        if (Objects.nonNull(this.channel)) {
+            this.channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffHeapLexicalTokenStore(segments=%d, tokenCount=%d, byteSize=%d)", this.segmentCount, this.tokenCount, this.byteSize);
+    }
+}
@@ -48,8 +48,8 @@ import lombok.ToString;
  *
  */
 @Data
-@EqualsAndHashCode(exclude = "id")
-@ToString
+@EqualsAndHashCode(exclude = {"idMostSignificantBits", "idLeastSignificantBits"})
+@ToString(exclude = {"idMostSignificantBits", "idLeastSignificantBits"})
 public abstract class BaseLexicalToken<T extends CharSequence> implements ILexicalToken<T> {
 
     /**
@@ -58,7 +58,9 @@ public abstract class BaseLexicalToken<T extends CharSequence> implements ILexic
     public static final BaseLexicalToken.LexicalComparator<String> DEFAULT_TOKEN_SORT_COMPARATOR = new BaseLexicalToken.LexicalComparator<>();
 
     @Setter(AccessLevel.NONE)
-    private final UUID id;
+    private final long idMostSignificantBits;
+    @Setter(AccessLevel.NONE)
+    private final long idLeastSignificantBits;
 
     protected Comparator<? super String> comparator;
     protected T value;
@@ -72,9 +74,28 @@ public abstract class BaseLexicalToken<T extends CharSequence> implements ILexic
     }
 
     public BaseLexicalToken(final T value, final Comparator<? super String> comparator) {
+        this(value, comparator, LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY);
+    }
+
+    public BaseLexicalToken(final T value, final Comparator<? super String> comparator, final LexicalTokenIdStrategy idStrategy) {
+        Objects.requireNonNull(idStrategy);
         this.value = value;
         this.comparator = comparator;
-        this.id = UUID.randomUUID();
+        this.idMostSignificantBits = idStrategy.nextMostSignificantBits();
+        this.idLeastSignificantBits = idStrategy.nextLeastSignificantBits();
+    }
+
+    @Override
+    public boolean hasId() {
+        return 0 != (this.idMostSignificantBits | this.idLeastSignificantBits);
+    }
+
+    @Override
+    public UUID getId() {
+        if (!this.hasId()) {
+            return null;
+        }
+        return new UUID(this.idMostSignificantBits, this.idLeastSignificantBits);
     }
 
     @Override
@@ -0,0 +1,119 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.entities;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Base abstract lexical token aggregate class to store running statistics on
+ * lexical tokens without retaining them
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ * @param <E>
+ *
+ */
+@Data
+@EqualsAndHashCode
+@ToString
+public abstract class BaseLexicalTokenAggregate<E extends CharSequence> implements ILexicalTokenAggregate<E> {
+
+    @Setter(AccessLevel.NONE)
+    protected long tokenCount;
+    @Setter(AccessLevel.NONE)
+    protected long lengthSum;
+
+    public BaseLexicalTokenAggregate() {
+        this.tokenCount = 0;
+        this.lengthSum = 0;
+    }
+
+    @Override
+    public void accept(final CharSequence value) {
+        if (Objects.nonNull(value)) {
+            this.tokenCount++;
+            this.lengthSum += value.length();
+        }
+    }
+
+    @Override
+    public void merge(final ILexicalTokenAggregate<E> aggregate) {
+        if (Objects.nonNull(aggregate)) {
+            final BaseLexicalTokenAggregate<E> other = this.cast(aggregate);
+            this.tokenCount += other.tokenCount;
+            this.lengthSum += other.lengthSum;
+        }
+    }
+
+    @Override
+    public double getAvgTokenLength() {
+        if (0 == this.tokenCount) {
+            return 0;
+        }
+        return (double) this.lengthSum / this.tokenCount;
+    }
+
+    @Override
+    public String toFormatString() {
+        return this.formatTo(new StringBuilder()).toString();
+    }
+
+    @Override
+    public StringBuilder formatTo(final StringBuilder sBuffer) {
+        sBuffer.append("(").append((int) this.getAvgTokenLength()).append(")");
+        sBuffer.append(" -> ").append(this.getTokenCount());
+        return sBuffer;
+    }
+
+    @Override
+    public void writeTo(final DataOutput output) throws IOException {
+        output.writeLong(this.tokenCount);
+        output.writeLong(this.lengthSum);
+    }
+
+    @Override
+    public void mergeFrom(final DataInput input) throws IOException {
+        this.tokenCount += input.readLong();
+        this.lengthSum += input.readLong();
+    }
+
+    protected <A extends BaseLexicalTokenAggregate<E>> A cast(final ILexicalTokenAggregate<E> aggregate) {
+        if (!this.getClass().isInstance(aggregate)) {
+            throw new IllegalArgumentException(String.format("ERROR: cannot merge aggregate of type=(%s) into type=(%s)", aggregate.getClass().getName(), this.getClass().getName()));
+        }
+        return (A) aggregate;
+    }
+}
@@ -27,22 +27,27 @@ import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalT
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenTerm;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.ConverterUtils;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
 /**
  * Base abstract lexical token term class to store information on lexical tokens
+ * (running statistics are updated on token changes, so queries and formatting
+ * do not depend on the number of tokens)
  *
  * @author alexander.rogalskiy
  * @version 1.0
@@ -56,18 +61,33 @@ import lombok.ToString;
 @ToString
 public abstract class BaseLexicalTokenTerm<E extends CharSequence, T extends ILexicalToken<E>> implements ILexicalTokenTerm<E, T> {
 
+    @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
     protected final List<T> tokenList;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient IntSummaryStatistics lengthStatistics = new IntSummaryStatistics();
 
     public BaseLexicalTokenTerm() {
         this.tokenList = new ArrayList<>();
     }
 
+    /**
+     * Returns read-only view of the tokens (tokens are changed through
+     * addToken / removeToken / setTokens only to keep running statistics)
+     *
+     * @return tokens
+     */
+    public List<T> getTokenList() {
+        return Collections.unmodifiableList(this.tokenList);
+    }
+
     @Override
     public void setTokens(final Collection<? extends T> tokenCollection) {
         this.tokenList.clear();
+        this.reset();
         if (Objects.nonNull(tokenCollection)) {
-            this.tokenList.addAll(tokenCollection);
+            tokenCollection.stream().filter(Objects::nonNull).forEach(this::addToken);
         }
     }
 
@@ -75,13 +95,14 @@ public abstract class BaseLexicalTokenTerm<E extends CharSequence, T extends ILe
     public void addToken(final T token) {
         if (Objects.nonNull(token)) {
             this.tokenList.add(token);
+            this.accept(token);
         }
     }
 
     @Override
     public void removeToken(final T token) {
-        if (Objects.nonNull(token)) {
-            this.tokenList.remove(token);
+        if (Objects.nonNull(token) && this.tokenList.remove(token)) {
+            this.recompute();
         }
     }
 
@@ -95,12 +116,12 @@ public abstract class BaseLexicalTokenTerm<E extends CharSequence, T extends ILe
 
     @Override
     public IntSummaryStatistics getStatistics() {
-        return this.getTokenList().stream().collect(Collectors.summarizingInt((token) -> token.length()));
+        return copyOf(this.lengthStatistics);
     }
 
     @Override
     public double getAvgTokenLength() {
-        return this.getTokenList().stream().mapToInt((token) -> token.length()).average().getAsDouble();
+        return this.lengthStatistics.getAverage();
     }
 
     @Override
@@ -110,6 +131,54 @@ public abstract class BaseLexicalTokenTerm<E extends CharSequence, T extends ILe
 //        return StringUtils.join(this.tokenList, ", ");
     }
 
+    @Override
+    public StringBuilder formatTo(final StringBuilder sBuffer) {
+        return sBuffer.append(this.toFormatString());
+    }
+
+    /**
+     * Folds token into the running statistics
+     *
+     * @param token - added token
+     */
+    protected void accept(final T token) {
+        this.lengthStatistics.accept(token.length());
+    }
+
+    /**
+     * Clears the running statistics
+     */
+    protected void reset() {
+        this.lengthStatistics = new IntSummaryStatistics();
+    }
+
+    /**
+     * Rebuilds the running statistics from the remaining tokens (min / max
+     * cannot be decremented, so token removal costs a pass over the tokens)
+     */
+    protected void recompute() {
+        this.reset();
+        this.tokenList.forEach(this::accept);
+    }
+
+    private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        this.lengthStatistics = new IntSummaryStatistics();
+        this.tokenList.forEach((token) -> this.lengthStatistics.accept(token.length()));
+    }
+
+    /**
+     * Returns detached copy of the running statistics
+     *
+     * @param statistics - running statistics
+     * @return statistics copy
+     */
+    protected static IntSummaryStatistics copyOf(final IntSummaryStatistics statistics) {
+        final IntSummaryStatistics copy = new IntSummaryStatistics();
+        copy.combine(statistics);
+        return copy;
+    }
+
     protected int count(final Function<T, Integer> mapper) {
         return ConverterUtils.reduceStreamBy(this.getTokenList().stream().map(mapper), 0, (i1, i2) -> (i1 + i2));
     }
@@ -0,0 +1,417 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.entities;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Lexical alphabet class to classify letters / vowels and fold letter case by
+ * dense lookup tables indexed by character (ASCII characters are always
+ * covered by the tables). Vowel bit indices are shared by all registered
+ * alphabets (each vowel character gets the next free bit index on
+ * registration, predefined alphabets are registered first), so vowel masks
+ * of different alphabets are comparable, while vowels are counted by the
+ * vowels of the alphabet only. Alphabets are serialized by definition and
+ * resolved to registered instances on deserialization.
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public final class LexicalAlphabet implements Serializable {
+
+    /**
+     * Default character class flags
+     */
+    private static final byte CLASS_LETTER = 0x1;
+    private static final byte CLASS_VOWEL = 0x2;
+    /**
+     * Default characters escaped in the character class of the filter pattern
+     */
+    private static final String DEFAULT_CLASS_META_CHARS = "\\[]^-&";
+    /**
+     * Default alphabet name separator of alphabet unions
+     */
+    public static final String DEFAULT_UNION_SEPARATOR = "+";
+    /**
+     * Default maximum number of vowels of all registered alphabets (bits of
+     * long vowel mask)
+     */
+    public static final int DEFAULT_MAX_VOWEL_COUNT = Long.SIZE;
+
+    private static final Map<String, LexicalAlphabet> INSTANCES = new LinkedHashMap<>();
+    private static volatile VowelTable vowelTable = VowelTable.EMPTY;
+
+    /**
+     * English alphabet (vowel bit indices: AEIOUYaeiouy)
+     */
+    public static final LexicalAlphabet ENGLISH = LexicalAlphabet.register("english", "a-zA-Z", "AEIOUYaeiouy");
+    /**
+     * Russian alphabet
+     */
+    public static final LexicalAlphabet RUSSIAN = LexicalAlphabet.register("russian", "а-яА-ЯёЁ", "АЕЁИОУЫЭЮЯаеёиоуыэюя");
+    /**
+     * Default alphabet
+     */
+    public static final LexicalAlphabet DEFAULT_ALPHABET = ENGLISH;
+
+    private final String name;
+    private final String letters;
+    private final String vowelChars;
+    private final transient String filterPattern;
+    private final transient byte[] classes;
+    private final transient char[] lowerCase;
+    private final transient byte[] vowelIndices;
+
+    private LexicalAlphabet(final String name, final String letters, final String vowelChars, final VowelTable vowelTable) {
+        this.name = name;
+        this.letters = letters;
+        this.vowelChars = vowelChars;
+        int size = 0x80;
+        for (int i = 0; i < letters.length(); i++) {
+            size = Math.max(size, letters.charAt(i) + 1);
+        }
+        this.classes = new byte[size];
+        this.lowerCase = new char[size];
+        this.vowelIndices = new byte[size];
+        final StringBuilder pattern = new StringBuilder("[^");
+        for (int i = 0; i < letters.length(); i++) {
+            final char from = letters.charAt(i);
+            final char to = (i + 2 < letters.length() && '-' == letters.charAt(i + 1)) ? letters.charAt(i += 2) : from;
+            if (from > to) {
+                throw new IllegalArgumentException(String.format("ERROR: invalid letter range=(%s-%s)", from, to));
+            }
+            for (char c = from; c <= to; c++) {
+                this.classes[c] = CLASS_LETTER;
+            }
+            appendClassChar(pattern, from);
+            if (from != to) {
+                appendClassChar(pattern.append('-'), to);
+            }
+        }
+        this.filterPattern = pattern.append("]").toString();
+        for (int i = 0; i < vowelChars.length(); i++) {
+            final char c = vowelChars.charAt(i);
+            if (c >= size || 0 == this.classes[c]) {
+                throw new IllegalArgumentException(String.format("ERROR: invalid vowel=(%s), not a letter of alphabet=(%s)", c, name));
+            }
+            this.classes[c] |= CLASS_VOWEL;
+        }
+        for (char c = 0; c < size; c++) {
+            final char lower = Character.toLowerCase(c);
+            this.lowerCase[c] = (0 != this.classes[c] && lower < size && 0 != this.classes[lower]) ? lower : c;
+            this.vowelIndices[c] = (byte) ((0 != (this.classes[c] & CLASS_VOWEL)) ? vowelTable.indexOf(c) : -1);
+        }
+    }
+
+    /**
+     * Registers alphabet and assigns bit indices to its new vowels (returns
+     * the registered alphabet - if it has the same definition)
+     *
+     * @param name - alphabet name
+     * @param letters - letter characters and ranges (e.g. a-zA-Z)
+     * @param vowelChars - vowel characters (subset of letters)
+     * @return registered alphabet
+     */
+    public static synchronized LexicalAlphabet register(final String name, final String letters, final String vowelChars) {
+        if (StringUtils.isBlank(name) || name.contains(DEFAULT_UNION_SEPARATOR)) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid alphabet name=(%s)", name));
+        }
+        if (StringUtils.isEmpty(letters)) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid letters=(%s) of alphabet=(%s)", letters, name));
+        }
+        Objects.requireNonNull(vowelChars);
+        final String key = name.toLowerCase();
+        final LexicalAlphabet registered = INSTANCES.get(key);
+        if (Objects.nonNull(registered)) {
+            if (registered.letters.equals(letters) && registered.vowelChars.equals(vowelChars)) {
+                return registered;
+            }
+            throw new IllegalArgumentException(String.format("ERROR: duplicate alphabet name=(%s)", name));
+        }
+        final VowelTable table = vowelTable.register(vowelChars);
+        final LexicalAlphabet alphabet = new LexicalAlphabet(key, letters, vowelChars, table);
+        vowelTable = table;
+        INSTANCES.put(key, alphabet);
+        return alphabet;
+    }
+
+    /**
+     * Returns registered alphabet by name (names joined by '+' stand for
+     * union of alphabets, e.g. english+russian)
+     *
+     * @param name - alphabet name
+     * @return alphabet
+     */
+    public static synchronized LexicalAlphabet getInstance(final String name) {
+        Objects.requireNonNull(name);
+        final String key = name.toLowerCase().trim();
+        LexicalAlphabet alphabet = INSTANCES.get(key);
+        if (Objects.isNull(alphabet) && key.contains(DEFAULT_UNION_SEPARATOR)) {
+            final StringBuilder letters = new StringBuilder();
+            final StringBuilder vowelChars = new StringBuilder();
+            for (final String part : StringUtils.split(key, DEFAULT_UNION_SEPARATOR)) {
+                final LexicalAlphabet other = getInstance(part);
+                letters.append(other.letters);
+                vowelChars.append(other.vowelChars);
+            }
+            alphabet = new LexicalAlphabet(key, letters.toString(), vowelChars.toString(), vowelTable);
+            INSTANCES.put(key, alphabet);
+        }
+        if (Objects.isNull(alphabet)) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid alphabet name=(%s), available=%s", name, getNames()));
+        }
+        return alphabet;
+    }
+
+    public static synchronized Set<String> getNames() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(INSTANCES.keySet()));
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns letter characters and ranges of the alphabet
+     *
+     * @return letters
+     */
+    public String getLetters() {
+        return this.letters;
+    }
+
+    public String getVowels() {
+        return this.vowelChars;
+    }
+
+    /**
+     * Returns size of the lookup tables (characters below the size are
+     * classified by table lookup)
+     *
+     * @return table size
+     */
+    public int size() {
+        return this.classes.length;
+    }
+
+    /**
+     * Returns token filter pattern removing all characters but letters of the
+     * alphabet (character class metacharacters of letters are escaped)
+     *
+     * @return token filter pattern
+     */
+    public String getFilterPattern() {
+        return this.filterPattern;
+    }
+
+    public boolean isLetter(final int codePoint) {
+        return codePoint < this.classes.length && (this.classes[codePoint] & CLASS_LETTER) != 0;
+    }
+
+    public boolean isVowel(final int codePoint) {
+        return codePoint < this.classes.length && (this.classes[codePoint] & CLASS_VOWEL) != 0;
+    }
+
+    /**
+     * Returns lower case letter of the alphabet (the same character - if not
+     * a letter or has no lower case letter in the alphabet)
+     *
+     * @param codePoint - input code point
+     * @return lower case code point
+     */
+    public int toLowerCase(final int codePoint) {
+        return (codePoint < this.lowerCase.length) ? this.lowerCase[codePoint] : codePoint;
+    }
+
+    /**
+     * Returns character sequence with letters of the alphabet converted to
+     * lower case letters of the alphabet (locale independent)
+     *
+     * @param value - input value
+     * @return lower case value
+     */
+    public String toLowerCase(final CharSequence value) {
+        final char[] chars = new char[value.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) this.toLowerCase(value.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns vowel bit index of the character (-1 - if not a vowel of the
+     * alphabet)
+     *
+     * @param codePoint - input code point
+     * @return vowel bit index
+     */
+    public int vowelIndex(final int codePoint) {
+        return (codePoint < this.vowelIndices.length) ? this.vowelIndices[codePoint] : -1;
+    }
+
+    /**
+     * Returns vowel mask of the character sequence by vowels of the alphabet
+     *
+     * @param value - input value
+     * @return vowel mask
+     */
+    public long toVowelMask(final CharSequence value) {
+        long mask = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final int index = this.vowelIndex(value.charAt(i));
+            if (index >= 0) {
+                mask |= (1L << index);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns number of vowels of the alphabet in the character sequence
+     *
+     * @param value - input value
+     * @return number of vowels
+     */
+    public int vowelCount(final CharSequence value) {
+        int count = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (this.vowelIndex(value.charAt(i)) >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns vowel character by vowel bit index
+     *
+     * @param index - vowel bit index
+     * @return vowel character
+     */
+    public static char vowelAt(final int index) {
+        return vowelTable.vowels[index];
+    }
+
+    private static StringBuilder appendClassChar(final StringBuilder pattern, final char value) {
+        if (DEFAULT_CLASS_META_CHARS.indexOf(value) >= 0) {
+            pattern.append('\\');
+        }
+        return pattern.append(value);
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        synchronized (LexicalAlphabet.class) {
+            final LexicalAlphabet alphabet = INSTANCES.get(this.name);
+            if (this.equals(alphabet)) {
+                return alphabet;
+            }
+            vowelTable = vowelTable.register(this.vowelChars);
+            return new LexicalAlphabet(this.name, this.letters, this.vowelChars, vowelTable);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LexicalAlphabet)) {
+            return false;
+        }
+        final LexicalAlphabet other = (LexicalAlphabet) obj;
+        return this.name.equals(other.name) && this.letters.equals(other.letters) && this.vowelChars.equals(other.vowelChars);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.name, this.letters, this.vowelChars);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LexicalAlphabet(name=%s, letters=%s, vowels=%s)", this.name, this.letters, this.vowelChars);
+    }
+
+    /**
+     * Vowel table class: vowel characters by bit index and bit indices by
+     * character of all registered alphabets (immutable, published as a whole)
+     */
+    private static final class VowelTable {
+
+        private static final VowelTable EMPTY = new VowelTable(new char[0]);
+
+        private final char[] vowels;
+        private final byte[] indices;
+
+        private VowelTable(final char[] vowels) {
+            int size = 0x80;
+            for (final char c : vowels) {
+                size = Math.max(size, c + 1);
+            }
+            this.vowels = vowels;
+            this.indices = new byte[size];
+            Arrays.fill(this.indices, (byte) -1);
+            for (int i = 0; i < vowels.length; i++) {
+                this.indices[vowels[i]] = (byte) i;
+            }
+        }
+
+        private int indexOf(final char value) {
+            return (value < this.indices.length) ? this.indices[value] : -1;
+        }
+
+        /**
+         * Returns vowel table with new vowels assigned to the next free bit
+         * indices (the same table - if there are no new vowels)
+         */
+        private VowelTable register(final String vowelChars) {
+            final StringBuilder sBuffer = new StringBuilder().append(this.vowels);
+            for (int i = 0; i < vowelChars.length(); i++) {
+                final char c = vowelChars.charAt(i);
+                if (this.indexOf(c) < 0 && sBuffer.indexOf(String.valueOf(c)) < 0) {
+                    sBuffer.append(c);
+                }
+            }
+            if (sBuffer.length() == this.vowels.length) {
+                return this;
+            }
+            if (sBuffer.length() > DEFAULT_MAX_VOWEL_COUNT) {
+                throw new IllegalArgumentException(String.format("ERROR: invalid number of vowels=(%d), maximum=(%d)", sBuffer.length(), DEFAULT_MAX_VOWEL_COUNT));
+            }
+            return new VowelTable(sBuffer.toString().toCharArray());
+        }
+    }
+}
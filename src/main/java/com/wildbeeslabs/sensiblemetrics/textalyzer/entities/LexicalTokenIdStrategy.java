@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.entities;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lexical token identifier strategy enumeration (identifiers are stored as a
+ * pair of most / least significant bits, zero pair stands for no identifier)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public enum LexicalTokenIdStrategy {
+
+    /**
+     * No identifiers are assigned to tokens
+     */
+    NONE {
+        @Override
+        public long nextMostSignificantBits() {
+            return 0L;
+        }
+
+        @Override
+        public long nextLeastSignificantBits() {
+            return 0L;
+        }
+    },
+    /**
+     * Sequential identifiers (each thread reserves a block of sequence values
+     * to avoid contention on the shared counter)
+     */
+    SEQUENTIAL {
+        @Override
+        public long nextMostSignificantBits() {
+            return 0L;
+        }
+
+        @Override
+        public long nextLeastSignificantBits() {
+            return SEQUENCE_BLOCK.get().next();
+        }
+    },
+    /**
+     * Random (version 4) UUID identifiers generated by thread-local random
+     * generator (identifiers are not cryptographically strong)
+     */
+    UUID {
+        @Override
+        public long nextMostSignificantBits() {
+            return (ThreadLocalRandom.current().nextLong() & ~0xF000L) | 0x4000L;
+        }
+
+        @Override
+        public long nextLeastSignificantBits() {
+            return (ThreadLocalRandom.current().nextLong() & ~(0xC0L << 56)) | (0x80L << 56);
+        }
+    };
+
+    /**
+     * Default lexical token identifier strategy
+     */
+    public static final LexicalTokenIdStrategy DEFAULT_ID_STRATEGY = SEQUENTIAL;
+    /**
+     * Default number of sequence values reserved by thread at once
+     */
+    public static final int DEFAULT_SEQUENCE_BLOCK_SIZE = 1024;
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final ThreadLocal<SequenceBlock> SEQUENCE_BLOCK = ThreadLocal.withInitial(SequenceBlock::new);
+
+    private static final class SequenceBlock {
+
+        private long next;
+        private long limit;
+
+        public long next() {
+            if (this.next == this.limit) {
+                this.next = SEQUENCE.getAndAdd(DEFAULT_SEQUENCE_BLOCK_SIZE) + 1;
+                this.limit = this.next + DEFAULT_SEQUENCE_BLOCK_SIZE;
+            }
+            return this.next++;
+        }
+    }
+
+    /**
+     * Returns most significant bits of the next identifier
+     *
+     * @return most significant bits
+     */
+    public abstract long nextMostSignificantBits();
+
+    /**
+     * Returns least significant bits of the next identifier
+     *
+     * @return least significant bits
+     */
+    public abstract long nextLeastSignificantBits();
+}
@@ -0,0 +1,196 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.entities;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.OffHeapLexicalTokenStore;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
+
+import java.io.ObjectStreamException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Off-heap vowel lexical token class: flyweight (store, handle) over token
+ * characters kept in {@link OffHeapLexicalTokenStore} (identifiers are not
+ * assigned, tokens are serialized as {@link VowelLexicalToken} copies)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class OffHeapVowelLexicalToken implements IVowelLexicalToken<CharSequence>, CharSequence, Comparable<CharSequence> {
+
+    private final transient OffHeapLexicalTokenStore store;
+    private final long handle;
+    private final LexicalAlphabet alphabet;
+
+    public OffHeapVowelLexicalToken(final OffHeapLexicalTokenStore store, final long handle) {
+        this(store, handle, LexicalAlphabet.DEFAULT_ALPHABET);
+    }
+
+    public OffHeapVowelLexicalToken(final OffHeapLexicalTokenStore store, final long handle, final LexicalAlphabet alphabet) {
+        Objects.requireNonNull(store);
+        Objects.requireNonNull(alphabet);
+        this.store = store;
+        this.handle = handle;
+        this.alphabet = alphabet;
+    }
+
+    public OffHeapLexicalTokenStore getStore() {
+        return this.store;
+    }
+
+    public long getHandle() {
+        return this.handle;
+    }
+
+    public LexicalAlphabet getAlphabet() {
+        return this.alphabet;
+    }
+
+    @Override
+    public int length() {
+        return this.store.length(this.handle);
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= this.length()) {
+            throw new IndexOutOfBoundsException(String.format("ERROR: index=(%d) is out of bounds, length=(%d)", index, this.length()));
+        }
+        return this.store.charAt(this.handle, index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return this.toString().subSequence(start, end);
+    }
+
+    @Override
+    public Set<Integer> characterSet() {
+        return this.chars().boxed().collect(Collectors.toSet());
+    }
+
+    @Override
+    public int vowelCount() {
+        int count = 0;
+        for (int i = 0, length = this.length(); i < length; i++) {
+            if (this.alphabet.vowelIndex(this.store.charAt(this.handle, i)) >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long vowelMask() {
+        long mask = 0;
+        for (int i = 0, length = this.length(); i < length; i++) {
+            final int index = this.alphabet.vowelIndex(this.store.charAt(this.handle, i));
+            if (index >= 0) {
+                mask |= (1L << index);
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public Set<Character> vowelCharacterSet() {
+        return VowelLexicalToken.toVowelCharacterSet(this.vowelMask());
+    }
+
+    @Override
+    public UUID getId() {
+        return null;
+    }
+
+    @Override
+    public long getIdMostSignificantBits() {
+        return 0;
+    }
+
+    @Override
+    public long getIdLeastSignificantBits() {
+        return 0;
+    }
+
+    @Override
+    public boolean hasId() {
+        return false;
+    }
+
+    @Override
+    public int compareTo(final CharSequence other) {
+        final int length = this.length();
+        final int limit = Math.min(length, other.length());
+        for (int i = 0; i < limit; i++) {
+            final int diff = this.store.charAt(this.handle, i) - other.charAt(i);
+            if (0 != diff) {
+                return diff;
+            }
+        }
+        return length - other.length();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof OffHeapVowelLexicalToken)) {
+            return false;
+        }
+        final OffHeapVowelLexicalToken other = (OffHeapVowelLexicalToken) obj;
+        if (this.store == other.store && this.handle == other.handle) {
+            return true;
+        }
+        return this.length() == other.length() && 0 == this.compareTo(other);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0, length = this.length(); i < length; i++) {
+            hash = 31 * hash + this.store.charAt(this.handle, i);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final int length = this.length();
+        final char[] value = new char[length];
+        for (int i = 0; i < length; i++) {
+            value[i] = this.store.charAt(this.handle, i);
+        }
+        return new String(value);
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        return new VowelLexicalToken<>(this.toString(), VowelLexicalToken.DEFAULT_TOKEN_SORT_COMPARATOR, LexicalTokenIdStrategy.NONE, this.alphabet);
+    }
+}
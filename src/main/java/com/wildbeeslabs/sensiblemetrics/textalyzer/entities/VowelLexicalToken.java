@@ -26,12 +26,15 @@ package com.wildbeeslabs.sensiblemetrics.textalyzer.entities;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
 
 import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 import org.apache.commons.lang3.StringUtils;
@@ -46,14 +49,31 @@ import org.apache.commons.lang3.StringUtils;
  *
  */
 @Data
-@EqualsAndHashCode(callSuper = true)
-@ToString
+@EqualsAndHashCode(callSuper = true, exclude = {"alphabet", "vowelMask", "vowelCount"})
+@ToString(exclude = {"alphabet"})
 public class VowelLexicalToken<T extends CharSequence> extends BaseLexicalToken<T> implements IVowelLexicalToken<T> {
 
     /**
      * Default vowels pattern
      */
     public static final String DEFAULT_TOKEN_VOWELS_PATTERN = "[^aeiouyAEIOUY]";
+    /**
+     * Default vowel characters (bit index in vowel mask corresponds to the
+     * character index, vowels of other registered alphabets follow)
+     */
+    public static final String DEFAULT_TOKEN_VOWELS = LexicalAlphabet.DEFAULT_ALPHABET.getVowels();
+
+    /**
+     * Token alphabet (vowels to count)
+     */
+    @Setter(AccessLevel.NONE)
+    private LexicalAlphabet alphabet;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long vowelMask;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int vowelCount;
 
     public VowelLexicalToken() {
         this((T) StringUtils.EMPTY);
@@ -65,31 +85,125 @@ public class VowelLexicalToken<T extends CharSequence> extends BaseLexicalToken<
 
     public VowelLexicalToken(final T value, final Comparator<? super String> comparator) {
         super(value, comparator);
+        this.alphabet = LexicalAlphabet.DEFAULT_ALPHABET;
+        this.updateVowels();
+    }
+
+    public VowelLexicalToken(final T value, final Comparator<? super String> comparator, final LexicalTokenIdStrategy idStrategy) {
+        this(value, comparator, idStrategy, LexicalAlphabet.DEFAULT_ALPHABET);
+    }
+
+    public VowelLexicalToken(final T value, final Comparator<? super String> comparator, final LexicalTokenIdStrategy idStrategy, final LexicalAlphabet alphabet) {
+        super(value, comparator, idStrategy);
+        this.alphabet = Objects.requireNonNull(alphabet);
+        this.updateVowels();
+    }
+
+    @Override
+    public void setValue(final T value) {
+        super.setValue(value);
+        this.updateVowels();
     }
 
     @Override
     public Set<Character> vowelCharacterSet() {
-        return Stream.of(this.toVowelString())
-                .flatMapToInt(CharSequence::chars)
-                .distinct()
-                .mapToObj(c -> Character.valueOf((char) c))
-                .collect(Collectors.toSet());
+        return VowelLexicalToken.toVowelCharacterSet(this.vowelMask);
     }
 
     @Override
     public int vowelCount() {
-        return this.toVowelString().length();
+        return this.vowelCount;
+    }
+
+    @Override
+    public long vowelMask() {
+        return this.vowelMask;
     }
 
     public String getDistinctVowelString() {
-        return Stream.of(this.toVowelString()
-                .split(StringUtils.EMPTY))
-                .distinct()
-                .sorted(VowelLexicalToken.DEFAULT_TOKEN_SORT_COMPARATOR)
-                .collect(Collectors.joining(StringUtils.EMPTY));
+        return VowelLexicalToken.appendVowels(new StringBuilder(), this.vowelMask, StringUtils.EMPTY).toString();
+    }
+
+    /**
+     * Returns vowel character set by vowel mask (in vowel bit index order, so
+     * the order does not depend on token or term order)
+     *
+     * @param vowelMask - input vowel mask
+     * @return vowel character set
+     */
+    public static Set<Character> toVowelCharacterSet(final long vowelMask) {
+        final Set<Character> vowelSet = new LinkedHashSet<>();
+        for (long mask = vowelMask; 0 != mask; mask &= (mask - 1)) {
+            vowelSet.add(LexicalAlphabet.vowelAt(Long.numberOfTrailingZeros(mask)));
+        }
+        return vowelSet;
+    }
+
+    /**
+     * Appends vowel characters of the vowel mask (in vowel bit index order)
+     * separated by delimiter
+     *
+     * @param sBuffer - output buffer
+     * @param vowelMask - input vowel mask
+     * @param delimiter - vowel delimiter
+     * @return output buffer
+     */
+    public static StringBuilder appendVowels(final StringBuilder sBuffer, final long vowelMask, final String delimiter) {
+        for (long mask = vowelMask; 0 != mask; mask &= (mask - 1)) {
+            sBuffer.append(LexicalAlphabet.vowelAt(Long.numberOfTrailingZeros(mask)));
+            if (0 != (mask & (mask - 1))) {
+                sBuffer.append(delimiter);
+            }
+        }
+        return sBuffer;
+    }
+
+    /**
+     * Returns vowel mask of the character sequence by vowels of the default
+     * alphabet
+     *
+     * @param value - input value
+     * @return vowel mask
+     */
+    public static long toVowelMask(final CharSequence value) {
+        return VowelLexicalToken.toVowelMask(value, LexicalAlphabet.DEFAULT_ALPHABET);
+    }
+
+    /**
+     * Returns vowel mask of the character sequence by vowels of the alphabet
+     *
+     * @param value - input value
+     * @param alphabet - vowels alphabet
+     * @return vowel mask
+     */
+    public static long toVowelMask(final CharSequence value, final LexicalAlphabet alphabet) {
+        return alphabet.toVowelMask(value);
+    }
+
+    /**
+     * Returns number of vowels of the alphabet in the character sequence
+     *
+     * @param value - input value
+     * @param alphabet - vowels alphabet
+     * @return number of vowels
+     */
+    public static int vowelCount(final CharSequence value, final LexicalAlphabet alphabet) {
+        return alphabet.vowelCount(value);
     }
 
-    private String toVowelString() {
-        return String.valueOf(this.value).replaceAll(VowelLexicalToken.DEFAULT_TOKEN_VOWELS_PATTERN, StringUtils.EMPTY);
+    private void updateVowels() {
+        long mask = 0;
+        int count = 0;
+        if (Objects.nonNull(this.value)) {
+            for (int i = 0; i < this.value.length(); i++) {
+                final int index = this.alphabet.vowelIndex(this.value.charAt(i));
+                if (index >= 0) {
+                    mask |= (1L << index);
+                    count++;
+                }
+            }
+        }
+        this.vowelMask = mask;
+        this.vowelCount = count;
     }
 }
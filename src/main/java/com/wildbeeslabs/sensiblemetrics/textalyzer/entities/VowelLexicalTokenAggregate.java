@@ -0,0 +1,140 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.entities;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.NumberUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Vowel lexical token aggregate class to store running vowel statistics on
+ * lexical tokens without retaining them
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ * @param <E>
+ *
+ */
+@Data
+@EqualsAndHashCode(callSuper = true, exclude = {"alphabet"})
+@ToString(callSuper = true, exclude = {"alphabet"})
+public class VowelLexicalTokenAggregate<E extends CharSequence> extends BaseLexicalTokenAggregate<E> {
+
+    /**
+     * Token alphabet (vowels to count)
+     */
+    @Setter(AccessLevel.NONE)
+    private LexicalAlphabet alphabet;
+    @Setter(AccessLevel.NONE)
+    private long vowelCount;
+    @Setter(AccessLevel.NONE)
+    private long uniqueVowelMask;
+
+    public VowelLexicalTokenAggregate() {
+        this(LexicalAlphabet.DEFAULT_ALPHABET);
+    }
+
+    public VowelLexicalTokenAggregate(final LexicalAlphabet alphabet) {
+        super();
+        this.alphabet = Objects.requireNonNull(alphabet);
+        this.vowelCount = 0;
+        this.uniqueVowelMask = 0;
+    }
+
+    @Override
+    public void accept(final CharSequence value) {
+        if (Objects.nonNull(value)) {
+            super.accept(value);
+            for (int i = 0; i < value.length(); i++) {
+                final int index = this.alphabet.vowelIndex(value.charAt(i));
+                if (index >= 0) {
+                    this.vowelCount++;
+                    this.uniqueVowelMask |= (1L << index);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void merge(final ILexicalTokenAggregate<E> aggregate) {
+        if (Objects.nonNull(aggregate)) {
+            super.merge(aggregate);
+            final VowelLexicalTokenAggregate<E> other = this.cast(aggregate);
+            this.vowelCount += other.vowelCount;
+            this.uniqueVowelMask |= other.uniqueVowelMask;
+        }
+    }
+
+    @Override
+    public void writeTo(final DataOutput output) throws IOException {
+        super.writeTo(output);
+        output.writeLong(this.vowelCount);
+        output.writeLong(this.uniqueVowelMask);
+    }
+
+    @Override
+    public void mergeFrom(final DataInput input) throws IOException {
+        super.mergeFrom(input);
+        this.vowelCount += input.readLong();
+        this.uniqueVowelMask |= input.readLong();
+    }
+
+    public Set<Character> getUniqueVowelSet() {
+        return VowelLexicalToken.toVowelCharacterSet(this.uniqueVowelMask);
+    }
+
+    public double getAvgVowelCounterPerToken() {
+        if (0 == this.tokenCount) {
+            return 0;
+        }
+        return (double) this.vowelCount / this.tokenCount;
+    }
+
+    @Override
+    public String toFormatString() {
+        return this.formatTo(new StringBuilder()).toString();
+    }
+
+    @Override
+    public StringBuilder formatTo(final StringBuilder sBuffer) {
+        sBuffer.append("(");
+        sBuffer.append("{");
+        VowelLexicalToken.appendVowels(sBuffer, this.uniqueVowelMask, ", ");
+        sBuffer.append("}").append(", ").append((int) this.getAvgTokenLength()).append(")");
+        sBuffer.append(" -> ");
+        return NumberUtils.appendFormat(sBuffer, this.getAvgVowelCounterPerToken());
+    }
+}
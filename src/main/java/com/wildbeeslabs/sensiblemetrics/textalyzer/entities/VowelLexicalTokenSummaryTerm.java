@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.entities;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.NumberUtils;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collection;
+import java.util.IntSummaryStatistics;
+import java.util.Objects;
+import java.util.Set;
+
+import lombok.ToString;
+
+/**
+ * Vowel lexical token summary term class to store summary statistics of
+ * lexical tokens (tokens are not retained, so heap does not grow with the
+ * number of tokens, output is equal to the vowel lexical token term one;
+ * statistics are serialized as count / sum / min / max values)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ * @param <E>
+ * @param <T>
+ *
+ */
+@ToString(exclude = {"alphabet"})
+public class VowelLexicalTokenSummaryTerm<E extends CharSequence, T extends IVowelLexicalToken<E>> implements IVowelLexicalTokenTerm<E, T> {
+
+    /**
+     * Token alphabet (vowels to count)
+     */
+    private final LexicalAlphabet alphabet;
+    private transient IntSummaryStatistics lengthStatistics;
+    private transient IntSummaryStatistics vowelStatistics;
+    private long uniqueVowelMask;
+
+    public VowelLexicalTokenSummaryTerm() {
+        this(LexicalAlphabet.DEFAULT_ALPHABET);
+    }
+
+    public VowelLexicalTokenSummaryTerm(final LexicalAlphabet alphabet) {
+        this.alphabet = Objects.requireNonNull(alphabet);
+        this.reset();
+    }
+
+    /**
+     * Folds pre-reduced token values into the current term
+     *
+     * @param length - token length
+     * @param vowelCount - number of token vowels
+     * @param vowelMask - token vowel mask
+     */
+    public void accept(final int length, final int vowelCount, final long vowelMask) {
+        this.lengthStatistics.accept(length);
+        this.vowelStatistics.accept(vowelCount);
+        this.uniqueVowelMask |= vowelMask;
+    }
+
+    /**
+     * Folds token value into the current term (token is not materialized)
+     *
+     * @param value - token value
+     */
+    public void accept(final CharSequence value) {
+        if (Objects.nonNull(value)) {
+            this.accept(value.length(), VowelLexicalToken.vowelCount(value, this.alphabet), VowelLexicalToken.toVowelMask(value, this.alphabet));
+        }
+    }
+
+    /**
+     * Merges summary term into the current term
+     *
+     * @param term - term to be merged
+     */
+    public void merge(final VowelLexicalTokenSummaryTerm<E, T> term) {
+        if (Objects.nonNull(term)) {
+            this.lengthStatistics.combine(term.lengthStatistics);
+            this.vowelStatistics.combine(term.vowelStatistics);
+            this.uniqueVowelMask |= term.uniqueVowelMask;
+        }
+    }
+
+    @Override
+    public void addToken(final T token) {
+        if (Objects.nonNull(token)) {
+            this.accept(token.length(), token.vowelCount(), token.vowelMask());
+        }
+    }
+
+    /**
+     * Tokens are not retained, so they cannot be removed from the summary
+     *
+     * @param token - token to be removed
+     */
+    @Override
+    public void removeToken(final T token) {
+        throw new UnsupportedOperationException(String.format("ERROR: cannot remove token from summary term=(%s)", this.getClass().getName()));
+    }
+
+    @Override
+    public void setTokens(final Collection<? extends T> tokenCollection) {
+        this.reset();
+        if (Objects.nonNull(tokenCollection)) {
+            tokenCollection.forEach(this::addToken);
+        }
+    }
+
+    @Override
+    public int size() {
+        return (int) this.vowelStatistics.getCount();
+    }
+
+    @Override
+    public IntSummaryStatistics getStatistics() {
+        return BaseLexicalTokenTerm.copyOf(this.vowelStatistics);
+    }
+
+    /**
+     * Returns summary statistics of the token lengths
+     *
+     * @return token length statistics
+     */
+    public IntSummaryStatistics getLengthStatistics() {
+        return BaseLexicalTokenTerm.copyOf(this.lengthStatistics);
+    }
+
+    @Override
+    public double getAvgTokenLength() {
+        return this.lengthStatistics.getAverage();
+    }
+
+    public double getAvgVowelCounterPerToken() {
+        return this.vowelStatistics.getAverage();
+    }
+
+    public int count() {
+        return (int) this.vowelStatistics.getSum();
+    }
+
+    @Override
+    public Set<Character> getUniqueVowelSet() {
+        return VowelLexicalToken.toVowelCharacterSet(this.uniqueVowelMask);
+    }
+
+    @Override
+    public long getUniqueVowelMask() {
+        return this.uniqueVowelMask;
+    }
+
+    @Override
+    public String toFormatString() {
+        return this.formatTo(new StringBuilder()).toString();
+    }
+
+    @Override
+    public StringBuilder formatTo(final StringBuilder sBuffer) {
+        sBuffer.append("(");
+        sBuffer.append("{");
+        VowelLexicalToken.appendVowels(sBuffer, this.uniqueVowelMask, ", ");
+        sBuffer.append("}").append(", ").append((int) this.getAvgTokenLength()).append(")");
+        sBuffer.append(" -> ");
+        return NumberUtils.appendFormat(sBuffer, this.getAvgVowelCounterPerToken());
+    }
+
+    private void reset() {
+        this.lengthStatistics = new IntSummaryStatistics();
+        this.vowelStatistics = new IntSummaryStatistics();
+        this.uniqueVowelMask = 0;
+    }
+
+    private void writeObject(final ObjectOutputStream output) throws IOException {
+        output.defaultWriteObject();
+        writeStatistics(output, this.lengthStatistics);
+        writeStatistics(output, this.vowelStatistics);
+    }
+
+    private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        this.lengthStatistics = readStatistics(input);
+        this.vowelStatistics = readStatistics(input);
+        if (this.lengthStatistics.getCount() != this.vowelStatistics.getCount()) {
+            throw new InvalidObjectException(String.format("ERROR: invalid statistics count=(%s, %s)", this.lengthStatistics.getCount(), this.vowelStatistics.getCount()));
+        }
+    }
+
+    private static void writeStatistics(final ObjectOutputStream output, final IntSummaryStatistics statistics) throws IOException {
+        output.writeLong(statistics.getCount());
+        output.writeLong(statistics.getSum());
+        output.writeInt(statistics.getMin());
+        output.writeInt(statistics.getMax());
+    }
+
+    /**
+     * Restores statistics from count / sum / min / max values (Java 8
+     * statistics cannot be created from values, so the values are replayed
+     * with the same count / sum / min / max, linear in count)
+     *
+     * @param input - object input stream
+     * @return statistics
+     * @throws IOException if the values are not consistent
+     */
+    private static IntSummaryStatistics readStatistics(final ObjectInputStream input) throws IOException {
+        final long count = input.readLong();
+        final long sum = input.readLong();
+        final int min = input.readInt();
+        final int max = input.readInt();
+        final IntSummaryStatistics statistics = new IntSummaryStatistics();
+        if (0 == count) {
+            return statistics;
+        }
+        final long rest = count - 2;
+        final long restSum = sum - min - max;
+        if (count < 0 || count > Integer.MAX_VALUE || min > max
+                || (1 == count ? (min != max || sum != min) : (restSum < rest * min || restSum > rest * max))) {
+            throw new InvalidObjectException(String.format("ERROR: invalid statistics count=(%s), sum=(%s), min=(%s), max=(%s)", count, sum, min, max));
+        }
+        statistics.accept(min);
+        if (1 == count) {
+            return statistics;
+        }
+        statistics.accept(max);
+        if (rest > 0) {
+            final long value = Math.floorDiv(restSum, rest);
+            final long extra = restSum - value * rest;
+            for (long i = 0; i < rest; i++) {
+                statistics.accept((int) (i < extra ? value + 1 : value));
+            }
+        }
+        return statistics;
+    }
+}
@@ -27,18 +27,21 @@ import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLex
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.NumberUtils;
 
-import java.util.HashSet;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.IntSummaryStatistics;
-import java.util.Iterator;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 /**
  * Vowel lexical token term class to store information on lexical tokens
+ * (running vowel statistics and vowel mask are updated on token changes)
  *
  * @author alexander.rogalskiy
  * @version 1.0
@@ -48,49 +51,76 @@ import lombok.ToString;
  *
  */
 @Data
-@EqualsAndHashCode(callSuper = true)
-@ToString
+@EqualsAndHashCode(callSuper = true, exclude = {"uniqueVowelMask"})
+@ToString(exclude = {"uniqueVowelMask"})
 public class VowelLexicalTokenTerm<E extends CharSequence, T extends IVowelLexicalToken<E>> extends BaseLexicalTokenTerm<E, T> implements IVowelLexicalTokenTerm<E, T> {
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient IntSummaryStatistics vowelStatistics = new IntSummaryStatistics();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long uniqueVowelMask;
+
     public VowelLexicalTokenTerm() {
         super();
     }
 
     public double getAvgVowelCounterPerToken() {
-        return this.getTokenList().stream().mapToInt((token) -> token.vowelCount()).average().getAsDouble();
+        return this.vowelStatistics.getAverage();
     }
 
     @Override
     public IntSummaryStatistics getStatistics() {
-        return this.getTokenList().stream().collect(Collectors.summarizingInt((token) -> token.vowelCount()));
+        return copyOf(this.vowelStatistics);
     }
 
     public int count() {
-        return this.count((token) -> token.vowelCount());
+        return (int) this.vowelStatistics.getSum();
     }
 
     @Override
     public Set<Character> getUniqueVowelSet() {
-        final Set<Character> uniqueVowelSet = new HashSet<>();
-        this.getTokenList().stream().forEach((token) -> {
-            uniqueVowelSet.addAll(token.vowelCharacterSet());
-        });
-        return uniqueVowelSet;
+        return VowelLexicalToken.toVowelCharacterSet(this.getUniqueVowelMask());
+    }
+
+    @Override
+    public long getUniqueVowelMask() {
+        return this.uniqueVowelMask;
+    }
+
+    @Override
+    protected void accept(final T token) {
+        super.accept(token);
+        this.vowelStatistics.accept(token.vowelCount());
+        this.uniqueVowelMask |= token.vowelMask();
+    }
+
+    private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        this.vowelStatistics = new IntSummaryStatistics();
+        this.tokenList.forEach((token) -> this.vowelStatistics.accept(token.vowelCount()));
+    }
+
+    @Override
+    protected void reset() {
+        super.reset();
+        this.vowelStatistics = new IntSummaryStatistics();
+        this.uniqueVowelMask = 0;
     }
 
     @Override
     public String toFormatString() {
-        final StringBuilder sBuffer = new StringBuilder();
+        return this.formatTo(new StringBuilder()).toString();
+    }
+
+    @Override
+    public StringBuilder formatTo(final StringBuilder sBuffer) {
         sBuffer.append("(");
         sBuffer.append("{");
-        for (final Iterator<Character> it = this.getUniqueVowelSet().iterator(); it.hasNext();) {
-            sBuffer.append(it.next());
-            if (it.hasNext()) {
-                sBuffer.append(", ");
-            }
-        }
-        sBuffer.append("}").append(", ").append(Double.valueOf(this.getAvgTokenLength()).intValue()).append(")");
-        sBuffer.append(" -> ").append(NumberUtils.format(this.getAvgVowelCounterPerToken()));
-        return sBuffer.toString();
+        VowelLexicalToken.appendVowels(sBuffer, this.getUniqueVowelMask(), ", ");
+        sBuffer.append("}").append(", ").append((int) this.getAvgTokenLength()).append(")");
+        sBuffer.append(" -> ");
+        return NumberUtils.appendFormat(sBuffer, this.getAvgVowelCounterPerToken());
     }
 }
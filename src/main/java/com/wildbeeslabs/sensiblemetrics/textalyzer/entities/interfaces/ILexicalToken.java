@@ -55,8 +55,29 @@ public interface ILexicalToken<T extends CharSequence> extends Serializable {
     /**
      * Returns UUID of the current token
      *
-     * @return UUID of the current token
+     * @return UUID of the current token (or null if no identifier assigned)
      */
     UUID getId();
 
+    /**
+     * Returns most significant bits of the current token identifier
+     *
+     * @return most significant bits of the identifier
+     */
+    long getIdMostSignificantBits();
+
+    /**
+     * Returns least significant bits of the current token identifier
+     *
+     * @return least significant bits of the identifier
+     */
+    long getIdLeastSignificantBits();
+
+    /**
+     * Returns flag whether identifier is assigned to the current token
+     *
+     * @return true if identifier is assigned, false otherwise
+     */
+    boolean hasId();
+
 }
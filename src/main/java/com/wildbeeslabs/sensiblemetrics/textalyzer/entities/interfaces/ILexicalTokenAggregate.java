@@ -0,0 +1,101 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ *
+ * Lexical token aggregate interface declaration
+ *
+ * @author Alex
+ * @version 1.0.0
+ * @since 2017-12-12
+ * @param <E>
+ */
+public interface ILexicalTokenAggregate<E extends CharSequence> extends Serializable {
+
+    /**
+     * Folds token value into the current aggregate
+     *
+     * @param value - token value to be folded
+     */
+    void accept(final CharSequence value);
+
+    /**
+     * Merges partial aggregate into the current aggregate
+     *
+     * @param aggregate - aggregate to be merged
+     */
+    void merge(final ILexicalTokenAggregate<E> aggregate);
+
+    /**
+     * Returns number of tokens folded into the current aggregate
+     *
+     * @return number of tokens
+     */
+    long getTokenCount();
+
+    /**
+     * Returns average token length of the current aggregate
+     *
+     * @return - average token length
+     */
+    double getAvgTokenLength();
+
+    /**
+     * Returns formatted output representation of the current aggregate
+     *
+     * @return - aggregate as string
+     */
+    String toFormatString();
+
+    /**
+     * Appends formatted output representation of the current aggregate
+     *
+     * @param sBuffer - target buffer
+     * @return - target buffer
+     */
+    StringBuilder formatTo(final StringBuilder sBuffer);
+
+    /**
+     * Writes compact binary representation of the current aggregate
+     *
+     * @param output - binary output
+     * @throws IOException On write operation.
+     */
+    void writeTo(final DataOutput output) throws IOException;
+
+    /**
+     * Merges aggregate in compact binary representation into the current
+     * aggregate
+     *
+     * @param input - binary input
+     * @throws IOException On read operation.
+     */
+    void mergeFrom(final DataInput input) throws IOException;
+}
@@ -47,9 +47,12 @@ public interface ILexicalTokenTerm<E extends CharSequence, T extends ILexicalTok
     void addToken(final T token);
 
     /**
-     * Removes token from the current term
+     * Removes token from the current term (optional operation, terms that do
+     * not retain tokens keep summary statistics only and cannot remove them)
      *
      * @param token - token to be removed
+     * @throws UnsupportedOperationException if the term does not retain
+     * tokens
      */
     void removeToken(final T token);
 
@@ -74,6 +77,14 @@ public interface ILexicalTokenTerm<E extends CharSequence, T extends ILexicalTok
      */
     String toFormatString();
 
+    /**
+     * Appends formatted output representation of the current term
+     *
+     * @param sBuffer - target buffer
+     * @return - target buffer
+     */
+    StringBuilder formatTo(final StringBuilder sBuffer);
+
     /**
      * Returns formatted output statistics of the current term (default by
      * length)
@@ -44,9 +44,17 @@ public interface IVowelLexicalToken<T extends CharSequence> extends ILexicalToke
     int vowelCount();
 
     /**
-     * Returns vowel character set in token
+     * Returns vowel character set in token (in vowel bit index order, e.g.
+     * {a, e, o, u} - not in order of occurrence)
      *
      * @return vowel character set
      */
     Set<Character> vowelCharacterSet();
+
+    /**
+     * Returns vowel bit mask in token
+     *
+     * @return vowel bit mask
+     */
+    long vowelMask();
 }
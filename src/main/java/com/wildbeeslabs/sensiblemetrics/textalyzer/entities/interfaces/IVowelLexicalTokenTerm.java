@@ -27,7 +27,9 @@ import java.util.Set;
 
 /**
  *
- * Vowel lexical token term interface declaration
+ * Vowel lexical token term interface declaration (terms of analyzers
+ * without token retention are summary terms, see
+ * {@link ILexicalTokenTerm#removeToken})
  *
  * @author Alex
  * @version 1.0.0
@@ -38,9 +40,17 @@ import java.util.Set;
 public interface IVowelLexicalTokenTerm<E extends CharSequence, T extends IVowelLexicalToken<E>> extends ILexicalTokenTerm<E, T> {
 
     /**
-     * Returns unique vowel character set of the current term
+     * Returns unique vowel character set of the current term (in vowel bit
+     * index order)
      *
      * @return unique vowel character set
      */
     Set<Character> getUniqueVowelSet();
+
+    /**
+     * Returns unique vowel bit mask of the current term
+     *
+     * @return unique vowel bit mask
+     */
+    long getUniqueVowelMask();
 }
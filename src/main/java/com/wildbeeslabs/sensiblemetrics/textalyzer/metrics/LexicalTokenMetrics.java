@@ -0,0 +1,229 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.metrics;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces.ILexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces.ILexicalTokenMetricsMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Lexical token pipeline metrics class (counters are striped, so workers
+ * record metrics without contention)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class LexicalTokenMetrics implements ILexicalTokenMetrics, ILexicalTokenMetricsMXBean {
+
+    /**
+     * Default JMX object name
+     */
+    public static final String DEFAULT_OBJECT_NAME = "com.wildbeeslabs.sensiblemetrics.textalyzer:type=LexicalTokenMetrics";
+
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder lines = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder groups = new LongAdder();
+    private final LongAdder[] stageNanos;
+    private volatile long startNanos;
+    private ObjectName objectName;
+
+    public LexicalTokenMetrics() {
+        this.stageNanos = new LongAdder[LexicalTokenStage.values().length];
+        for (int i = 0; i < this.stageNanos.length; i++) {
+            this.stageNanos[i] = new LongAdder();
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Registers metrics in the platform MBean server
+     *
+     * @throws JMException On registration.
+     */
+    public synchronized void registerMBean() throws JMException {
+        if (Objects.isNull(this.objectName)) {
+            final ObjectName name = new ObjectName(DEFAULT_OBJECT_NAME);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            this.objectName = name;
+        }
+    }
+
+    /**
+     * Unregisters metrics from the platform MBean server
+     *
+     * @throws JMException On unregistration.
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if (Objects.nonNull(this.objectName)) {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(this.objectName)) {
+                server.unregisterMBean(this.objectName);
+            }
+            this.objectName = null;
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public long startTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void stop(final LexicalTokenStage stage, final long startTime) {
+        this.stageNanos[stage.ordinal()].add(System.nanoTime() - startTime);
+    }
+
+    @Override
+    public void addBytesRead(final long count) {
+        this.bytesRead.add(count);
+    }
+
+    @Override
+    public void addBytesWritten(final long count) {
+        this.bytesWritten.add(count);
+    }
+
+    @Override
+    public void addLines(final long count) {
+        this.lines.add(count);
+    }
+
+    @Override
+    public void addTokens(final long count) {
+        this.tokens.add(count);
+    }
+
+    @Override
+    public void addGroups(final long count) {
+        this.groups.add(count);
+    }
+
+    @Override
+    public long getBytesRead() {
+        return this.bytesRead.sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return this.bytesWritten.sum();
+    }
+
+    @Override
+    public long getLines() {
+        return this.lines.sum();
+    }
+
+    @Override
+    public long getTokens() {
+        return this.tokens.sum();
+    }
+
+    @Override
+    public long getGroups() {
+        return this.groups.sum();
+    }
+
+    public long getStageNanos(final LexicalTokenStage stage) {
+        return this.stageNanos[stage.ordinal()].sum();
+    }
+
+    @Override
+    public long getReadNanos() {
+        return this.getStageNanos(LexicalTokenStage.READ);
+    }
+
+    @Override
+    public long getTokenizeNanos() {
+        return this.getStageNanos(LexicalTokenStage.TOKENIZE);
+    }
+
+    @Override
+    public long getGroupNanos() {
+        return this.getStageNanos(LexicalTokenStage.GROUP);
+    }
+
+    @Override
+    public long getWriteNanos() {
+        return this.getStageNanos(LexicalTokenStage.WRITE);
+    }
+
+    @Override
+    public long getElapsedNanos() {
+        return System.nanoTime() - this.startNanos;
+    }
+
+    @Override
+    public double getTokensPerSecond() {
+        final long elapsedNanos = this.getElapsedNanos();
+        return (elapsedNanos > 0) ? this.getTokens() * 1e9 / elapsedNanos : 0d;
+    }
+
+    @Override
+    public void reset() {
+        this.bytesRead.reset();
+        this.bytesWritten.reset();
+        this.lines.reset();
+        this.tokens.reset();
+        this.groups.reset();
+        for (final LongAdder nanos : this.stageNanos) {
+            nanos.reset();
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public StringBuilder formatTo(final StringBuilder sBuffer) {
+        sBuffer.append("bytesRead=").append(this.getBytesRead())
+                .append(", bytesWritten=").append(this.getBytesWritten())
+                .append(", lines=").append(this.getLines())
+                .append(", tokens=").append(this.getTokens())
+                .append(", groups=").append(this.getGroups());
+        for (final LexicalTokenStage stage : LexicalTokenStage.values()) {
+            sBuffer.append(", ").append(stage.name().toLowerCase()).append("=").append(String.format("%.3f ms", this.getStageNanos(stage) / 1e6));
+        }
+        return sBuffer.append(", elapsed=").append(String.format("%.3f ms", this.getElapsedNanos() / 1e6))
+                .append(", tokensPerSecond=").append(String.format("%.0f", this.getTokensPerSecond()));
+    }
+
+    @Override
+    public String toString() {
+        return this.formatTo(new StringBuilder("LexicalTokenMetrics(")).append(")").toString();
+    }
+}
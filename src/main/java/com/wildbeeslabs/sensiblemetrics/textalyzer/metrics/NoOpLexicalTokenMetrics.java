@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.metrics;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces.ILexicalTokenMetrics;
+
+/**
+ * No-operation lexical token metrics class (default metrics of analyzers,
+ * nothing is recorded)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public final class NoOpLexicalTokenMetrics implements ILexicalTokenMetrics {
+
+    private static final NoOpLexicalTokenMetrics INSTANCE = new NoOpLexicalTokenMetrics();
+
+    private NoOpLexicalTokenMetrics() {
+        // PRIVATE EMPTY CONSTRUCTOR
+    }
+
+    public static NoOpLexicalTokenMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public long startTime() {
+        return 0L;
+    }
+
+    @Override
+    public void stop(final LexicalTokenStage stage, final long startTime) {
+    }
+
+    @Override
+    public void addBytesRead(final long count) {
+    }
+
+    @Override
+    public void addBytesWritten(final long count) {
+    }
+
+    @Override
+    public void addLines(final long count) {
+    }
+
+    @Override
+    public void addTokens(final long count) {
+    }
+
+    @Override
+    public void addGroups(final long count) {
+    }
+
+    @Override
+    public StringBuilder formatTo(final StringBuilder sBuffer) {
+        return sBuffer;
+    }
+
+    @Override
+    public String toString() {
+        return "NoOpLexicalTokenMetrics";
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.LexicalTokenStage;
+
+/**
+ *
+ * Lexical token pipeline metrics interface declaration (metrics are recorded
+ * once per stage / chunk, so disabled metrics cost a virtual call per stage)
+ *
+ * @author Alex
+ * @version 1.0.0
+ * @since 2017-12-12
+ */
+public interface ILexicalTokenMetrics {
+
+    /**
+     * Checks whether metrics are recorded
+     *
+     * @return true - if metrics are enabled, false - otherwise
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns start time of the stage to be measured
+     *
+     * @return start time in nanoseconds (or 0 if metrics are disabled)
+     */
+    long startTime();
+
+    /**
+     * Records elapsed time of the stage
+     *
+     * @param stage - pipeline stage
+     * @param startTime - start time of the stage returned by
+     * {@link #startTime()}
+     */
+    void stop(final LexicalTokenStage stage, final long startTime);
+
+    /**
+     * Records number of input bytes
+     *
+     * @param count - number of bytes
+     */
+    void addBytesRead(final long count);
+
+    /**
+     * Records number of output bytes
+     *
+     * @param count - number of bytes
+     */
+    void addBytesWritten(final long count);
+
+    /**
+     * Records number of input lines
+     *
+     * @param count - number of lines
+     */
+    void addLines(final long count);
+
+    /**
+     * Records number of tokens
+     *
+     * @param count - number of tokens
+     */
+    void addTokens(final long count);
+
+    /**
+     * Records number of output groups
+     *
+     * @param count - number of groups
+     */
+    void addGroups(final long count);
+
+    /**
+     * Appends formatted summary of the recorded metrics
+     *
+     * @param sBuffer - target buffer
+     * @return - target buffer
+     */
+    StringBuilder formatTo(final StringBuilder sBuffer);
+}
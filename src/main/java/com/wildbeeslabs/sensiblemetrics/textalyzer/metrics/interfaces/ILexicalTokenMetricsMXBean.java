@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces;
+
+/**
+ *
+ * Lexical token pipeline metrics management interface declaration (stage
+ * times are summed over all workers)
+ *
+ * @author Alex
+ * @version 1.0.0
+ * @since 2017-12-12
+ */
+public interface ILexicalTokenMetricsMXBean {
+
+    long getBytesRead();
+
+    long getBytesWritten();
+
+    long getLines();
+
+    long getTokens();
+
+    long getGroups();
+
+    long getReadNanos();
+
+    long getTokenizeNanos();
+
+    long getGroupNanos();
+
+    long getWriteNanos();
+
+    /**
+     * Returns wall-clock time elapsed since metrics were created / reset
+     *
+     * @return elapsed time in nanoseconds
+     */
+    long getElapsedNanos();
+
+    /**
+     * Returns number of tokens per second of the elapsed wall-clock time
+     *
+     * @return tokens per second
+     */
+    double getTokensPerSecond();
+
+    /**
+     * Resets all metrics
+     */
+    void reset();
+}
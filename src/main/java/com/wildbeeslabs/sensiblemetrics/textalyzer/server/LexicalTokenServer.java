@@ -0,0 +1,412 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenResultCache;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.LexicalTokenStage;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces.ILexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.ByteLexicalTokenizer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Lexical token HTTP server class to analyze text bodies (plain or GZIP
+ * encoded) by the shared analyzer instance and respond with formatted token
+ * aggregates. Requests are handled by the bounded worker pool, requests
+ * exceeding pool and queue capacity are rejected with 503 (Service
+ * Unavailable) by the rejection thread (closing the exchange drains the
+ * unread request body there, so the rejection queue is bounded as well).
+ * Requests exceeding the rejection queue capacity are dropped on the
+ * dispatcher thread: the connection is closed without response and without
+ * reading the body.
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ * @param <E>
+ *
+ */
+public class LexicalTokenServer<E extends CharSequence> implements Closeable {
+
+    /**
+     * Default logger instance
+     */
+    private static final Logger LOGGER = LogManager.getLogger(LexicalTokenServer.class);
+    /**
+     * Default server port
+     */
+    public static final int DEFAULT_PORT = 8080;
+    /**
+     * Default number of worker threads
+     */
+    public static final int DEFAULT_WORKER_COUNT = Runtime.getRuntime().availableProcessors();
+    /**
+     * Default number of requests waiting for a worker
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+    /**
+     * Default number of rejected requests waiting for the 503 response
+     */
+    public static final int DEFAULT_REJECT_QUEUE_CAPACITY = 16;
+    /**
+     * Default maximum (decompressed) request body size (in bytes)
+     */
+    public static final long DEFAULT_MAX_REQUEST_SIZE = 16L * 1024 * 1024;
+    /**
+     * Default request paths
+     */
+    public static final String DEFAULT_ANALYZE_PATH = "/analyze";
+    public static final String DEFAULT_HEALTH_PATH = "/health";
+    /**
+     * Default delay to complete current exchanges on stop (in seconds)
+     */
+    public static final int DEFAULT_STOP_DELAY = 1;
+    /**
+     * Default request body read buffer size
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    /**
+     * Default response content type
+     */
+    private static final String DEFAULT_CONTENT_TYPE = "text/plain; charset=UTF-8";
+    /**
+     * Flag of the exchange rejected by the worker pool (handled on the
+     * rejection thread, so that the dispatcher thread never blocks on draining
+     * request body of the rejected exchange)
+     */
+    private static final ThreadLocal<Boolean> REJECTED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    /**
+     * Flag of the exchange dropped by the full rejection queue (handled on
+     * the dispatcher thread, so the body is never read and no response is
+     * written)
+     */
+    private static final ThreadLocal<Boolean> DROPPED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[DEFAULT_BUFFER_SIZE]);
+
+    private final ILexicalTokenAnalyzer<E, ?, ?> analyzer;
+    private final long maxRequestSize;
+    private final LexicalTokenResultCache cache;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor rejectExecutor;
+    private final HttpServer server;
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    public LexicalTokenServer(final InetSocketAddress address, final ILexicalTokenAnalyzer<E, ?, ?> analyzer) throws IOException {
+        this(address, analyzer, DEFAULT_WORKER_COUNT, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_REQUEST_SIZE);
+    }
+
+    public LexicalTokenServer(final InetSocketAddress address, final ILexicalTokenAnalyzer<E, ?, ?> analyzer, final int workerCount, final int queueCapacity, final long maxRequestSize) throws IOException {
+        this(address, analyzer, workerCount, queueCapacity, maxRequestSize, null);
+    }
+
+    /**
+     * Creates server bound to the address (not started)
+     *
+     * @param address - server address (port 0 - any free port)
+     * @param analyzer - shared analyzer instance
+     * @param workerCount - number of worker threads
+     * @param queueCapacity - number of requests waiting for a worker (0 -
+     * requests are rejected if all workers are busy)
+     * @param maxRequestSize - maximum (decompressed) request body size
+     * @param cache - result cache (null - request bodies are streamed and
+     * never cached)
+     * @throws IOException On bind operation.
+     */
+    public LexicalTokenServer(final InetSocketAddress address, final ILexicalTokenAnalyzer<E, ?, ?> analyzer, final int workerCount, final int queueCapacity, final long maxRequestSize, final LexicalTokenResultCache cache) throws IOException {
+        Objects.requireNonNull(address);
+        Objects.requireNonNull(analyzer);
+        if (workerCount < 1) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid worker count=(%d)", workerCount));
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid queue capacity=(%d)", queueCapacity));
+        }
+        if (maxRequestSize < 1) {
+            throw new IllegalArgumentException(String.format("ERROR: invalid max request size=(%d)", maxRequestSize));
+        }
+        this.analyzer = analyzer;
+        this.maxRequestSize = maxRequestSize;
+        this.cache = cache;
+        final BlockingQueue<Runnable> queue = (0 == queueCapacity) ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity);
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.rejectExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(DEFAULT_REJECT_QUEUE_CAPACITY), (runnable) -> {
+            final Thread thread = new Thread(() -> {
+                REJECTED.set(Boolean.TRUE);
+                runnable.run();
+            }, "textalyzer-http-reject");
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, pool) -> {
+            this.droppedCount.increment();
+            DROPPED.set(Boolean.TRUE);
+            try {
+                runnable.run();
+            } finally {
+                DROPPED.set(Boolean.FALSE);
+            }
+        });
+        this.executor = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS, queue, (runnable) -> {
+            final Thread thread = new Thread(runnable, String.format("textalyzer-http-%d", threadCount.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, pool) -> {
+            this.rejectedCount.increment();
+            this.rejectExecutor.execute(runnable);
+        });
+        this.server = HttpServer.create(address, 0);
+        this.server.setExecutor(this.executor);
+        this.server.createContext(DEFAULT_ANALYZE_PATH, this::handleAnalyze);
+        this.server.createContext(DEFAULT_HEALTH_PATH, this::handleHealth);
+    }
+
+    public void start() {
+        this.server.start();
+        LOGGER.info(String.format("Lexical token server started at %s, workers=%d, queue=%d, max request size=%d bytes", this.getAddress(), this.executor.getMaximumPoolSize(), this.executor.getQueue().remainingCapacity(), this.maxRequestSize));
+    }
+
+    /**
+     * Waits until the server is stopped
+     *
+     * @throws InterruptedException On wait interruption.
+     */
+    public void join() throws InterruptedException {
+        this.stopped.await();
+    }
+
+    @Override
+    public void close() {
+        if (0 == this.stopped.getCount()) {
+            return;
+        }
+        this.server.stop(DEFAULT_STOP_DELAY);
+        this.executor.shutdown();
+        this.rejectExecutor.shutdown();
+        try {
+            this.executor.awaitTermination(DEFAULT_STOP_DELAY, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        this.stopped.countDown();
+        LOGGER.info(String.format("Lexical token server stopped, requests=%d, rejected=%d, dropped=%d", this.getRequestCount(), this.getRejectedCount(), this.getDroppedCount()));
+    }
+
+    public InetSocketAddress getAddress() {
+        return this.server.getAddress();
+    }
+
+    public long getRequestCount() {
+        return this.requestCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return this.rejectedCount.sum();
+    }
+
+    /**
+     * Returns number of rejected requests dropped without response
+     *
+     * @return number of dropped requests
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.sum();
+    }
+
+    public int getActiveCount() {
+        return this.executor.getActiveCount();
+    }
+
+    private void handleHealth(final HttpExchange exchange) throws IOException {
+        if (DROPPED.get()) {
+            exchange.close();
+            return;
+        }
+        this.sendResponse(exchange, 200, "OK");
+    }
+
+    private void handleAnalyze(final HttpExchange exchange) throws IOException {
+        this.requestCount.increment();
+        if (DROPPED.get()) {
+            exchange.close();
+            return;
+        }
+        if (REJECTED.get()) {
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(DEFAULT_STOP_DELAY));
+            exchange.getResponseHeaders().set("Connection", "close");
+            this.sendResponse(exchange, 503, "Service Unavailable");
+            return;
+        }
+        if (!"POST".equalsIgnoreCase(exchange.getRequestMethod()) && !"PUT".equalsIgnoreCase(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "POST, PUT");
+            this.sendResponse(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        final long contentLength;
+        try {
+            contentLength = Long.parseLong(Objects.toString(exchange.getRequestHeaders().getFirst("Content-Length"), "-1").trim());
+        } catch (NumberFormatException ex) {
+            this.sendResponse(exchange, 400, "Bad Request");
+            return;
+        }
+        if (contentLength > this.maxRequestSize) {
+            this.sendResponse(exchange, 413, "Request Entity Too Large");
+            return;
+        }
+        final Charset charset;
+        try {
+            charset = this.getCharset(exchange.getRequestHeaders().getFirst("Content-Type"));
+        } catch (IllegalArgumentException ex) {
+            this.sendResponse(exchange, 415, "Unsupported Media Type");
+            return;
+        }
+        final ILexicalTokenMetrics metrics = this.analyzer.getMetrics();
+        final ILexicalTokenAggregator<E> aggregator = this.analyzer.getLexicalTokenAggregator();
+        final ByteLexicalTokenizer tokenizer = new ByteLexicalTokenizer(this.analyzer.getTokenizer(), aggregator, metrics, charset);
+        String cacheKey = null;
+        long startTime = metrics.startTime();
+        try (final InputStream in = "gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))
+                ? new GZIPInputStream(exchange.getRequestBody(), DEFAULT_BUFFER_SIZE) : exchange.getRequestBody()) {
+            if (Objects.nonNull(this.cache)) {
+                final ByteArrayOutputStream content = this.readBody(in, contentLength);
+                if (Objects.isNull(content)) {
+                    this.sendResponse(exchange, 413, "Request Entity Too Large");
+                    return;
+                }
+                final byte[] bytes = content.toByteArray();
+                cacheKey = LexicalTokenResultCache.getKey(bytes, 0, bytes.length, String.format("%s|%s", this.analyzer.getSignature(), charset.name()));
+                final byte[] output = this.cache.get(cacheKey);
+                if (Objects.nonNull(output)) {
+                    this.sendResponse(exchange, 200, output);
+                    return;
+                }
+                tokenizer.tokenize(bytes, 0, bytes.length);
+            } else {
+                final byte[] buffer = BUFFERS.get();
+                long size = 0;
+                for (int length; (length = in.read(buffer)) >= 0;) {
+                    size += length;
+                    if (size > this.maxRequestSize) {
+                        this.sendResponse(exchange, 413, "Request Entity Too Large");
+                        return;
+                    }
+                    tokenizer.tokenize(buffer, 0, length);
+                }
+            }
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot read request body from=%s, message=%s", exchange.getRemoteAddress(), ex.getMessage()));
+            this.sendResponse(exchange, 400, "Bad Request");
+            return;
+        }
+        tokenizer.finish();
+        metrics.stop(LexicalTokenStage.TOKENIZE, startTime);
+        startTime = metrics.startTime();
+        final List<ILexicalTokenAggregate<E>> aggregateList = aggregator.getAggregateList(Comparator.reverseOrder());
+        final StringBuilder sBuffer = new StringBuilder();
+        aggregateList.forEach((aggregate) -> aggregate.formatTo(sBuffer).append('\n'));
+        metrics.stop(LexicalTokenStage.GROUP, startTime);
+        metrics.addGroups(aggregateList.size());
+        startTime = metrics.startTime();
+        final byte[] output = sBuffer.toString().getBytes(StandardCharsets.UTF_8);
+        if (Objects.nonNull(cacheKey)) {
+            this.cache.put(cacheKey, output);
+        }
+        this.sendResponse(exchange, 200, output);
+        metrics.stop(LexicalTokenStage.WRITE, startTime);
+        metrics.addBytesWritten(output.length);
+    }
+
+    /**
+     * Reads whole request body (null - if body exceeds maximum request size)
+     */
+    private ByteArrayOutputStream readBody(final InputStream in, final long contentLength) throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream((int) Math.max(32, Math.min(contentLength, DEFAULT_BUFFER_SIZE)));
+        final byte[] buffer = BUFFERS.get();
+        for (int length; (length = in.read(buffer)) >= 0;) {
+            if (content.size() + (long) length > this.maxRequestSize) {
+                return null;
+            }
+            content.write(buffer, 0, length);
+        }
+        return content;
+    }
+
+    private Charset getCharset(final String contentType) {
+        if (Objects.nonNull(contentType)) {
+            for (final String parameter : contentType.split(";")) {
+                final String value = parameter.trim();
+                if (value.regionMatches(true, 0, "charset=", 0, "charset=".length())) {
+                    return Charset.forName(value.substring("charset=".length()).replace("\"", "").trim());
+                }
+            }
+        }
+        return this.analyzer.getCharset();
+    }
+
+    private void sendResponse(final HttpExchange exchange, final int status, final String body) throws IOException {
+        this.sendResponse(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void sendResponse(final HttpExchange exchange, final int status, final byte[] bytes) throws IOException {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", DEFAULT_CONTENT_TYPE);
+            exchange.sendResponseHeaders(status, (0 == bytes.length) ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                try (final OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
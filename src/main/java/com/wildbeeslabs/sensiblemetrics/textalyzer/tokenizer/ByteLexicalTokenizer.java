@@ -0,0 +1,472 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.NoOpLexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces.ILexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.interfaces.ILexicalTokenizer;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Byte lexical tokenizer class to split raw bytes into tokens without
+ * decoding input into lines. UTF-8 input is decoded in place (ASCII bytes are
+ * passed to the table-driven tokenizer directly), single-byte charsets (e.g.
+ * Cp1251, ISO-8859-1) are classified by 256-entry byte lookup tables, other
+ * charsets are decoded by streaming charset decoder. Tokenizer state is kept
+ * between calls, so input may be supplied in arbitrary chunks (tokens and
+ * multi-byte sequences may span chunk boundaries). Line breaks are always
+ * treated as token boundaries, leading byte order mark is skipped. Numbers of
+ * bytes, line breaks (and tokens if metrics are enabled) are reported to
+ * metrics on completion.
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class ByteLexicalTokenizer {
+
+    /**
+     * Default chunk size to copy bytes from direct / mapped buffers
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    /**
+     * Default replacement character for malformed input
+     */
+    public static final int DEFAULT_REPLACEMENT_CHARACTER = 0xFFFD;
+    /**
+     * Default byte order mark character
+     */
+    public static final int DEFAULT_BYTE_ORDER_MARK = 0xFEFF;
+    /**
+     * Default buffer size of incomplete byte sequences (spanning chunk
+     * boundaries) of the charset decoder
+     */
+    private static final int DEFAULT_PENDING_INPUT_SIZE = 16;
+    /**
+     * Default byte actions of single-byte charsets
+     */
+    private static final byte ACTION_APPEND = 0;
+    private static final byte ACTION_SKIP = 1;
+    private static final byte ACTION_DELIMITER = 2;
+    private static final byte ACTION_LINE_FEED = 3;
+    private static final byte ACTION_CARRIAGE_RETURN = 4;
+    /**
+     * Default byte to character tables of single-byte charsets
+     */
+    private static final Map<Charset, char[]> BYTE_TABLES = new ConcurrentHashMap<>();
+    private static final char[] NO_BYTE_TABLE = new char[0];
+
+    private final ILexicalTokenizer tokenizer;
+    private final LexicalTokenizer lexicalTokenizer;
+    private final Consumer<? super CharSequence> consumer;
+    private final LexicalTokenBuffer buffer;
+    private final StringBuilder lineBuffer;
+    private byte[] chunk;
+    private final ILexicalTokenMetrics metrics;
+    private final Charset charset;
+    private final char[] byteChars;
+    private final byte[] byteActions;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer pendingInput;
+    private final CharBuffer decodedOutput;
+    private char highSurrogate;
+    private long charCount;
+    private long byteCount;
+    private long lineCount;
+    private long tokenCount;
+    private int codePoint;
+    private int codePointMin;
+    private int pendingBytes;
+
+    public ByteLexicalTokenizer(final ILexicalTokenizer tokenizer, final Consumer<? super CharSequence> consumer) {
+        this(tokenizer, consumer, NoOpLexicalTokenMetrics.getInstance());
+    }
+
+    public ByteLexicalTokenizer(final ILexicalTokenizer tokenizer, final Consumer<? super CharSequence> consumer, final ILexicalTokenMetrics metrics) {
+        this(tokenizer, consumer, metrics, StandardCharsets.UTF_8);
+    }
+
+    public ByteLexicalTokenizer(final ILexicalTokenizer tokenizer, final Consumer<? super CharSequence> consumer, final ILexicalTokenMetrics metrics, final Charset charset) {
+        Objects.requireNonNull(tokenizer);
+        Objects.requireNonNull(consumer);
+        Objects.requireNonNull(metrics);
+        Objects.requireNonNull(charset);
+        this.tokenizer = tokenizer;
+        this.lexicalTokenizer = (tokenizer instanceof LexicalTokenizer) ? (LexicalTokenizer) tokenizer : null;
+        this.metrics = metrics;
+        if (metrics.isEnabled()) {
+            this.consumer = (word) -> {
+                this.tokenCount++;
+                consumer.accept(word);
+            };
+        } else {
+            this.consumer = consumer;
+        }
+        this.buffer = new LexicalTokenBuffer();
+        this.lineBuffer = new StringBuilder();
+        this.pendingBytes = 0;
+        this.charset = charset;
+        this.byteChars = StandardCharsets.UTF_8.equals(charset) ? null : getByteTable(charset);
+        if (Objects.nonNull(this.byteChars)) {
+            this.byteActions = new byte[this.byteChars.length];
+            for (int b = 0; b < this.byteChars.length; b++) {
+                this.byteActions[b] = this.getByteAction(this.byteChars[b]);
+            }
+        } else {
+            this.byteActions = null;
+        }
+        if (Objects.isNull(this.byteChars) && !StandardCharsets.UTF_8.equals(charset)) {
+            this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.pendingInput = ByteBuffer.allocate(DEFAULT_PENDING_INPUT_SIZE);
+            this.decodedOutput = CharBuffer.allocate(DEFAULT_CHUNK_SIZE);
+        } else {
+            this.decoder = null;
+            this.pendingInput = null;
+            this.decodedOutput = null;
+        }
+    }
+
+    /**
+     * Checks whether charset is a single-byte charset (bytes are classified
+     * by lookup tables without decoding)
+     *
+     * @param charset - input charset
+     * @return true - if charset is single-byte, false - otherwise
+     */
+    public static boolean isSingleByte(final Charset charset) {
+        return Objects.nonNull(getByteTable(charset));
+    }
+
+    /**
+     * Checks whether charset encodes ASCII characters as single ASCII bytes
+     * which never occur inside multi-byte sequences (input in such charset
+     * may be split at ASCII token boundaries)
+     *
+     * @param charset - input charset
+     * @return true - if charset is ASCII compatible, false - otherwise
+     */
+    public static boolean isAsciiCompatible(final Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return true;
+        }
+        final char[] table = getByteTable(charset);
+        if (Objects.isNull(table)) {
+            return false;
+        }
+        for (int b = 0; b < 0x80; b++) {
+            if (b != table[b]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char[] getByteTable(final Charset charset) {
+        final char[] table = BYTE_TABLES.computeIfAbsent(charset, ByteLexicalTokenizer::createByteTable);
+        return (NO_BYTE_TABLE == table) ? null : table;
+    }
+
+    private static char[] createByteTable(final Charset charset) {
+        try {
+            if (!charset.canEncode() || 1.0f != charset.newEncoder().maxBytesPerChar()) {
+                return NO_BYTE_TABLE;
+            }
+        } catch (UnsupportedOperationException ex) {
+            return NO_BYTE_TABLE;
+        }
+        final CharsetDecoder decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        if (1.0f != decoder.maxCharsPerByte()) {
+            return NO_BYTE_TABLE;
+        }
+        final byte[] bytes = new byte[256];
+        for (int b = 0; b < bytes.length; b++) {
+            bytes[b] = (byte) b;
+        }
+        final char[] table = new char[bytes.length];
+        final CharBuffer output = CharBuffer.wrap(table);
+        final CoderResult result = decoder.decode(ByteBuffer.wrap(bytes), output, true);
+        if (result.isError() || output.hasRemaining() || decoder.flush(output).isError()) {
+            return NO_BYTE_TABLE;
+        }
+        return table;
+    }
+
+    private byte getByteAction(final char c) {
+        if ('\n' == c) {
+            return ACTION_LINE_FEED;
+        } else if ('\r' == c) {
+            return ACTION_CARRIAGE_RETURN;
+        } else if (Objects.nonNull(this.lexicalTokenizer) && this.lexicalTokenizer.isDelimiter(c)) {
+            return ACTION_DELIMITER;
+        } else if (Objects.nonNull(this.lexicalTokenizer) && this.lexicalTokenizer.isRemoved(c)) {
+            return ACTION_SKIP;
+        }
+        return ACTION_APPEND;
+    }
+
+    /**
+     * Checks whether byte always ends a token (line break or ASCII delimiter
+     * of the table-driven tokenizer), so the input may be split right after
+     * it without changing tokens (ASCII bytes never occur inside multi-byte
+     * UTF-8 sequences)
+     *
+     * @param tokenizer - tokenizer instance
+     * @param b - input byte
+     * @return true - if byte is a token boundary, false - otherwise
+     */
+    public static boolean isTokenBoundary(final ILexicalTokenizer tokenizer, final byte b) {
+        if ('\n' == b || '\r' == b) {
+            return true;
+        }
+        return (b >= 0) && (tokenizer instanceof LexicalTokenizer) && ((LexicalTokenizer) tokenizer).isDelimiter(b);
+    }
+
+    /**
+     * Tokenizes remaining bytes of the input buffer
+     *
+     * @param bytes - input buffer
+     */
+    public void tokenize(final ByteBuffer bytes) {
+        if (bytes.hasArray()) {
+            final int offset = bytes.arrayOffset() + bytes.position();
+            this.tokenize(bytes.array(), offset, offset + bytes.remaining());
+            bytes.position(bytes.limit());
+            return;
+        }
+        if (Objects.isNull(this.chunk)) {
+            this.chunk = new byte[DEFAULT_CHUNK_SIZE];
+        }
+        while (bytes.hasRemaining()) {
+            final int length = Math.min(this.chunk.length, bytes.remaining());
+            bytes.get(this.chunk, 0, length);
+            this.tokenize(this.chunk, 0, length);
+        }
+    }
+
+    /**
+     * Tokenizes range of the input bytes
+     *
+     * @param bytes - input bytes
+     * @param from - start index (inclusive)
+     * @param to - end index (exclusive)
+     */
+    public void tokenize(final byte[] bytes, final int from, final int to) {
+        this.byteCount += to - from;
+        if (Objects.nonNull(this.byteActions)) {
+            this.tokenizeSingleByte(bytes, from, to);
+            return;
+        }
+        if (Objects.nonNull(this.decoder)) {
+            this.tokenizeDecoded(bytes, from, to);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            final int b = bytes[i];
+            if (this.pendingBytes > 0) {
+                if ((b & 0xC0) == 0x80) {
+                    this.codePoint = (this.codePoint << 6) | (b & 0x3F);
+                    if (0 == --this.pendingBytes && !(DEFAULT_BYTE_ORDER_MARK == this.codePoint && 3 == this.byteCount - (to - i - 1))) {
+                        this.acceptCodePoint();
+                    }
+                    continue;
+                }
+                this.pendingBytes = 0;
+                this.accept(DEFAULT_REPLACEMENT_CHARACTER);
+            }
+            if (b >= 0) {
+                if ('\n' == b) {
+                    this.lineCount++;
+                    this.flush();
+                } else if ('\r' == b) {
+                    this.flush();
+                } else {
+                    this.accept(b);
+                }
+            } else if ((b & 0xE0) == 0xC0) {
+                this.startCodePoint(b & 0x1F, 1, 0x80);
+            } else if ((b & 0xF0) == 0xE0) {
+                this.startCodePoint(b & 0x0F, 2, 0x800);
+            } else if ((b & 0xF8) == 0xF0) {
+                this.startCodePoint(b & 0x07, 3, 0x10000);
+            } else {
+                this.accept(DEFAULT_REPLACEMENT_CHARACTER);
+            }
+        }
+    }
+
+    private void tokenizeSingleByte(final byte[] bytes, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final int b = bytes[i] & 0xFF;
+            switch (this.byteActions[b]) {
+                case ACTION_APPEND:
+                    this.accept(this.byteChars[b]);
+                    break;
+                case ACTION_DELIMITER:
+                case ACTION_CARRIAGE_RETURN:
+                    this.flush();
+                    break;
+                case ACTION_LINE_FEED:
+                    this.lineCount++;
+                    this.flush();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void tokenizeDecoded(final byte[] bytes, final int from, final int to) {
+        final ByteBuffer input = ByteBuffer.wrap(bytes, from, to - from);
+        while (this.pendingInput.position() > 0 && input.hasRemaining()) {
+            this.pendingInput.put(input.get()).flip();
+            this.decode(this.pendingInput, false);
+            this.pendingInput.compact();
+        }
+        this.decode(input, false);
+        if (input.hasRemaining()) {
+            this.pendingInput.put(input);
+        }
+    }
+
+    private void decode(final ByteBuffer input, final boolean endOfInput) {
+        CoderResult result;
+        do {
+            result = this.decoder.decode(input, this.decodedOutput, endOfInput);
+            this.acceptDecoded();
+        } while (result.isOverflow());
+    }
+
+    private void acceptDecoded() {
+        this.decodedOutput.flip();
+        while (this.decodedOutput.hasRemaining()) {
+            final char c = this.decodedOutput.get();
+            if (0 == this.charCount++ && DEFAULT_BYTE_ORDER_MARK == c) {
+                continue;
+            }
+            if (0 != this.highSurrogate) {
+                final char high = this.highSurrogate;
+                this.highSurrogate = 0;
+                if (Character.isLowSurrogate(c)) {
+                    this.accept(Character.toCodePoint(high, c));
+                    continue;
+                }
+                this.accept(DEFAULT_REPLACEMENT_CHARACTER);
+            }
+            if ('\n' == c) {
+                this.lineCount++;
+                this.flush();
+            } else if ('\r' == c) {
+                this.flush();
+            } else if (Character.isHighSurrogate(c)) {
+                this.highSurrogate = c;
+            } else if (Character.isLowSurrogate(c)) {
+                this.accept(DEFAULT_REPLACEMENT_CHARACTER);
+            } else {
+                this.accept(c);
+            }
+        }
+        this.decodedOutput.clear();
+    }
+
+    /**
+     * Completes tokenization (emits pending token if any) and reports
+     * counters to metrics
+     */
+    public void finish() {
+        if (this.pendingBytes > 0) {
+            this.pendingBytes = 0;
+            this.accept(DEFAULT_REPLACEMENT_CHARACTER);
+        }
+        if (Objects.nonNull(this.decoder)) {
+            this.pendingInput.flip();
+            this.decode(this.pendingInput, true);
+            this.pendingInput.clear();
+            this.decoder.flush(this.decodedOutput);
+            this.acceptDecoded();
+            this.decoder.reset();
+            if (0 != this.highSurrogate) {
+                this.highSurrogate = 0;
+                this.accept(DEFAULT_REPLACEMENT_CHARACTER);
+            }
+            this.charCount = 0;
+        }
+        this.flush();
+        this.metrics.addBytesRead(this.byteCount);
+        this.metrics.addLines(this.lineCount);
+        this.metrics.addTokens(this.tokenCount);
+        this.byteCount = this.lineCount = this.tokenCount = 0;
+    }
+
+    public ILexicalTokenMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    public Charset getCharset() {
+        return this.charset;
+    }
+
+    private void startCodePoint(final int bits, final int pendingBytes, final int codePointMin) {
+        this.codePoint = bits;
+        this.pendingBytes = pendingBytes;
+        this.codePointMin = codePointMin;
+    }
+
+    private void acceptCodePoint() {
+        if (this.codePoint < this.codePointMin || this.codePoint > Character.MAX_CODE_POINT
+                || (this.codePoint >= Character.MIN_SURROGATE && this.codePoint <= Character.MAX_SURROGATE)) {
+            this.accept(DEFAULT_REPLACEMENT_CHARACTER);
+        } else {
+            this.accept(this.codePoint);
+        }
+    }
+
+    private void accept(final int codePoint) {
+        if (Objects.nonNull(this.lexicalTokenizer)) {
+            this.lexicalTokenizer.accept(codePoint, this.buffer, this.consumer);
+        } else {
+            this.lineBuffer.appendCodePoint(codePoint);
+        }
+    }
+
+    private void flush() {
+        if (Objects.nonNull(this.lexicalTokenizer)) {
+            this.lexicalTokenizer.flush(this.buffer, this.consumer);
+        } else if (this.lineBuffer.length() > 0) {
+            this.tokenizer.tokenize(this.lineBuffer, this.consumer);
+            this.lineBuffer.setLength(0);
+        }
+    }
+}
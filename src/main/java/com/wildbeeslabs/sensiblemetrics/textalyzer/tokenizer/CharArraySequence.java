@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer;
+
+import java.util.Objects;
+
+/**
+ * Mutable character sequence view over a shared character array (the view is
+ * reused between tokens and must be copied in order to be retained)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class CharArraySequence implements CharSequence {
+
+    private char[] value;
+    private int offset;
+    private int count;
+
+    public CharArraySequence() {
+        this.wrap(new char[0], 0, 0);
+    }
+
+    public CharArraySequence wrap(final char[] value, final int offset, final int count) {
+        Objects.requireNonNull(value);
+        this.value = value;
+        this.offset = offset;
+        this.count = count;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return this.count;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException(String.format("ERROR: index=(%d) is out of bounds, length=(%d)", index, this.count));
+        }
+        return this.value[this.offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > this.count || start > end) {
+            throw new IndexOutOfBoundsException(String.format("ERROR: range=(%d, %d) is out of bounds, length=(%d)", start, end, this.count));
+        }
+        return new String(this.value, this.offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(this.value, this.offset, this.count);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer;
+
+import java.util.Arrays;
+
+/**
+ * Lexical token buffer class to collect characters of the current token
+ * between delimiters
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public class LexicalTokenBuffer {
+
+    /**
+     * Default buffer capacity
+     */
+    public static final int DEFAULT_BUFFER_CAPACITY = 64;
+
+    private char[] value;
+    private int count;
+    private boolean foldable;
+    private final CharArraySequence view;
+
+    public LexicalTokenBuffer() {
+        this.value = new char[DEFAULT_BUFFER_CAPACITY];
+        this.view = new CharArraySequence();
+        this.reset();
+    }
+
+    public void append(final char c) {
+        this.append(c, c < 0x80);
+    }
+
+    /**
+     * Appends character to the buffer
+     *
+     * @param c - input character
+     * @param foldable - true - if character case can be folded by the
+     * tokenizer lookup table, false - otherwise
+     */
+    public void append(final char c, final boolean foldable) {
+        if (this.count == this.value.length) {
+            this.value = Arrays.copyOf(this.value, this.value.length << 1);
+        }
+        this.value[this.count++] = c;
+        this.foldable &= foldable;
+    }
+
+    public void append(final int codePoint) {
+        this.append(codePoint, codePoint < 0x80);
+    }
+
+    public void append(final int codePoint, final boolean foldable) {
+        if (Character.isBmpCodePoint(codePoint)) {
+            this.append((char) codePoint, foldable);
+        } else {
+            this.append(Character.highSurrogate(codePoint), false);
+            this.append(Character.lowSurrogate(codePoint), false);
+        }
+    }
+
+    public void reset() {
+        this.count = 0;
+        this.foldable = true;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.count;
+    }
+
+    /**
+     * Checks whether case of all buffered characters can be folded by the
+     * tokenizer lookup table
+     *
+     * @return true - if all characters are foldable, false - otherwise
+     */
+    public boolean isFoldable() {
+        return this.foldable;
+    }
+
+    public int length() {
+        return this.count;
+    }
+
+    char[] getValue() {
+        return this.value;
+    }
+
+    CharArraySequence getView() {
+        return this.view;
+    }
+}
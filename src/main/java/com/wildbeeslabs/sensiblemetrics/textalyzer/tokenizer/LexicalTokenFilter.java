@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalAlphabet;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Lexical token filter class to remove characters matching the filter pattern
+ * and convert token to lower case (by the alphabet tables - if filter is
+ * created by alphabet)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class LexicalTokenFilter implements Function<CharSequence, CharSequence> {
+
+    /**
+     * Token filter pattern (null - if no characters should be removed)
+     */
+    private final String pattern;
+    /**
+     * Token alphabet (null - if filter is defined by pattern only)
+     */
+    private final LexicalAlphabet alphabet;
+
+    public LexicalTokenFilter() {
+        this((String) null);
+    }
+
+    public LexicalTokenFilter(final String pattern) {
+        this.pattern = pattern;
+        this.alphabet = null;
+    }
+
+    public LexicalTokenFilter(final LexicalAlphabet alphabet) {
+        this.pattern = alphabet.getFilterPattern();
+        this.alphabet = alphabet;
+    }
+
+    @Override
+    public CharSequence apply(final CharSequence word) {
+        String value = String.valueOf(word);
+        if (Objects.nonNull(this.pattern)) {
+            value = value.replaceAll(this.pattern, StringUtils.EMPTY);
+        }
+        return (Objects.nonNull(this.alphabet) ? this.alphabet.toLowerCase(value) : value.toLowerCase()).trim();
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalAlphabet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.interfaces.ILexicalTokenizer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Table-driven lexical tokenizer class to split text by delimiter character
+ * class, remove filtered characters and convert tokens to lower case in a
+ * single pass (produces the same tokens as {@link RegexLexicalTokenizer} with
+ * {@link LexicalTokenFilter}), tokenizer created by {@link LexicalAlphabet}
+ * removes all characters but letters of the alphabet, compiles character
+ * classes for the whole alphabet range ahead of time and converts tokens to
+ * lower case by the alphabet tables (locale independent)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+@EqualsAndHashCode(of = {"tokenDelim", "tokenFilterPattern", "locale"})
+@ToString(of = {"tokenDelim", "tokenFilterPattern", "locale"})
+public class LexicalTokenizer implements ILexicalTokenizer {
+
+    /**
+     * Default character class flags
+     */
+    private static final byte CLASS_KNOWN = 0x1;
+    private static final byte CLASS_DELIMITER = 0x2;
+    private static final byte CLASS_REMOVED = 0x4;
+    private static final byte CLASS_FOLDABLE = 0x8;
+    /**
+     * Default character class quantifiers supported by delimiter / filter
+     * patterns
+     */
+    private static final List<String> DEFAULT_CLASS_QUANTIFIERS = Arrays.asList(StringUtils.EMPTY, "+", "+?", "++");
+    /**
+     * Default predefined character classes
+     */
+    private static final String DEFAULT_PREDEFINED_CLASSES = "sSdDwWhHvV";
+    /**
+     * Default tokenizer instances cache
+     */
+    private static final Map<String, LexicalTokenizer> INSTANCES = new ConcurrentHashMap<>();
+
+    private final String tokenDelim;
+    private final String tokenFilterPattern;
+    private final Locale locale;
+    private final Pattern delimiterPattern;
+    private final Pattern filterPattern;
+    private final LexicalAlphabet alphabet;
+    private final byte[] charClasses;
+    private final Map<Integer, Byte> codePointClasses;
+    private final char[] lowerCaseTable;
+    private final ThreadLocal<LexicalTokenBuffer> buffers;
+
+    public LexicalTokenizer(final String tokenDelim, final String tokenFilterPattern) {
+        this(tokenDelim, tokenFilterPattern, null);
+    }
+
+    public LexicalTokenizer(final String tokenDelim, final LexicalAlphabet alphabet) {
+        this(tokenDelim, alphabet.getFilterPattern(), alphabet);
+    }
+
+    private LexicalTokenizer(final String tokenDelim, final String tokenFilterPattern, final LexicalAlphabet alphabet) {
+        if (!LexicalTokenizer.isCompilable(tokenDelim, tokenFilterPattern)) {
+            throw new IllegalArgumentException(String.format("ERROR: cannot compile tokenizer for delimiter=(%s), filter=(%s)", tokenDelim, tokenFilterPattern));
+        }
+        this.tokenDelim = tokenDelim;
+        this.tokenFilterPattern = tokenFilterPattern;
+        this.locale = Locale.getDefault();
+        this.delimiterPattern = Pattern.compile(getCharacterClass(tokenDelim));
+        this.filterPattern = Objects.isNull(tokenFilterPattern) ? null : Pattern.compile(getCharacterClass(tokenFilterPattern));
+        this.alphabet = alphabet;
+        this.charClasses = new byte[Character.MAX_VALUE + 1];
+        this.codePointClasses = new ConcurrentHashMap<>();
+        this.lowerCaseTable = new char[Objects.isNull(alphabet) ? 0x80 : Math.min(alphabet.size(), Character.MIN_SURROGATE)];
+        this.buffers = ThreadLocal.withInitial(LexicalTokenBuffer::new);
+        for (char c = 0; c < this.lowerCaseTable.length; c++) {
+            if (Objects.nonNull(alphabet)) {
+                this.lowerCaseTable[c] = (char) alphabet.toLowerCase(c);
+            } else {
+                final String lowerCase = String.valueOf(c).toLowerCase(this.locale);
+                this.lowerCaseTable[c] = (1 == lowerCase.length()) ? lowerCase.charAt(0) : c;
+            }
+        }
+        for (char c = 0; c < this.lowerCaseTable.length; c++) {
+            this.charClasses[c] = this.compileClass(c);
+        }
+    }
+
+    public static LexicalTokenizer getInstance(final String tokenDelim, final String tokenFilterPattern) {
+        final String key = String.valueOf(tokenDelim) + '\u0000' + String.valueOf(tokenFilterPattern) + '\u0000' + Locale.getDefault();
+        return INSTANCES.computeIfAbsent(key, k -> new LexicalTokenizer(tokenDelim, tokenFilterPattern));
+    }
+
+    public static LexicalTokenizer getInstance(final String tokenDelim, final LexicalAlphabet alphabet) {
+        final String key = String.valueOf(tokenDelim) + '\u0001' + alphabet.getName() + '\u0000' + Locale.getDefault();
+        return INSTANCES.computeIfAbsent(key, k -> new LexicalTokenizer(tokenDelim, alphabet));
+    }
+
+    /**
+     * Checks whether delimiter and filter patterns are single character classes
+     * which can be compiled into lookup tables
+     *
+     * @param tokenDelim - token delimiter pattern
+     * @param tokenFilterPattern - token filter pattern (nullable)
+     * @return true - if patterns can be compiled, false - otherwise
+     */
+    public static boolean isCompilable(final String tokenDelim, final String tokenFilterPattern) {
+        return Objects.nonNull(getCharacterClass(tokenDelim))
+                && (Objects.isNull(tokenFilterPattern) || Objects.nonNull(getCharacterClass(tokenFilterPattern)));
+    }
+
+    @Override
+    public void tokenize(final CharSequence value, final Consumer<? super CharSequence> consumer) {
+        final CharSequence line = Objects.isNull(value) ? String.valueOf(value) : value;
+        final LexicalTokenBuffer buffer = this.buffers.get();
+        buffer.reset();
+        final int length = line.length();
+        final int tableLength = this.lowerCaseTable.length;
+        for (int i = 0; i < length;) {
+            final char c = line.charAt(i);
+            if (c < tableLength) {
+                this.accept(c, this.charClasses[c], buffer, consumer);
+                i++;
+            } else {
+                final int codePoint = Character.codePointAt(line, i);
+                this.accept(codePoint, this.classOf(codePoint), buffer, consumer);
+                i += Character.charCount(codePoint);
+            }
+        }
+        this.flush(buffer, consumer);
+    }
+
+    /**
+     * Passes code point to the token buffer (flushes the current token on
+     * delimiter, skips filtered characters)
+     *
+     * @param codePoint - input code point
+     * @param buffer - token buffer
+     * @param consumer - token consumer
+     */
+    public void accept(final int codePoint, final LexicalTokenBuffer buffer, final Consumer<? super CharSequence> consumer) {
+        this.accept(codePoint, this.classOf(codePoint), buffer, consumer);
+    }
+
+    /**
+     * Emits the current token from the buffer (if any) and resets the buffer
+     *
+     * @param buffer - token buffer
+     * @param consumer - token consumer
+     */
+    public void flush(final LexicalTokenBuffer buffer, final Consumer<? super CharSequence> consumer) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        final char[] chars = buffer.getValue();
+        if (buffer.isFoldable()) {
+            int start = 0;
+            int end = buffer.length();
+            for (int i = start; i < end; i++) {
+                chars[i] = this.lowerCaseTable[chars[i]];
+            }
+            while (start < end && chars[start] <= ' ') {
+                start++;
+            }
+            while (end > start && chars[end - 1] <= ' ') {
+                end--;
+            }
+            if (start < end) {
+                consumer.accept(buffer.getView().wrap(chars, start, end - start));
+            }
+        } else {
+            final String value = new String(chars, 0, buffer.length());
+            final String word = (Objects.nonNull(this.alphabet) ? this.alphabet.toLowerCase(value) : value.toLowerCase(this.locale)).trim();
+            if (StringUtils.isNotBlank(word)) {
+                consumer.accept(word);
+            }
+        }
+        buffer.reset();
+    }
+
+    public boolean isDelimiter(final int codePoint) {
+        return (this.classOf(codePoint) & CLASS_DELIMITER) != 0;
+    }
+
+    public boolean isRemoved(final int codePoint) {
+        return (this.classOf(codePoint) & CLASS_REMOVED) != 0;
+    }
+
+    private void accept(final int codePoint, final byte charClass, final LexicalTokenBuffer buffer, final Consumer<? super CharSequence> consumer) {
+        if ((charClass & CLASS_DELIMITER) != 0) {
+            this.flush(buffer, consumer);
+        } else if ((charClass & CLASS_REMOVED) == 0) {
+            buffer.append(codePoint, (charClass & CLASS_FOLDABLE) != 0);
+        }
+    }
+
+    private byte classOf(final int codePoint) {
+        if (Character.isBmpCodePoint(codePoint)) {
+            byte charClass = this.charClasses[codePoint];
+            if (0 == charClass) {
+                charClass = this.compileClass(codePoint);
+                this.charClasses[codePoint] = charClass;
+            }
+            return charClass;
+        }
+        return this.codePointClasses.computeIfAbsent(codePoint, this::compileClass);
+    }
+
+    private byte compileClass(final int codePoint) {
+        final String value = new String(Character.toChars(codePoint));
+        byte charClass = CLASS_KNOWN;
+        if (this.delimiterPattern.matcher(value).matches()) {
+            charClass |= CLASS_DELIMITER;
+        }
+        if (Objects.nonNull(this.alphabet) ? !this.alphabet.isLetter(codePoint) : Objects.nonNull(this.filterPattern) && this.filterPattern.matcher(value).matches()) {
+            charClass |= CLASS_REMOVED;
+        }
+        if (codePoint < this.lowerCaseTable.length && (Objects.nonNull(this.alphabet) || 1 == String.valueOf((char) codePoint).toLowerCase(this.locale).length())) {
+            charClass |= CLASS_FOLDABLE;
+        }
+        return charClass;
+    }
+
+    private static String getCharacterClass(final String pattern) {
+        if (StringUtils.isEmpty(pattern) || pattern.contains("\\Q")) {
+            return null;
+        }
+        final int end = indexOfCharacterClassEnd(pattern);
+        if (end < 0 || !DEFAULT_CLASS_QUANTIFIERS.contains(pattern.substring(end))) {
+            return null;
+        }
+        final String characterClass = pattern.substring(0, end);
+        try {
+            Pattern.compile(characterClass);
+        } catch (PatternSyntaxException ex) {
+            return null;
+        }
+        return characterClass;
+    }
+
+    private static int indexOfCharacterClassEnd(final String pattern) {
+        if ('[' == pattern.charAt(0)) {
+            int depth = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                final char c = pattern.charAt(i);
+                if ('\\' == c) {
+                    i++;
+                } else if ('[' == c) {
+                    depth++;
+                } else if (']' == c && 0 == --depth) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+        if ('\\' == pattern.charAt(0) && pattern.length() > 1 && DEFAULT_PREDEFINED_CLASSES.indexOf(pattern.charAt(1)) >= 0) {
+            return 2;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.interfaces.ILexicalTokenizer;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Regular expression lexical tokenizer class to split text by delimiter
+ * pattern and apply arbitrary token filter
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+@EqualsAndHashCode
+@ToString
+public class RegexLexicalTokenizer implements ILexicalTokenizer {
+
+    private final Function<CharSequence, CharSequence> tokenFilter;
+    private final String tokenDelim;
+
+    public RegexLexicalTokenizer(final Function<CharSequence, CharSequence> tokenFilter, final String tokenDelim) {
+        this.tokenFilter = tokenFilter;
+        this.tokenDelim = tokenDelim;
+    }
+
+    @Override
+    public void tokenize(final CharSequence value, final Consumer<? super CharSequence> consumer) {
+        for (final String word : String.valueOf(value).trim().split(this.tokenDelim)) {
+            final CharSequence token = this.tokenFilter.apply(word);
+            if (StringUtils.isNotBlank(token)) {
+                consumer.accept(token);
+            }
+        }
+    }
+}
@@ -23,6 +23,9 @@
  */
 package com.wildbeeslabs.sensiblemetrics.textalyzer.utils;
 
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntLongCounter;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntObjectMap;
+
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -37,6 +40,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.IntPredicate;
@@ -79,6 +83,10 @@ public class ConverterUtils {
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (oldValue, newValue) -> oldValue, LinkedHashMap::new));
     }
 
+    public static <E, K, A> Map<K, A> getSortedMapBy(final Stream<E> stream, final Function<E, K> groupingBy, final Comparator<? super K> comparator, final Collector<E, ?, A> collector) {
+        return stream.collect(Collectors.groupingBy(groupingBy, () -> new TreeMap<>(comparator), collector));
+    }
+
     public static <T> Map<Integer, IntSummaryStatistics> getMapStatisticsBy(final Stream<T> stream, final Function<T, Integer> groupingBy, final ToIntFunction<? super T> mapper) {
         return stream.collect(Collectors.groupingBy(groupingBy, Collectors.summarizingInt(mapper)));
     }
@@ -107,6 +115,19 @@ public class ConverterUtils {
         return stream.collect(Collectors.groupingBy(groupingBy, Collectors.counting()));
     }
 
+    public static <E> IntLongCounter getIntCountBy(final Stream<E> stream, final ToIntFunction<? super E> groupingBy) {
+        return stream.collect(IntLongCounter::new, (counter, item) -> counter.increment(groupingBy.applyAsInt(item)), IntLongCounter::merge);
+    }
+
+    public static <E, U> IntObjectMap<List<U>> convertToIntMapList(final Stream<E> stream, final ToIntFunction<? super E> groupingBy, final Function<? super E, ? extends U> mapper) {
+        return stream.collect(IntObjectMap::new,
+                (map, item) -> map.computeIfAbsent(groupingBy.applyAsInt(item), (key) -> new ArrayList<>()).add(mapper.apply(item)),
+                (first, last) -> first.merge(last, (firstList, lastList) -> {
+                    firstList.addAll(lastList);
+                    return firstList;
+                }));
+    }
+
     public static <E, K, U> Map<K, List<U>> convertToMapList(final Stream<E> stream, final Function<E, K> groupingBy, final Function<E, U> mapper) {
         return stream.collect(Collectors.groupingBy(groupingBy, Collectors.mapping(mapper, Collectors.toList())));
     }
@@ -23,30 +23,62 @@
  */
 package com.wildbeeslabs.sensiblemetrics.textalyzer.utils;
 
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.LexicalTokenAggregateTask;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.LexicalTokenFileTask;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.LexicalTokenPipeline;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenCardinality;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenHeavyHitters;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.LexicalTokenStage;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.NoOpLexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.interfaces.ILexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.ByteLexicalTokenizer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.interfaces.ILexicalTokenizer;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -71,28 +103,171 @@ public class FileUtils {
      * Default file character encoding
      */
     public static final Charset DEFAULT_FILE_CHARACTER_ENCODING = StandardCharsets.UTF_8;
+    /**
+     * Default memory-mapped window size (files larger than the window are
+     * mapped window by window)
+     */
+    public static final long DEFAULT_MAPPED_WINDOW_SIZE = 256L * 1024 * 1024;
+    /**
+     * Default minimum size of the file chunk processed in parallel
+     */
+    public static final long DEFAULT_MIN_CHUNK_SIZE = 1024L * 1024;
+    /**
+     * Default number of file chunks per worker (for load balancing)
+     */
+    public static final int DEFAULT_CHUNKS_PER_WORKER = 4;
+    /**
+     * Default buffer size of the streaming (compressed) input
+     */
+    public static final int DEFAULT_STREAM_BUFFER_SIZE = 256 * 1024;
 
     private FileUtils() {
         // PRIVATE EMPTY CONSTRUCTOR
     }
 
-    public static List<String> readAllLines(final File inputFile) {
+    /**
+     * Checks whether input file is GZIP formatted or not (by magic bytes)
+     *
+     * @param inputFile - input file
+     * @return true - if GZIP formatted, false - otherwise
+     * @throws IOException On read operation.
+     */
+    public static boolean isGZIPFile(final File inputFile) throws IOException {
         Objects.requireNonNull(inputFile);
-        List<String> resultList = Collections.EMPTY_LIST;
+        final byte[] header = new byte[2];
+        try (final InputStream in = new FileInputStream(inputFile)) {
+            int length = 0;
+            for (int count; length < header.length && (count = in.read(header, length, header.length - length)) >= 0;) {
+                length += count;
+            }
+            return length == header.length && StringUtils.isGZIPStream(header);
+        }
+    }
+
+    /**
+     * Returns input stream of the file (GZIP formatted files are decompressed
+     * on the fly)
+     *
+     * @param inputFile - input file
+     * @return input stream
+     * @throws IOException On read operation.
+     */
+    public static InputStream newInputStream(final File inputFile) throws IOException {
+        final InputStream in = new FileInputStream(inputFile);
+        try {
+            if (isGZIPFile(inputFile)) {
+                return new GZIPInputStream(in, DEFAULT_STREAM_BUFFER_SIZE);
+            }
+            return new BufferedInputStream(in, DEFAULT_STREAM_BUFFER_SIZE);
+        } catch (IOException ex) {
+            in.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns buffered reader of the file (GZIP formatted files are
+     * decompressed on the fly)
+     *
+     * @param inputFile - input file
+     * @return buffered reader
+     * @throws IOException On read operation.
+     */
+    public static BufferedReader newBufferedReader(final File inputFile) throws IOException {
+        return newBufferedReader(inputFile, FileUtils.DEFAULT_FILE_CHARACTER_ENCODING);
+    }
+
+    /**
+     * Returns buffered reader of the file in the charset detected by byte
+     * order mark or in the given charset (byte order mark is skipped)
+     *
+     * @param inputFile - input file
+     * @param charset - input charset (if no byte order mark)
+     * @return buffered reader
+     * @throws IOException On read operation.
+     */
+    public static BufferedReader newBufferedReader(final File inputFile, final Charset charset) throws IOException {
+        Objects.requireNonNull(inputFile);
+        final Charset inputCharset = getCharset(inputFile, charset);
+        final BufferedReader reader;
+        if (isGZIPFile(inputFile)) {
+            reader = new BufferedReader(new InputStreamReader(newInputStream(inputFile), inputCharset.newDecoder()), DEFAULT_STREAM_BUFFER_SIZE);
+        } else {
+            reader = Files.newBufferedReader(inputFile.toPath(), inputCharset);
+        }
         try {
-            resultList = Files.readAllLines(inputFile.toPath(), FileUtils.DEFAULT_FILE_CHARACTER_ENCODING);
+            reader.mark(1);
+            if (ByteLexicalTokenizer.DEFAULT_BYTE_ORDER_MARK != reader.read()) {
+                reader.reset();
+            }
         } catch (IOException ex) {
+            reader.close();
+            throw ex;
+        }
+        return reader;
+    }
+
+    /**
+     * Returns charset of the file detected by byte order mark (UTF-8,
+     * UTF-16BE, UTF-16LE) or the given charset if there is no byte order mark
+     *
+     * @param inputFile - input file
+     * @param charset - default charset
+     * @return input charset
+     * @throws IOException On read operation.
+     */
+    public static Charset getCharset(final File inputFile, final Charset charset) throws IOException {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(charset);
+        final byte[] header = new byte[3];
+        int length = 0;
+        try (final InputStream in = newInputStream(inputFile)) {
+            for (int count; length < header.length && (count = in.read(header, length, header.length - length)) >= 0;) {
+                length += count;
+            }
+        }
+        if (length >= 3 && (byte) 0xEF == header[0] && (byte) 0xBB == header[1] && (byte) 0xBF == header[2]) {
+            return StandardCharsets.UTF_8;
+        } else if (length >= 2 && (byte) 0xFE == header[0] && (byte) 0xFF == header[1]) {
+            return StandardCharsets.UTF_16BE;
+        } else if (length >= 2 && (byte) 0xFF == header[0] && (byte) 0xFE == header[1]) {
+            return StandardCharsets.UTF_16LE;
+        }
+        return charset;
+    }
+
+    public static List<String> readAllLines(final File inputFile) {
+        return readAllLines(inputFile, NoOpLexicalTokenMetrics.getInstance());
+    }
+
+    public static List<String> readAllLines(final File inputFile, final ILexicalTokenMetrics metrics) {
+        return readAllLines(inputFile, metrics, FileUtils.DEFAULT_FILE_CHARACTER_ENCODING);
+    }
+
+    public static List<String> readAllLines(final File inputFile, final ILexicalTokenMetrics metrics, final Charset charset) {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(metrics);
+        List<String> resultList = Collections.EMPTY_LIST;
+        final long startTime = metrics.startTime();
+        try (final BufferedReader br = newBufferedReader(inputFile, charset)) {
+            resultList = br.lines().collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException ex) {
             LOGGER.error(String.format("ERROR: cannot read from input file=%s, message=%s", String.valueOf(inputFile), ex.getMessage()));
         }
+        metrics.stop(LexicalTokenStage.READ, startTime);
+        if (metrics.isEnabled()) {
+            metrics.addBytesRead(inputFile.length());
+            metrics.addLines(resultList.size());
+        }
         return resultList;
     }
 
     public static List<String> readFileByFilter(final File inputFile, final Predicate<String> predicate) {
         Objects.requireNonNull(inputFile);
         List<String> resultList = Collections.EMPTY_LIST;
-        try (final BufferedReader br = Files.newBufferedReader(inputFile.toPath(), FileUtils.DEFAULT_FILE_CHARACTER_ENCODING)) {
+        try (final BufferedReader br = newBufferedReader(inputFile)) {
             resultList = br.lines().filter(predicate).collect(Collectors.toList());
-        } catch (IOException ex) {
+        } catch (IOException | UncheckedIOException ex) {
             LOGGER.error(String.format("ERROR: cannot read from input file=%s, message=%s", String.valueOf(inputFile), ex.getMessage()));
         }
         return resultList;
@@ -100,15 +275,492 @@ public class FileUtils {
 
     public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> List<E> readFile(final File inputFile, final ILexicalTokenAnalyzer<U, T, E> analyzer) {
         Objects.requireNonNull(inputFile);
-        final List<String> stringList = readAllLines(inputFile);
+        final List<String> stringList = readAllLines(inputFile, analyzer.getMetrics(), analyzer.getCharset());
         return analyzer.getLexicalTokenTermList(stringList.stream().map(word -> (U) word), Comparator.reverseOrder());
     }
 
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> List<ILexicalTokenAggregate<U>> readFileAggregate(final File inputFile, final ILexicalTokenAnalyzer<U, T, E> analyzer) {
+        Objects.requireNonNull(inputFile);
+        List<ILexicalTokenAggregate<U>> resultList = Collections.EMPTY_LIST;
+        try (final BufferedReader br = newBufferedReader(inputFile, analyzer.getCharset())) {
+            resultList = analyzer.getLexicalTokenAggregateList(br.lines().map(line -> (U) line), Comparator.reverseOrder());
+        } catch (IOException | UncheckedIOException ex) {
+            LOGGER.error(String.format("ERROR: cannot read from input file=%s, message=%s", String.valueOf(inputFile), ex.getMessage()));
+        }
+        return resultList;
+    }
+
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> List<ILexicalTokenAggregate<U>> readFileMapped(final File inputFile, final ILexicalTokenAnalyzer<U, T, E> analyzer) {
+        Objects.requireNonNull(inputFile);
+        List<ILexicalTokenAggregate<U>> resultList = Collections.EMPTY_LIST;
+        try {
+            resultList = readFileAggregator(inputFile, analyzer).getAggregateList(Comparator.reverseOrder());
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot read from input file=%s, message=%s", String.valueOf(inputFile), ex.getMessage()));
+        }
+        return resultList;
+    }
+
+    /**
+     * Returns aggregator of the input file (memory-mapped, GZIP formatted
+     * files are streamed)
+     *
+     * @param inputFile - input file
+     * @param analyzer - analyzer instance
+     * @return aggregator
+     * @throws IOException On read operation.
+     */
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> ILexicalTokenAggregator<U> readFileAggregator(final File inputFile, final ILexicalTokenAnalyzer<U, T, E> analyzer) throws IOException {
+        Objects.requireNonNull(inputFile);
+        final ILexicalTokenAggregator<U> aggregator = analyzer.getLexicalTokenAggregator();
+        final ByteLexicalTokenizer tokenizer = new ByteLexicalTokenizer(analyzer.getTokenizer(), aggregator, analyzer.getMetrics(), getCharset(inputFile, analyzer.getCharset()));
+        if (isGZIPFile(inputFile)) {
+            readFileStream(inputFile, tokenizer);
+        } else {
+            readFileMapped(inputFile, 0, inputFile.length(), tokenizer);
+        }
+        return aggregator;
+    }
+
+    /**
+     * Returns aggregator of the input file processed in parallel chunks
+     *
+     * @param inputFile - input file
+     * @param analyzer - analyzer instance
+     * @param pool - fork / join pool
+     * @return aggregator
+     * @throws IOException On read operation.
+     */
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> ILexicalTokenAggregator<U> readFileAggregator(final File inputFile, final ILexicalTokenAnalyzer<U, T, E> analyzer, final ForkJoinPool pool) throws IOException {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(pool);
+        if (isGZIPFile(inputFile)) {
+            return readFileAggregator(inputFile, analyzer);
+        }
+        final Charset charset = getCharset(inputFile, analyzer.getCharset());
+        final long[] boundaries = splitFile(inputFile, getChunkCount(inputFile, pool.getParallelism()), analyzer.getTokenizer(), charset);
+        try {
+            return pool.invoke(new LexicalTokenAggregateTask<>(inputFile, analyzer, charset, boundaries, 0, boundaries.length - 1));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    public static void readFileMapped(final File inputFile, final long position, final long size, final ByteLexicalTokenizer tokenizer) throws IOException {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(tokenizer);
+        final long startTime = tokenizer.getMetrics().startTime();
+        try (final FileChannel channel = FileChannel.open(inputFile.toPath(), StandardOpenOption.READ)) {
+            final long limit = Math.min(position + size, channel.size());
+            for (long offset = position; offset < limit; offset += DEFAULT_MAPPED_WINDOW_SIZE) {
+                tokenizer.tokenize(channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(DEFAULT_MAPPED_WINDOW_SIZE, limit - offset)));
+            }
+        }
+        tokenizer.finish();
+        tokenizer.getMetrics().stop(LexicalTokenStage.TOKENIZE, startTime);
+    }
+
+    /**
+     * Streams input file (GZIP formatted files are decompressed on the fly)
+     * into the byte tokenizer
+     *
+     * @param inputFile - input file
+     * @param tokenizer - byte tokenizer
+     * @throws IOException On read operation.
+     */
+    public static void readFileStream(final File inputFile, final ByteLexicalTokenizer tokenizer) throws IOException {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(tokenizer);
+        final long startTime = tokenizer.getMetrics().startTime();
+        try (final InputStream in = newInputStream(inputFile)) {
+            final byte[] buffer = new byte[DEFAULT_STREAM_BUFFER_SIZE];
+            for (int length; (length = in.read(buffer)) >= 0;) {
+                tokenizer.tokenize(buffer, 0, length);
+            }
+        }
+        tokenizer.finish();
+        tokenizer.getMetrics().stop(LexicalTokenStage.TOKENIZE, startTime);
+    }
+
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> List<ILexicalTokenAggregate<U>> readFileParallel(final File inputFile, final ILexicalTokenAnalyzer<U, T, E> analyzer, final int parallelism) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return readFileParallel(inputFile, analyzer, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> List<ILexicalTokenAggregate<U>> readFileParallel(final File inputFile, final ILexicalTokenAnalyzer<U, T, E> analyzer, final ForkJoinPool pool) {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(pool);
+        List<ILexicalTokenAggregate<U>> resultList = Collections.EMPTY_LIST;
+        try {
+            resultList = readFileAggregator(inputFile, analyzer, pool).getAggregateList(Comparator.reverseOrder());
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot read from input file=%s, message=%s", String.valueOf(inputFile), ex.getMessage()));
+        }
+        return resultList;
+    }
+
+    /**
+     * Analyzes files concurrently in batch mode (files and their chunks are
+     * scheduled on the same work-stealing pool)
+     *
+     * @param inputFiles - input files
+     * @param analyzer - analyzer instance
+     * @param outputMapper - function to resolve per-file output (may return
+     * null)
+     * @param pool - fork / join pool
+     * @return merged aggregate list of all processed files (files that could
+     * not be processed are logged and skipped)
+     */
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> List<ILexicalTokenAggregate<U>> readFileBatch(final List<File> inputFiles, final ILexicalTokenAnalyzer<U, T, E> analyzer, final Function<? super File, File> outputMapper, final ForkJoinPool pool) {
+        return readFileBatchAggregator(inputFiles, analyzer, outputMapper, pool).getAggregateList(Comparator.reverseOrder());
+    }
+
+    /**
+     * Returns merged aggregator of files analyzed concurrently in batch mode
+     *
+     * @param inputFiles - input files
+     * @param analyzer - analyzer instance
+     * @param outputMapper - function to resolve per-file output (may return
+     * null)
+     * @param pool - fork / join pool
+     * @return merged aggregator of all processed files
+     */
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> ILexicalTokenAggregator<U> readFileBatchAggregator(final List<File> inputFiles, final ILexicalTokenAnalyzer<U, T, E> analyzer, final Function<? super File, File> outputMapper, final ForkJoinPool pool) {
+        Objects.requireNonNull(inputFiles);
+        Objects.requireNonNull(outputMapper);
+        Objects.requireNonNull(pool);
+        final List<LexicalTokenFileTask<U>> taskList = inputFiles.stream()
+                .map(inputFile -> new LexicalTokenFileTask<>(inputFile, outputMapper.apply(inputFile), analyzer))
+                .collect(Collectors.toList());
+        final ILexicalTokenAggregator<U> aggregator = pool.invoke(ForkJoinTask.adapt(() -> {
+            final ILexicalTokenAggregator<U> result = analyzer.getLexicalTokenAggregator();
+            ForkJoinTask.invokeAll(taskList).forEach(task -> result.merge(task.join()));
+            return result;
+        }));
+        final long failed = taskList.stream().filter(task -> Objects.isNull(task.join())).count();
+        if (failed > 0) {
+            LOGGER.error(String.format("ERROR: cannot process %d of %d input files", failed, taskList.size()));
+        }
+        return aggregator;
+    }
+
+    /**
+     * Returns the most frequent tokens grouped by length of the input files
+     *
+     * @param inputFiles - input files
+     * @param analyzer - analyzer instance
+     * @param topK - number of the most frequent tokens per group
+     * @param epsilon - relative error of the frequency estimates
+     * @param delta - error probability of the frequency estimates
+     * @param pool - fork / join pool
+     * @return merged heavy hitters of all files
+     * @throws IOException On read operation.
+     */
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> LexicalTokenHeavyHitters readFileHeavyHitters(final List<File> inputFiles, final ILexicalTokenAnalyzer<U, T, E> analyzer, final int topK, final double epsilon, final double delta, final ForkJoinPool pool) throws IOException {
+        return readFileCollect(inputFiles, analyzer.getTokenizer(), analyzer.getMetrics(), analyzer.getCharset(), () -> new LexicalTokenHeavyHitters(topK, epsilon, delta), LexicalTokenHeavyHitters::merge, pool);
+    }
+
+    /**
+     * Returns distinct tokens estimates grouped by length (and by analyzer
+     * token group) of the input files
+     *
+     * @param inputFiles - input files
+     * @param analyzer - analyzer instance
+     * @param precision - HyperLogLog precision
+     * @param pool - fork / join pool
+     * @return merged cardinality tracker of all files
+     * @throws IOException On read operation.
+     */
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> LexicalTokenCardinality readFileCardinality(final List<File> inputFiles, final ILexicalTokenAnalyzer<U, T, E> analyzer, final int precision, final ForkJoinPool pool) throws IOException {
+        return readFileCollect(inputFiles, analyzer.getTokenizer(), analyzer.getMetrics(), analyzer.getCharset(), () -> analyzer.getLexicalTokenCardinality(precision), LexicalTokenCardinality::merge, pool);
+    }
+
+    /**
+     * Returns pipeline filled by a single read and tokenization pass of the
+     * input files
+     *
+     * @param inputFiles - input files
+     * @param analyzer - analyzer instance
+     * @param pipeline - pipeline template (not changed)
+     * @param pool - fork / join pool
+     * @return merged pipeline of all files
+     * @throws IOException On read operation.
+     */
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> LexicalTokenPipeline readFilePipeline(final List<File> inputFiles, final ILexicalTokenAnalyzer<U, T, E> analyzer, final LexicalTokenPipeline pipeline, final ForkJoinPool pool) throws IOException {
+        Objects.requireNonNull(pipeline);
+        return readFileCollect(inputFiles, analyzer.getTokenizer(), analyzer.getMetrics(), analyzer.getCharset(), pipeline::copy, LexicalTokenPipeline::merge, pool);
+    }
+
+    /**
+     * Returns mergeable token consumer folded from the input files (files are
+     * split into chunks processed in parallel, GZIP formatted files are
+     * streamed as a single chunk, partial results are merged)
+     *
+     * @param inputFiles - input files
+     * @param tokenizer - tokenizer instance
+     * @param supplier - partial result factory
+     * @param combiner - partial results combiner
+     * @param pool - fork / join pool
+     * @return merged result of all files
+     * @throws IOException On read operation.
+     */
+    public static <A extends Consumer<? super CharSequence>> A readFileCollect(final List<File> inputFiles, final ILexicalTokenizer tokenizer, final Supplier<A> supplier, final BiConsumer<A, A> combiner, final ForkJoinPool pool) throws IOException {
+        return readFileCollect(inputFiles, tokenizer, NoOpLexicalTokenMetrics.getInstance(), supplier, combiner, pool);
+    }
+
+    /**
+     * Returns mergeable token consumer folded from the input files recording
+     * pipeline metrics
+     *
+     * @param inputFiles - input files
+     * @param tokenizer - tokenizer instance
+     * @param metrics - pipeline metrics
+     * @param supplier - partial result factory
+     * @param combiner - partial results combiner
+     * @param pool - fork / join pool
+     * @return merged result of all files
+     * @throws IOException On read operation.
+     */
+    public static <A extends Consumer<? super CharSequence>> A readFileCollect(final List<File> inputFiles, final ILexicalTokenizer tokenizer, final ILexicalTokenMetrics metrics, final Supplier<A> supplier, final BiConsumer<A, A> combiner, final ForkJoinPool pool) throws IOException {
+        return readFileCollect(inputFiles, tokenizer, metrics, FileUtils.DEFAULT_FILE_CHARACTER_ENCODING, supplier, combiner, pool);
+    }
+
+    /**
+     * Returns mergeable token consumer folded from the input files in the
+     * given charset (unless detected by byte order mark) recording pipeline
+     * metrics (chunks of all files are folded by at most pool parallelism
+     * workers into one partial result each, so the number of live partial
+     * results does not depend on the number of chunks)
+     *
+     * @param inputFiles - input files
+     * @param tokenizer - tokenizer instance
+     * @param metrics - pipeline metrics
+     * @param charset - input charset
+     * @param supplier - partial result factory
+     * @param combiner - partial results combiner
+     * @param pool - fork / join pool
+     * @return merged result of all files
+     * @throws IOException On read operation.
+     */
+    public static <A extends Consumer<? super CharSequence>> A readFileCollect(final List<File> inputFiles, final ILexicalTokenizer tokenizer, final ILexicalTokenMetrics metrics, final Charset charset, final Supplier<A> supplier, final BiConsumer<A, A> combiner, final ForkJoinPool pool) throws IOException {
+        Objects.requireNonNull(inputFiles);
+        Objects.requireNonNull(metrics);
+        Objects.requireNonNull(charset);
+        Objects.requireNonNull(supplier);
+        Objects.requireNonNull(combiner);
+        Objects.requireNonNull(pool);
+        final List<Consumer<A>> chunkList = new ArrayList<>();
+        for (final File inputFile : inputFiles) {
+            final Charset inputCharset = getCharset(inputFile, charset);
+            if (isGZIPFile(inputFile)) {
+                chunkList.add((result) -> {
+                    try {
+                        readFileStream(inputFile, new ByteLexicalTokenizer(tokenizer, result, metrics, inputCharset));
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                continue;
+            }
+            final long[] boundaries = splitFile(inputFile, getChunkCount(inputFile, pool.getParallelism()), tokenizer, inputCharset);
+            for (int i = 0; i < boundaries.length - 1; i++) {
+                final long position = boundaries[i];
+                final long size = boundaries[i + 1] - position;
+                chunkList.add((result) -> {
+                    try {
+                        readFileMapped(inputFile, position, size, new ByteLexicalTokenizer(tokenizer, result, metrics, inputCharset));
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        }
+        final AtomicInteger nextChunk = new AtomicInteger();
+        final int workerCount = Math.max(1, Math.min(pool.getParallelism(), chunkList.size()));
+        final List<ForkJoinTask<A>> taskList = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            taskList.add(ForkJoinTask.adapt(() -> {
+                final A result = supplier.get();
+                for (int index = nextChunk.getAndIncrement(); index < chunkList.size(); index = nextChunk.getAndIncrement()) {
+                    chunkList.get(index).accept(result);
+                }
+                return result;
+            }));
+        }
+        try {
+            return pool.invoke(ForkJoinTask.adapt(() -> {
+                final A result = supplier.get();
+                ForkJoinTask.invokeAll(taskList).forEach(task -> combiner.accept(result, task.join()));
+                return result;
+            }));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Returns number of chunks to split file into for parallel processing
+     *
+     * @param inputFile - input file
+     * @param parallelism - number of workers
+     * @return number of chunks
+     */
+    public static int getChunkCount(final File inputFile, final int parallelism) {
+        return (int) Math.max(1, Math.min((long) parallelism * DEFAULT_CHUNKS_PER_WORKER, inputFile.length() / DEFAULT_MIN_CHUNK_SIZE));
+    }
+
+    /**
+     * Splits file into byte ranges aligned to token boundaries
+     *
+     * @param inputFile - input file
+     * @param chunks - desired number of ranges
+     * @param tokenizer - tokenizer to detect token boundaries
+     * @return range boundaries (range i is [boundaries[i], boundaries[i + 1]))
+     * @throws IOException On read operation.
+     */
+    public static long[] splitFile(final File inputFile, final int chunks, final ILexicalTokenizer tokenizer) throws IOException {
+        return splitFile(inputFile, chunks, tokenizer, FileUtils.DEFAULT_FILE_CHARACTER_ENCODING);
+    }
+
+    /**
+     * Splits file in the given charset into byte ranges aligned to token
+     * boundaries (file is not split if charset is not ASCII compatible)
+     *
+     * @param inputFile - input file
+     * @param chunks - desired number of ranges
+     * @param tokenizer - tokenizer to detect token boundaries
+     * @param charset - input charset
+     * @return range boundaries (range i is [boundaries[i], boundaries[i + 1]))
+     * @throws IOException On read operation.
+     */
+    public static long[] splitFile(final File inputFile, final int chunks, final ILexicalTokenizer tokenizer, final Charset charset) throws IOException {
+        Objects.requireNonNull(inputFile);
+        try (final FileChannel channel = FileChannel.open(inputFile.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (!ByteLexicalTokenizer.isAsciiCompatible(charset)) {
+                return new long[]{0L, Math.max(size, 0L)};
+            }
+            final long chunkSize = Math.max(1, size / Math.max(1, chunks));
+            final ByteBuffer buffer = ByteBuffer.allocate(ByteLexicalTokenizer.DEFAULT_CHUNK_SIZE);
+            final List<Long> boundaries = new ArrayList<>();
+            boundaries.add(0L);
+            for (int i = 1; i < chunks; i++) {
+                final long position = Math.max(i * chunkSize, boundaries.get(boundaries.size() - 1));
+                final long boundary = findTokenBoundary(channel, position, size, buffer, tokenizer);
+                if (boundary > boundaries.get(boundaries.size() - 1) && boundary < size) {
+                    boundaries.add(boundary);
+                }
+            }
+            boundaries.add(Math.max(size, 0L));
+            return boundaries.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    private static long findTokenBoundary(final FileChannel channel, final long position, final long size, final ByteBuffer buffer, final ILexicalTokenizer tokenizer) throws IOException {
+        long offset = position;
+        while (offset < size) {
+            buffer.clear();
+            final int length = channel.read(buffer, offset);
+            if (length <= 0) {
+                break;
+            }
+            for (int i = 0; i < length; i++) {
+                if (ByteLexicalTokenizer.isTokenBoundary(tokenizer, buffer.get(i))) {
+                    return offset + i + 1;
+                }
+            }
+            offset += length;
+        }
+        return size;
+    }
+
     public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> void writeFile(final File outputFile, final List<? extends E> output) {
+        FileUtils.writeFile(outputFile, output, NoOpLexicalTokenMetrics.getInstance());
+    }
+
+    public static <U extends CharSequence, T extends ILexicalToken<U>, E extends ILexicalTokenTerm<U, T>> void writeFile(final File outputFile, final List<? extends E> output, final ILexicalTokenMetrics metrics) {
+        FileUtils.writeFile(outputFile, output, (E term, StringBuilder sBuffer) -> term.formatTo(sBuffer), metrics);
+    }
+
+    /**
+     * Writes records line by line through reusable buffers
+     *
+     * @param outputFile - output file
+     * @param output - records to be written
+     * @param formatter - record formatter appending record to the buffer
+     */
+    public static <T> void writeFile(final File outputFile, final List<? extends T> output, final BiConsumer<? super T, StringBuilder> formatter) {
+        FileUtils.writeFile(outputFile, output, formatter, NoOpLexicalTokenMetrics.getInstance());
+    }
+
+    /**
+     * Writes records line by line through reusable buffers recording
+     * pipeline metrics
+     *
+     * @param outputFile - output file
+     * @param output - records to be written
+     * @param formatter - record formatter appending record to the buffer
+     * @param metrics - pipeline metrics
+     */
+    public static <T> void writeFile(final File outputFile, final List<? extends T> output, final BiConsumer<? super T, StringBuilder> formatter, final ILexicalTokenMetrics metrics) {
+        Objects.requireNonNull(outputFile);
+        Objects.requireNonNull(output);
+        Objects.requireNonNull(metrics);
+        final long startTime = metrics.startTime();
+        try {
+            writeFileEncoded(outputFile.toPath(), output, formatter);
+        } catch (IOException ex) {
+            LOGGER.error(String.format("ERROR: cannot process read / writer operations on file=%s, message=%s", String.valueOf(outputFile), ex.getMessage()));
+        }
+        metrics.stop(LexicalTokenStage.WRITE, startTime);
+        if (metrics.isEnabled()) {
+            metrics.addBytesWritten(outputFile.length());
+        }
+    }
+
+    /**
+     * Writes records into temporary file and atomically replaces output file
+     * (readers never observe partially written output)
+     *
+     * @param outputFile - output file
+     * @param output - records to be written
+     * @param formatter - record formatter appending record to the buffer
+     * @throws IOException On write operation.
+     */
+    public static <T> void writeFileAtomic(final File outputFile, final List<? extends T> output, final BiConsumer<? super T, StringBuilder> formatter) throws IOException {
+        Objects.requireNonNull(outputFile);
+        Objects.requireNonNull(output);
+        final Path target = outputFile.toPath().toAbsolutePath();
+        final Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            writeFileEncoded(temp, output, formatter);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static <T> void writeFileEncoded(final Path outputPath, final List<? extends T> output, final BiConsumer<? super T, StringBuilder> formatter) throws IOException {
+        try (final OutputEncoder<T> encoder = new OutputEncoder<>(FileChannel.open(outputPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), FileUtils.DEFAULT_FILE_CHARACTER_ENCODING, formatter)) {
+            for (final T value : output) {
+                encoder.write(value);
+            }
+        }
+    }
+
+    public static <T> void writeFile(final File outputFile, final List<? extends T> output, final Function<? super T, String> formatter) {
         Objects.requireNonNull(outputFile);
         Objects.requireNonNull(output);
         try (final PrintWriter writer = new PrintWriter(Files.newBufferedWriter(outputFile.toPath(), FileUtils.DEFAULT_FILE_CHARACTER_ENCODING))) {
-            output.stream().map(term -> term.toFormatString()).forEach(writer::println);//String newLine = System.getProperty("line.separator");
+            output.stream().map(formatter).forEach(writer::println);//String newLine = System.getProperty("line.separator");
         } catch (FileNotFoundException | UnsupportedEncodingException ex) {
             LOGGER.error(String.format("ERROR: cannot create output file=%s, message=%s", String.valueOf(outputFile), ex.getMessage()));
         } catch (IOException ex) {
@@ -138,6 +790,31 @@ public class FileUtils {
         }
     }
 
+    /**
+     * Returns sorted list of regular files matching glob pattern relative to
+     * the input directory (recursively)
+     *
+     * @param inputDirectory - input directory
+     * @param globPattern - glob pattern (e.g. *.txt)
+     * @return list of files
+     * @throws IOException On read operation.
+     */
+    public static List<File> listFiles(final File inputDirectory, final String globPattern) throws IOException {
+        Objects.requireNonNull(inputDirectory);
+        Objects.requireNonNull(globPattern);
+        final Path root = inputDirectory.toPath();
+        final PathMatcher matcher = root.getFileSystem().getPathMatcher("glob:" + globPattern);
+        try (final Stream<Path> stream = Files.walk(root)) {
+            return stream.filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(root.relativize(path)))
+                    .map(Path::toFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
     public static List<File> listFiles(final File inputDirectory) throws IOException {
         final List<File> listFiles = new ArrayList<>();
         listFiles(listFiles, inputDirectory);
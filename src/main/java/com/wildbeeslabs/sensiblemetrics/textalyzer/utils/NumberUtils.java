@@ -24,6 +24,8 @@
 package com.wildbeeslabs.sensiblemetrics.textalyzer.utils;
 
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 
@@ -46,20 +48,84 @@ public class NumberUtils {
      */
     public static final String DEFAULT_NUMBER_FORMAT_PATTERN = "#.##";
     /**
-     * Default number format instance
+     * Default number format instance (DecimalFormat is not thread-safe)
+     */
+    private static final ThreadLocal<DecimalFormat> numberFormat = ThreadLocal.withInitial(() -> new DecimalFormat(NumberUtils.DEFAULT_NUMBER_FORMAT_PATTERN));
+    /**
+     * Default decimal separator of the number format
      */
-    private static final DecimalFormat numberFormat = new DecimalFormat(NumberUtils.DEFAULT_NUMBER_FORMAT_PATTERN);
+    private static final char DEFAULT_DECIMAL_SEPARATOR = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+    /**
+     * Default upper bound of values formatted in fixed-point arithmetic
+     * (DecimalFormat rounds the shortest decimal representation, which no
+     * longer keeps the hundredths of large values, e.g. 999999999999999.9)
+     */
+    private static final double DEFAULT_FIXED_POINT_LIMIT = 1e13;
 
     private NumberUtils() {
         // PRIVATE EMPTY CONSTRUCTOR
     }
 
     public static String format(final Double value) {
-        return numberFormat.format(value);
+        return appendFormat(new StringBuilder(), value).toString();
     }
 
     public static String formatByPattern(final Double value, final String pattern) {
         final DecimalFormat formatter = new DecimalFormat(pattern);
         return formatter.format(value);
     }
+
+    /**
+     * Appends value formatted by the default "#.##" pattern without
+     * intermediate allocations (exact HALF_EVEN rounding of the binary value
+     * as DecimalFormat does, out of range values fall back to DecimalFormat)
+     *
+     * @param sBuffer - target buffer
+     * @param value - value to be formatted
+     * @return target buffer
+     */
+    public static StringBuilder appendFormat(final StringBuilder sBuffer, final double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        if (bits < 0 || !(value < DEFAULT_FIXED_POINT_LIMIT)) {
+            return sBuffer.append(numberFormat.get().format(value));
+        }
+        final long hundredths = roundHundredths(bits);
+        sBuffer.append(hundredths / 100);
+        final int fraction = (int) (hundredths % 100);
+        if (0 != fraction) {
+            sBuffer.append(DEFAULT_DECIMAL_SEPARATOR).append((char) ('0' + fraction / 10));
+            if (0 != fraction % 10) {
+                sBuffer.append((char) ('0' + fraction % 10));
+            }
+        }
+        return sBuffer;
+    }
+
+    /**
+     * Returns value * 100 rounded HALF_EVEN for non-negative finite double
+     * bits below the fixed-point limit
+     */
+    private static long roundHundredths(final long bits) {
+        final int exponent = (int) ((bits >>> 52) & 0x7FF);
+        long mantissa = bits & 0xFFFFFFFFFFFFFL;
+        if (0 == exponent) {
+            return 0;
+        }
+        mantissa |= 1L << 52;
+        final int shift = 1075 - exponent;
+        final long scaled = mantissa * 100;
+        if (shift <= 0) {
+            return scaled << -shift;
+        }
+        if (shift >= 62) {
+            return 0;
+        }
+        long quotient = scaled >>> shift;
+        final long remainder = scaled & ((1L << shift) - 1);
+        final long half = 1L << (shift - 1);
+        if (remainder > half || (remainder == half && 0 != (quotient & 1))) {
+            quotient++;
+        }
+        return quotient;
+    }
 }
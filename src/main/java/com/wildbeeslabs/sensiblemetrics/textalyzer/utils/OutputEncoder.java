@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.utils;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Output encoder class to write formatted records line by line into the
+ * channel through reusable char / byte buffers (no per-record strings)
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ * @param <T>
+ *
+ */
+public class OutputEncoder<T> implements Closeable, Flushable {
+
+    /**
+     * Default buffer size (in chars / bytes)
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    /**
+     * Default line separator
+     */
+    public static final String DEFAULT_LINE_SEPARATOR = System.lineSeparator();
+
+    private final WritableByteChannel channel;
+    private final BiConsumer<? super T, StringBuilder> formatter;
+    private final CharsetEncoder encoder;
+    private final StringBuilder record;
+    private final CharBuffer charBuffer;
+    private final ByteBuffer byteBuffer;
+
+    /**
+     * Creates output encoder
+     *
+     * @param channel - output channel
+     * @param charset - output charset
+     * @param formatter - record formatter appending record to the buffer
+     */
+    public OutputEncoder(final WritableByteChannel channel, final Charset charset, final BiConsumer<? super T, StringBuilder> formatter) {
+        Objects.requireNonNull(channel);
+        Objects.requireNonNull(charset);
+        Objects.requireNonNull(formatter);
+        this.channel = channel;
+        this.formatter = formatter;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.record = new StringBuilder();
+        this.charBuffer = CharBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        this.byteBuffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes record followed by the line separator
+     *
+     * @param value - record to be written
+     * @throws IOException On write operation.
+     */
+    public void write(final T value) throws IOException {
+        this.record.setLength(0);
+        this.formatter.accept(value, this.record);
+        this.record.append(DEFAULT_LINE_SEPARATOR);
+        for (int offset = 0; offset < this.record.length();) {
+            if (!this.charBuffer.hasRemaining()) {
+                this.encode(false);
+            }
+            final int count = Math.min(this.charBuffer.remaining(), this.record.length() - offset);
+            this.record.getChars(offset, offset + count, this.charBuffer.array(), this.charBuffer.arrayOffset() + this.charBuffer.position());
+            this.charBuffer.position(this.charBuffer.position() + count);
+            offset += count;
+        }
+    }
+
+    private void encode(final boolean endOfInput) throws IOException {
+        this.charBuffer.flip();
+        while (true) {
+            final CoderResult result = this.encoder.encode(this.charBuffer, this.byteBuffer, endOfInput);
+            if (result.isOverflow()) {
+                this.drain();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        if (endOfInput) {
+            while (this.encoder.flush(this.byteBuffer).isOverflow()) {
+                this.drain();
+            }
+            this.encoder.reset();
+        }
+        this.charBuffer.compact();
+    }
+
+    private void drain() throws IOException {
+        this.byteBuffer.flip();
+        while (this.byteBuffer.hasRemaining()) {
+            this.channel.write(this.byteBuffer);
+        }
+        this.byteBuffer.clear();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.encode(true);
+        this.drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+}
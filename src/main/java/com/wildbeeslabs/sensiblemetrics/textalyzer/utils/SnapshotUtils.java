@@ -0,0 +1,149 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer.utils;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.util.Objects;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Helper class to read / write compact binary snapshots of lexical token
+ * aggregates (per-group aggregates only, tokens are not stored)
+ *
+ * <pre>
+ * snapshot := magic:int version:short type:utf count:int group*
+ * group    := key:int aggregate (e.g. tokenCount:long lengthSum:long
+ *             vowelCount:long vowelMask:long for vowel aggregates)
+ * </pre>
+ *
+ * @author alexander.rogalskiy
+ * @version 1.0
+ * @since 2017-12-12
+ *
+ */
+public final class SnapshotUtils {
+
+    /**
+     * Default logger instance
+     */
+    private static final Logger LOGGER = LogManager.getLogger(SnapshotUtils.class);
+    /**
+     * Default snapshot magic number ("TXLZ")
+     */
+    public static final int DEFAULT_SNAPSHOT_MAGIC = 0x54584C5A;
+    /**
+     * Default (current) snapshot format version
+     */
+    public static final short DEFAULT_SNAPSHOT_VERSION = 1;
+    /**
+     * Default snapshot buffer size
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private SnapshotUtils() {
+        // PRIVATE EMPTY CONSTRUCTOR
+    }
+
+    /**
+     * Writes snapshot of the aggregator into the output file
+     *
+     * @param outputFile - output file
+     * @param aggregator - aggregator instance
+     * @throws IOException On write operation.
+     */
+    public static <E extends CharSequence> void writeSnapshot(final File outputFile, final ILexicalTokenAggregator<E> aggregator) throws IOException {
+        Objects.requireNonNull(outputFile);
+        Objects.requireNonNull(aggregator);
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(outputFile.toPath()), DEFAULT_BUFFER_SIZE))) {
+            output.writeInt(DEFAULT_SNAPSHOT_MAGIC);
+            output.writeShort(DEFAULT_SNAPSHOT_VERSION);
+            output.writeUTF(getAggregateType(aggregator));
+            output.writeInt(aggregator.size());
+            final IOException[] error = new IOException[1];
+            aggregator.forEach((aggregate, key) -> {
+                if (Objects.isNull(error[0])) {
+                    try {
+                        output.writeInt(key);
+                        aggregate.writeTo(output);
+                    } catch (IOException ex) {
+                        error[0] = ex;
+                    }
+                }
+            });
+            if (Objects.nonNull(error[0])) {
+                throw error[0];
+            }
+        }
+    }
+
+    /**
+     * Reads snapshot from the input file and merges it into the aggregator
+     * (aggregator is left partially merged if snapshot is invalid)
+     *
+     * @param inputFile - input file
+     * @param aggregator - aggregator instance
+     * @throws IOException On read operation or invalid snapshot.
+     */
+    public static <E extends CharSequence> void readSnapshot(final File inputFile, final ILexicalTokenAggregator<E> aggregator) throws IOException {
+        Objects.requireNonNull(inputFile);
+        Objects.requireNonNull(aggregator);
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(inputFile.toPath()), DEFAULT_BUFFER_SIZE))) {
+            if (DEFAULT_SNAPSHOT_MAGIC != input.readInt()) {
+                throw new StreamCorruptedException(String.format("ERROR: invalid snapshot file=%s", inputFile));
+            }
+            final short version = input.readShort();
+            if (DEFAULT_SNAPSHOT_VERSION != version) {
+                throw new StreamCorruptedException(String.format("ERROR: unsupported snapshot version=%d, file=%s", version, inputFile));
+            }
+            final String type = input.readUTF();
+            final int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                final ILexicalTokenAggregate<E> aggregate = aggregator.getAggregate(input.readInt());
+                if (!type.equals(aggregate.getClass().getName())) {
+                    throw new StreamCorruptedException(String.format("ERROR: snapshot aggregate type=%s does not match type=%s, file=%s", type, aggregate.getClass().getName(), inputFile));
+                }
+                aggregate.mergeFrom(input);
+            }
+            LOGGER.debug(String.format("Merged snapshot file=%s, groups=%d", inputFile, count));
+        }
+    }
+
+    private static <E extends CharSequence> String getAggregateType(final ILexicalTokenAggregator<E> aggregator) {
+        final String[] type = new String[1];
+        aggregator.forEach((aggregate, key) -> type[0] = aggregate.getClass().getName());
+        return Objects.isNull(type[0]) ? "" : type[0];
+    }
+}
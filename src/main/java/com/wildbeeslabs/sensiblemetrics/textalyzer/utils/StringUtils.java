@@ -52,6 +52,26 @@ public final class StringUtils {
         // PRIVATE EMPTY CONSTRUCTOR
     }
 
+    /**
+     * Returns 64-bit hash of the character sequence (FNV-1a over characters
+     * with a final avalanche mix, stable across runs and JVMs)
+     *
+     * @param value - input value
+     * @return 64-bit hash
+     */
+    public static long hash64(final CharSequence value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
     /**
      * Unzips compressed string to raw format string output
      *
@@ -96,8 +116,8 @@ public final class StringUtils {
      * @param bytes input array of bytes.
      * @return boolean true - if GZIP formatted, false - otherwise.
      */
-    private static boolean isGZIPStream(final byte[] bytes) {
-        if (null == bytes || 0 == bytes.length) {
+    public static boolean isGZIPStream(final byte[] bytes) {
+        if (null == bytes || bytes.length < 2) {
             return false;
         }
         return (bytes[0] == (byte) GZIPInputStream.GZIP_MAGIC)
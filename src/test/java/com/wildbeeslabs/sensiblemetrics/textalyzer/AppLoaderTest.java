@@ -23,10 +23,14 @@
  */
 package com.wildbeeslabs.sensiblemetrics.textalyzer;
 
+import java.io.File;
+import java.util.Arrays;
+
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -58,6 +62,31 @@ public class AppLoaderTest {
         AppLoader.main(args);
     }
 
+    @Test
+    public void testMainInvalidParallelism() {
+        this.assertNoOutput("-p", "0");
+    }
+
+    @Test
+    public void testMainInvalidTopKEpsilon() {
+        this.assertNoOutput("-tk", "5", "-te", "2");
+    }
+
+    @Test
+    public void testMainInvalidAlphabet() {
+        this.assertNoOutput("-ab", "bogus");
+    }
+
+    private void assertNoOutput(final String... options) {
+        final File outputFile = new File("target/INVALID_OUTPUT.txt");
+        outputFile.delete();
+        final String[] args = new String[]{"-in", "src/main/resources/INPUT3.txt", "-out", outputFile.getPath()};
+        final String[] argsWithOptions = Arrays.copyOf(args, args.length + options.length);
+        System.arraycopy(options, 0, argsWithOptions, args.length, options.length);
+        AppLoader.main(argsWithOptions);
+        Assert.assertFalse("Checking the output of invalid arguments: ", outputFile.exists());
+    }
+
     @After
     public void tearDown() {
     }
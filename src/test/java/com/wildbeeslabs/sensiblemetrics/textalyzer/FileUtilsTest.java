@@ -23,21 +23,48 @@
  */
 package com.wildbeeslabs.sensiblemetrics.textalyzer;
 
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.IVowelLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.LexicalTokenAggregateTask;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.LexicalTokenFileFollower;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.VowelLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenHeavyHitters;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenResultCache;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenTopK;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalAlphabet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalTokenIdStrategy;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.LexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.NoOpLexicalTokenMetrics;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.FileUtils;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.SnapshotUtils;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -85,6 +112,155 @@ public class FileUtilsTest {
         Assert.assertEquals("Checking the size of token list:", 4, list.size());
     }
 
+    @Test
+    public void testReadFileAggregate() {
+        final String inputFile = "src/main/resources/INPUT3.txt";
+        final List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> termList = FileUtils.readFile(new File(inputFile), this.analyzer);
+        final List<ILexicalTokenAggregate<String>> aggregateList = FileUtils.readFileAggregate(new File(inputFile), this.analyzer);
+        Assert.assertEquals("Checking the size of aggregate list: ", termList.size(), aggregateList.size());
+        for (int i = 0; i < termList.size(); i++) {
+            Assert.assertEquals("Checking the aggregate output: ", termList.get(i).toFormatString(), aggregateList.get(i).toFormatString());
+        }
+    }
+
+    @Test
+    public void testReadFileMapped() {
+        for (final String inputFile : new String[]{"src/main/resources/INPUT.txt", "src/main/resources/INPUT2.txt", "src/main/resources/INPUT3.txt"}) {
+            final List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> termList = FileUtils.readFile(new File(inputFile), this.analyzer);
+            final List<ILexicalTokenAggregate<String>> aggregateList = FileUtils.readFileMapped(new File(inputFile), this.analyzer);
+            Assert.assertEquals("Checking the size of aggregate list: ", termList.size(), aggregateList.size());
+            for (int i = 0; i < termList.size(); i++) {
+                Assert.assertEquals("Checking the aggregate output: ", termList.get(i).toFormatString(), aggregateList.get(i).toFormatString());
+            }
+        }
+    }
+
+    @Test
+    public void testReadFileMetrics() throws IOException, JMException {
+        final File inputFile = new File("src/main/resources/INPUT3.txt");
+        final LexicalTokenMetrics metrics = new LexicalTokenMetrics();
+        final IVowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> metricsAnalyzer = new VowelLexicalTokenAnalyzer<>(LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY, metrics);
+        final List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> termList = FileUtils.readFile(inputFile, metricsAnalyzer);
+        final long tokenCount = termList.stream().mapToLong(IVowelLexicalTokenTerm::size).sum();
+        final long lineCount = Files.readAllLines(inputFile.toPath()).size();
+        Assert.assertEquals("Checking the number of bytes read: ", inputFile.length(), metrics.getBytesRead());
+        Assert.assertEquals("Checking the number of lines: ", lineCount, metrics.getLines());
+        Assert.assertEquals("Checking the number of tokens: ", tokenCount, metrics.getTokens());
+        Assert.assertEquals("Checking the number of groups: ", termList.size(), metrics.getGroups());
+        Assert.assertTrue("Checking the tokenize stage time: ", metrics.getTokenizeNanos() > 0);
+
+        metrics.reset();
+        FileUtils.readFileMapped(inputFile, metricsAnalyzer);
+        Assert.assertEquals("Checking the number of bytes read: ", inputFile.length(), metrics.getBytesRead());
+        Assert.assertEquals("Checking the number of tokens: ", tokenCount, metrics.getTokens());
+        Assert.assertEquals("Checking the read stage time: ", 0, metrics.getReadNanos());
+
+        metrics.registerMBean();
+        try {
+            final ObjectName objectName = new ObjectName(LexicalTokenMetrics.DEFAULT_OBJECT_NAME);
+            Assert.assertEquals("Checking the number of tokens via JMX: ", tokenCount, ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "Tokens"));
+        } finally {
+            metrics.unregisterMBean();
+        }
+        Assert.assertFalse(this.analyzer.getMetrics().isEnabled());
+    }
+
+    @Test
+    public void testReadFileParallel() throws IOException {
+        final File inputFile = File.createTempFile("textalyzer", ".txt");
+        inputFile.deleteOnExit();
+        final byte[] content = Files.readAllBytes(new File("src/main/resources/INPUT3.txt").toPath());
+        try (final OutputStream out = new FileOutputStream(inputFile)) {
+            for (int i = 0; i < 64; i++) {
+                out.write(content);
+            }
+        }
+        final List<ILexicalTokenAggregate<String>> aggregateList = FileUtils.readFileMapped(inputFile, this.analyzer);
+        final List<ILexicalTokenAggregate<String>> parallelList = FileUtils.readFileParallel(inputFile, this.analyzer, 4);
+        Assert.assertEquals("Checking the size of parallel aggregate list: ", aggregateList.size(), parallelList.size());
+
+        final long[] boundaries = FileUtils.splitFile(inputFile, 37, this.analyzer.getTokenizer());
+        Assert.assertEquals("Checking the first range boundary: ", 0, boundaries[0]);
+        Assert.assertEquals("Checking the last range boundary: ", inputFile.length(), boundaries[boundaries.length - 1]);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final List<ILexicalTokenAggregate<String>> chunkedList = pool.invoke(new LexicalTokenAggregateTask<>(inputFile, this.analyzer, boundaries, 0, boundaries.length - 1)).getAggregateList(Comparator.reverseOrder());
+            Assert.assertEquals("Checking the size of chunked aggregate list: ", aggregateList.size(), chunkedList.size());
+            for (int i = 0; i < aggregateList.size(); i++) {
+                Assert.assertEquals("Checking the parallel aggregate output: ", aggregateList.get(i).toFormatString(), parallelList.get(i).toFormatString());
+                Assert.assertEquals("Checking the chunked aggregate output: ", aggregateList.get(i).toFormatString(), chunkedList.get(i).toFormatString());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testReadFileEncoding() throws IOException {
+        final String content = "Ёжик в тумане.\r\nМама мыла раму, Platon made bamboo boats!\n";
+        final Charset cp1251 = Charset.forName("windows-1251");
+        final IVowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> utf8Analyzer = new VowelLexicalTokenAnalyzer<>(LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY, NoOpLexicalTokenMetrics.getInstance(), LexicalAlphabet.getInstance("english+russian"));
+        final IVowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> cp1251Analyzer = new VowelLexicalTokenAnalyzer<>(LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY, NoOpLexicalTokenMetrics.getInstance(), LexicalAlphabet.getInstance("english+russian"), cp1251);
+        final File utf8File = this.createTempFile(content.getBytes(StandardCharsets.UTF_8));
+        final List<String> expected = FileUtils.readFileMapped(utf8File, utf8Analyzer).stream().map(ILexicalTokenAggregate::toFormatString).collect(Collectors.toList());
+        Assert.assertEquals("Checking the number of groups: ", 4, expected.size());
+
+        final File cp1251File = this.createTempFile(content.getBytes(cp1251));
+        final File bomFile = this.createTempFile(("\uFEFF" + content).getBytes(StandardCharsets.UTF_8));
+        final File utf16File = this.createTempFile(("\uFEFF" + content).getBytes(StandardCharsets.UTF_16LE));
+        Assert.assertEquals("Checking the detected charset: ", cp1251, FileUtils.getCharset(cp1251File, cp1251));
+        Assert.assertEquals("Checking the detected charset: ", StandardCharsets.UTF_8, FileUtils.getCharset(bomFile, cp1251));
+        Assert.assertEquals("Checking the detected charset: ", StandardCharsets.UTF_16LE, FileUtils.getCharset(utf16File, cp1251));
+        for (final File inputFile : Arrays.asList(cp1251File, bomFile, utf16File)) {
+            Assert.assertEquals("Checking the mapped output: ", expected, FileUtils.readFileMapped(inputFile, cp1251Analyzer).stream().map(ILexicalTokenAggregate::toFormatString).collect(Collectors.toList()));
+            Assert.assertEquals("Checking the parallel output: ", expected, FileUtils.readFileParallel(inputFile, cp1251Analyzer, 2).stream().map(ILexicalTokenAggregate::toFormatString).collect(Collectors.toList()));
+            Assert.assertEquals("Checking the line output: ", expected.size(), FileUtils.readFile(inputFile, cp1251Analyzer).size());
+            Assert.assertEquals("Checking the first line: ", "Ёжик в тумане.", FileUtils.readAllLines(inputFile, NoOpLexicalTokenMetrics.getInstance(), cp1251).get(0));
+        }
+    }
+
+    @Test
+    public void testResultCache() throws IOException {
+        final File inputFile = new File("src/main/resources/INPUT3.txt");
+        final byte[] content = Files.readAllBytes(inputFile.toPath());
+        final String key = LexicalTokenResultCache.getKey(inputFile, this.analyzer.getSignature());
+        Assert.assertEquals("Checking the file key: ", key, LexicalTokenResultCache.getKey(content, 0, content.length, this.analyzer.getSignature()));
+        Assert.assertNotEquals("Checking the content key: ", key, LexicalTokenResultCache.getKey(content, 0, content.length - 1, this.analyzer.getSignature()));
+        Assert.assertNotEquals("Checking the signature key: ", key, LexicalTokenResultCache.getKey(inputFile, new VowelLexicalTokenAnalyzer<>(LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY, NoOpLexicalTokenMetrics.getInstance(), LexicalAlphabet.RUSSIAN).getSignature()));
+
+        final LexicalTokenResultCache memoryCache = new LexicalTokenResultCache(10);
+        memoryCache.put("a", new byte[6]);
+        memoryCache.put("b", new byte[4]);
+        Assert.assertNotNull(memoryCache.get("a"));
+        memoryCache.put("c", new byte[4]);
+        Assert.assertNull("Checking the least recently used entry: ", memoryCache.get("b"));
+        Assert.assertNotNull(memoryCache.get("a"));
+        Assert.assertEquals("Checking the cache size: ", 10, memoryCache.getSize());
+        Assert.assertEquals("Checking the number of cache misses: ", 1, memoryCache.getMissCount());
+
+        final Path directory = Files.createTempDirectory("textalyzer");
+        try {
+            new LexicalTokenResultCache(0, directory.toFile()).put(key, content);
+            final LexicalTokenResultCache diskCache = new LexicalTokenResultCache(LexicalTokenResultCache.DEFAULT_MAX_SIZE, directory.toFile());
+            Assert.assertArrayEquals("Checking the on-disk entry: ", content, diskCache.get(key));
+            Assert.assertEquals("Checking the promoted entry size: ", content.length, diskCache.getSize());
+        } finally {
+            try (final Stream<Path> paths = Files.list(directory)) {
+                for (final Path path : paths.collect(Collectors.toList())) {
+                    Files.delete(path);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private File createTempFile(final byte[] content) throws IOException {
+        final File inputFile = File.createTempFile("textalyzer", ".txt");
+        inputFile.deleteOnExit();
+        Files.write(inputFile.toPath(), content);
+        return inputFile;
+    }
+
     @Test
     public void testWriteFileSortedDesc() {
         String inputString = "asffsa sadfas fsad asdffsda ";
@@ -125,6 +301,170 @@ public class FileUtilsTest {
         }
     }
 
+    @Test
+    public void testReadFileBatch() throws IOException {
+        final Path inputDirectory = Files.createTempDirectory("textalyzer-input");
+        final Path outputDirectory = Files.createTempDirectory("textalyzer-output");
+        final String[] inputFiles = new String[]{"src/main/resources/INPUT.txt", "src/main/resources/INPUT2.txt", "src/main/resources/INPUT3.txt"};
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < inputFiles.length; i++) {
+            final Path inputFile = inputDirectory.resolve("dir" + i).resolve("input" + i + ".txt");
+            Files.createDirectories(inputFile.getParent());
+            Files.copy(Paths.get(inputFiles[i]), inputFile);
+            content.append(new String(Files.readAllBytes(inputFile), FileUtils.DEFAULT_FILE_CHARACTER_ENCODING)).append("\n");
+        }
+        Files.write(inputDirectory.resolve("skipped.dat"), content.toString().getBytes(FileUtils.DEFAULT_FILE_CHARACTER_ENCODING));
+        final List<File> fileList = FileUtils.listFiles(inputDirectory.toFile(), "**.txt");
+        Assert.assertEquals("Checking the number of matched files: ", inputFiles.length, fileList.size());
+        fileList.add(inputDirectory.resolve("missing.txt").toFile());
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final List<ILexicalTokenAggregate<String>> mergedList = FileUtils.readFileBatch(fileList, this.analyzer, inputFile -> outputDirectory.resolve(inputDirectory.relativize(inputFile.toPath())).toFile(), pool);
+            final List<ILexicalTokenAggregate<String>> aggregateList = FileUtils.readFileMapped(inputDirectory.resolve("skipped.dat").toFile(), this.analyzer);
+            Assert.assertEquals("Checking the size of merged aggregate list: ", aggregateList.size(), mergedList.size());
+            for (int i = 0; i < aggregateList.size(); i++) {
+                Assert.assertEquals("Checking the merged aggregate output: ", aggregateList.get(i).toFormatString(), mergedList.get(i).toFormatString());
+            }
+            for (int i = 0; i < inputFiles.length; i++) {
+                final List<String> expected = FileUtils.readFileMapped(new File(inputFiles[i]), this.analyzer).stream().map(ILexicalTokenAggregate::toFormatString).collect(Collectors.toList());
+                Assert.assertEquals("Checking the per-file output: ", expected, Files.readAllLines(outputDirectory.resolve("dir" + i).resolve("input" + i + ".txt")));
+            }
+            Assert.assertFalse(Files.exists(outputDirectory.resolve("missing.txt")));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testWriteFileEncoded() throws IOException {
+        final File outputFile = File.createTempFile("textalyzer", ".txt");
+        outputFile.deleteOnExit();
+        final List<String> output = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            output.add(i + " \u0436\u0443\u043a \ud83d\ude00 " + i);
+        }
+        FileUtils.writeFile(outputFile, output, (String value, StringBuilder sBuffer) -> sBuffer.append(value));
+        Assert.assertEquals("Checking the encoded output: ", output, Files.readAllLines(outputFile.toPath(), FileUtils.DEFAULT_FILE_CHARACTER_ENCODING));
+
+        final List<ILexicalTokenAggregate<String>> aggregateList = FileUtils.readFileMapped(new File("src/main/resources/INPUT3.txt"), this.analyzer);
+        FileUtils.writeFile(outputFile, aggregateList, ILexicalTokenAggregate::formatTo);
+        Assert.assertEquals("Checking the aggregate output: ", aggregateList.stream().map(ILexicalTokenAggregate::toFormatString).collect(Collectors.toList()), Files.readAllLines(outputFile.toPath()));
+    }
+
+    @Test
+    public void testReadFileGZIP() throws IOException {
+        final File plainFile = new File("src/main/resources/INPUT3.txt");
+        final File inputFile = File.createTempFile("textalyzer", ".txt.gz");
+        inputFile.deleteOnExit();
+        try (final OutputStream out = new GZIPOutputStream(new FileOutputStream(inputFile))) {
+            Files.copy(plainFile.toPath(), out);
+        }
+        Assert.assertTrue(FileUtils.isGZIPFile(inputFile));
+        Assert.assertFalse(FileUtils.isGZIPFile(plainFile));
+        Assert.assertEquals("Checking the decompressed lines: ", FileUtils.readAllLines(plainFile), FileUtils.readAllLines(inputFile));
+
+        final List<String> expected = FileUtils.readFileMapped(plainFile, this.analyzer).stream().map(ILexicalTokenAggregate::toFormatString).collect(Collectors.toList());
+        Assert.assertEquals(expected, FileUtils.readFile(inputFile, this.analyzer).stream().map(IVowelLexicalTokenTerm::toFormatString).collect(Collectors.toList()));
+        Assert.assertEquals(expected, FileUtils.readFileAggregate(inputFile, this.analyzer).stream().map(ILexicalTokenAggregate::toFormatString).collect(Collectors.toList()));
+        Assert.assertEquals(expected, FileUtils.readFileMapped(inputFile, this.analyzer).stream().map(ILexicalTokenAggregate::toFormatString).collect(Collectors.toList()));
+        Assert.assertEquals(expected, FileUtils.readFileParallel(inputFile, this.analyzer, 2).stream().map(ILexicalTokenAggregate::toFormatString).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFollowFile() throws IOException {
+        final byte[] content = Files.readAllBytes(Paths.get("src/main/resources/INPUT3.txt"));
+        final File inputFile = File.createTempFile("textalyzer", ".txt");
+        final File outputFile = File.createTempFile("textalyzer", ".out");
+        final File partialFile = File.createTempFile("textalyzer", ".txt");
+        inputFile.deleteOnExit();
+        outputFile.deleteOnExit();
+        partialFile.deleteOnExit();
+        final LexicalTokenFileFollower<String> follower = new LexicalTokenFileFollower<>(inputFile, outputFile, this.analyzer);
+        Assert.assertFalse(follower.refresh());
+
+        int split = content.length / 2;
+        while (split < content.length && Character.isLetter(content[split])) {
+            split++;
+        }
+        split -= 2;
+        Files.write(inputFile.toPath(), Arrays.copyOf(content, split));
+        Assert.assertTrue(follower.refresh());
+        Assert.assertTrue(follower.getPosition() < split);
+        Files.write(partialFile.toPath(), Arrays.copyOf(content, (int) follower.getPosition()));
+        Assert.assertEquals("Checking the partial output: ", this.format(FileUtils.readFileMapped(partialFile, this.analyzer)), Files.readAllLines(outputFile.toPath()));
+
+        Files.write(inputFile.toPath(), Arrays.copyOfRange(content, split, content.length), StandardOpenOption.APPEND);
+        Files.write(inputFile.toPath(), "\n".getBytes(FileUtils.DEFAULT_FILE_CHARACTER_ENCODING), StandardOpenOption.APPEND);
+        Assert.assertTrue(follower.refresh());
+        Assert.assertFalse(follower.refresh());
+        Assert.assertEquals("Checking the full output: ", this.format(FileUtils.readFileMapped(inputFile, this.analyzer)), Files.readAllLines(outputFile.toPath()));
+    }
+
+    @Test
+    public void testSnapshotMerge() throws IOException {
+        final File inputFile = new File("src/main/resources/INPUT3.txt");
+        final long[] boundaries = FileUtils.splitFile(inputFile, 2, this.analyzer.getTokenizer());
+        Assert.assertEquals("Checking the number of shards: ", 3, boundaries.length);
+        final byte[] content = Files.readAllBytes(inputFile.toPath());
+        final List<File> snapshotFiles = new ArrayList<>();
+        for (int i = 0; i < boundaries.length - 1; i++) {
+            final File shardFile = File.createTempFile("textalyzer", ".txt");
+            final File snapshotFile = File.createTempFile("textalyzer", ".snapshot");
+            shardFile.deleteOnExit();
+            snapshotFile.deleteOnExit();
+            Files.write(shardFile.toPath(), Arrays.copyOfRange(content, (int) boundaries[i], (int) boundaries[i + 1]));
+            SnapshotUtils.writeSnapshot(snapshotFile, FileUtils.readFileAggregator(shardFile, this.analyzer));
+            snapshotFiles.add(snapshotFile);
+        }
+        final ILexicalTokenAggregator<String> aggregator = this.analyzer.getLexicalTokenAggregator();
+        for (final File snapshotFile : snapshotFiles) {
+            SnapshotUtils.readSnapshot(snapshotFile, aggregator);
+        }
+        Assert.assertEquals("Checking the merged output: ", this.format(FileUtils.readFileMapped(inputFile, this.analyzer)), this.format(aggregator.getAggregateList(Comparator.reverseOrder())));
+
+        final File invalidFile = File.createTempFile("textalyzer", ".snapshot");
+        invalidFile.deleteOnExit();
+        Files.write(invalidFile.toPath(), content);
+        try {
+            SnapshotUtils.readSnapshot(invalidFile, this.analyzer.getLexicalTokenAggregator());
+            Assert.fail("Checking the invalid snapshot header");
+        } catch (IOException ex) {
+            LOGGER.info(String.format("Invalid snapshot rejected: %s", ex.getMessage()));
+        }
+    }
+
+    @Test
+    public void testReadFileHeavyHitters() throws IOException {
+        final File inputFile = File.createTempFile("textalyzer", ".txt");
+        inputFile.deleteOnExit();
+        final byte[] content = Files.readAllBytes(new File("src/main/resources/INPUT3.txt").toPath());
+        try (final OutputStream out = new FileOutputStream(inputFile)) {
+            for (int i = 0; i < 64; i++) {
+                out.write(content);
+            }
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final LexicalTokenHeavyHitters expected = FileUtils.readFileHeavyHitters(Arrays.asList(inputFile), this.analyzer, 2, 1e-3, 1e-3, new ForkJoinPool(1));
+            final LexicalTokenHeavyHitters actual = FileUtils.readFileHeavyHitters(Arrays.asList(inputFile, inputFile), this.analyzer, 2, 1e-3, 1e-3, pool);
+            Assert.assertEquals(2 * expected.getSketch().getTotalCount(), actual.getSketch().getTotalCount());
+            final List<LexicalTokenTopK> expectedList = expected.getTopKList(Comparator.reverseOrder());
+            final List<LexicalTokenTopK> actualList = actual.getTopKList(Comparator.reverseOrder());
+            Assert.assertEquals(expectedList.size(), actualList.size());
+            for (int i = 0; i < expectedList.size(); i++) {
+                Assert.assertEquals(expectedList.get(i).getEntries().stream().map(entry -> entry.getKey() + "=" + 2 * entry.getValue()).collect(Collectors.toList()),
+                        actualList.get(i).getEntries().stream().map(entry -> entry.getKey() + "=" + entry.getValue()).collect(Collectors.toList()));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<String> format(final List<ILexicalTokenAggregate<String>> aggregateList) {
+        return aggregateList.stream().map(ILexicalTokenAggregate::toFormatString).collect(Collectors.toList());
+    }
+
     @After
     public void tearDown() {
     }
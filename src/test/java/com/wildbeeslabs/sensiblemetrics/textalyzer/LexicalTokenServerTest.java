@@ -0,0 +1,234 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.VowelLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.IVowelLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenResultCache;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.server.LexicalTokenServer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.FileUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * Unit test case for LexicalTokenServer class
+ *
+ * @author Alex
+ * @version 1.0.0
+ * @since 2017-12-12
+ */
+public class LexicalTokenServerTest {
+
+    /**
+     * Default logger instance
+     */
+    private static final Logger LOGGER = LogManager.getLogger(LexicalTokenServerTest.class);
+    /**
+     * Default timeout to wait for the server state (in seconds)
+     */
+    private static final int DEFAULT_TIMEOUT = 10;
+
+    private IVowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer;
+    private byte[] content;
+
+    @Before
+    public void setUp() throws IOException {
+        LOGGER.info("Initializing lexical token server...");
+        this.analyzer = new VowelLexicalTokenAnalyzer<>();
+        this.content = Files.readAllBytes(new File("src/main/resources/INPUT3.txt").toPath());
+    }
+
+    @Test
+    public void testAnalyze() throws IOException {
+        final String expected = FileUtils.readFileMapped(new File("src/main/resources/INPUT3.txt"), this.analyzer).stream().map((aggregate) -> aggregate.toFormatString() + "\n").collect(Collectors.joining());
+        final LexicalTokenResultCache cache = new LexicalTokenResultCache();
+        try (final LexicalTokenServer<String> server = new LexicalTokenServer<>(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), this.analyzer, 1, LexicalTokenServer.DEFAULT_QUEUE_CAPACITY, this.content.length, cache)) {
+            server.start();
+            final URL url = this.getUrl(server);
+            Assert.assertEquals("Checking the plain response: ", expected, this.postRequest(url, this.content, null, 200));
+            Assert.assertEquals("Checking the cached response: ", expected, this.postRequest(url, this.content, null, 200));
+            Assert.assertEquals("Checking the number of cache hits: ", 1, cache.getHitCount());
+
+            final ByteArrayOutputStream gzipContent = new ByteArrayOutputStream();
+            try (final OutputStream out = new GZIPOutputStream(gzipContent)) {
+                out.write(this.content);
+            }
+            Assert.assertEquals("Checking the gzip response: ", expected, this.postRequest(url, gzipContent.toByteArray(), "gzip", 200));
+            this.postRequest(url, Arrays.copyOf(this.content, this.content.length + 1), null, 413);
+
+            final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            Assert.assertEquals("Checking the GET response code: ", 405, connection.getResponseCode());
+            connection.disconnect();
+            Assert.assertEquals("Checking the number of rejected requests: ", 0, server.getRejectedCount());
+        }
+    }
+
+    @Test
+    public void testReject() throws IOException, InterruptedException {
+        final List<Socket> sockets = new ArrayList<>();
+        try (final LexicalTokenServer<String> server = new LexicalTokenServer<>(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), this.analyzer, 1, 0, this.content.length)) {
+            server.start();
+            final Socket worker = this.openSocket(server, sockets);
+            this.sendRequest(worker, this.content.length, "Platon");
+            this.await(() -> 1 == server.getActiveCount());
+
+            final Socket rejected = this.openSocket(server, sockets);
+            this.sendRequest(rejected, 0, "");
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(rejected.getInputStream(), StandardCharsets.US_ASCII));
+            Assert.assertEquals("Checking the rejected response status: ", "HTTP/1.1 503 Service Unavailable", reader.readLine());
+            this.await(() -> 1 == server.getRejectedCount());
+            Assert.assertEquals("Checking the number of rejected requests: ", 1, server.getRejectedCount());
+            Assert.assertEquals("Checking the number of dropped requests: ", 0, server.getDroppedCount());
+        } finally {
+            for (final Socket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    public void testDrop() throws IOException, InterruptedException {
+        final List<Socket> sockets = new ArrayList<>();
+        try (final LexicalTokenServer<String> server = new LexicalTokenServer<>(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), this.analyzer, 1, 0, this.content.length)) {
+            server.start();
+            final Socket worker = this.openSocket(server, sockets);
+            this.sendRequest(worker, this.content.length, "Platon");
+            this.await(() -> 1 == server.getActiveCount());
+
+            final Socket rejected = this.openSocket(server, sockets);
+            this.sendRequest(rejected, this.content.length, "Platon");
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(rejected.getInputStream(), StandardCharsets.US_ASCII));
+            Assert.assertEquals("Checking the rejected response status: ", "HTTP/1.1 503 Service Unavailable", reader.readLine());
+
+            for (int i = 0; i < LexicalTokenServer.DEFAULT_REJECT_QUEUE_CAPACITY; i++) {
+                this.sendRequest(this.openSocket(server, sockets), 0, "");
+            }
+            this.await(() -> 1 + LexicalTokenServer.DEFAULT_REJECT_QUEUE_CAPACITY == server.getRejectedCount());
+            final Socket dropped = this.openSocket(server, sockets);
+            this.sendRequest(dropped, 0, "");
+            Assert.assertEquals("Checking the dropped connection: ", -1, dropped.getInputStream().read());
+            Assert.assertEquals("Checking the number of dropped requests: ", 1, server.getDroppedCount());
+        } finally {
+            for (final Socket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    private URL getUrl(final LexicalTokenServer<String> server) throws IOException {
+        return new URL("http", server.getAddress().getHostString(), server.getAddress().getPort(), LexicalTokenServer.DEFAULT_ANALYZE_PATH);
+    }
+
+    private Socket openSocket(final LexicalTokenServer<String> server, final List<Socket> sockets) throws IOException {
+        final Socket socket = new Socket(server.getAddress().getAddress(), server.getAddress().getPort());
+        socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(DEFAULT_TIMEOUT));
+        sockets.add(socket);
+        return socket;
+    }
+
+    private void sendRequest(final Socket socket, final int contentLength, final String body) throws IOException {
+        final OutputStream out = socket.getOutputStream();
+        out.write(String.format("POST %s HTTP/1.1\r\nHost: localhost\r\nContent-Length: %d\r\n\r\n%s", LexicalTokenServer.DEFAULT_ANALYZE_PATH, contentLength, body).getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private void await(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                Assert.fail(String.format("Server state is not reached in %d seconds", DEFAULT_TIMEOUT));
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private String postRequest(final URL url, final byte[] content, final String contentEncoding, final int responseCode) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(content.length);
+            connection.setReadTimeout((int) TimeUnit.SECONDS.toMillis(DEFAULT_TIMEOUT));
+            if (null != contentEncoding) {
+                connection.setRequestProperty("Content-Encoding", contentEncoding);
+            }
+            try (final OutputStream out = connection.getOutputStream()) {
+                out.write(content);
+            } catch (IOException ex) {
+                if (HttpURLConnection.HTTP_OK == responseCode) {
+                    throw ex;
+                }
+            }
+            Assert.assertEquals("Checking the response code: ", responseCode, connection.getResponseCode());
+            if (HttpURLConnection.HTTP_OK != responseCode) {
+                return null;
+            }
+            try (final InputStream in = connection.getInputStream()) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[1024];
+                for (int length; (length = in.read(buffer)) >= 0;) {
+                    out.write(buffer, 0, length);
+                }
+                return new String(out.toByteArray(), StandardCharsets.UTF_8);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @After
+    public void tearDown() {
+    }
+}
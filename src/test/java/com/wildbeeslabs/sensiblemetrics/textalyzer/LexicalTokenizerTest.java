@@ -0,0 +1,295 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2017 WildBees Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.textalyzer;
+
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.BaseLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.VowelLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenCardinality;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalAlphabet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalTokenIdStrategy;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.VowelLexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.NoOpLexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.ByteLexicalTokenizer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.LexicalTokenFilter;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.LexicalTokenizer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.RegexLexicalTokenizer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.tokenizer.interfaces.ILexicalTokenizer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * Unit test case for LexicalTokenizer class
+ *
+ * @author Alex
+ * @version 1.0.0
+ * @since 2017-12-12
+ */
+public class LexicalTokenizerTest {
+
+    /**
+     * Default logger instance
+     */
+    private static final Logger LOGGER = LogManager.getLogger(LexicalTokenizerTest.class);
+    /**
+     * Default test alphabet
+     */
+    private static final String DEFAULT_TEST_ALPHABET = "aAbBeEoOyYzZ \t,./?;:!-\"'0123éÉİıДд  😀\u0001";
+
+    @Before
+    public void setUp() {
+        LOGGER.info("Initializing lexical tokenizer...");
+    }
+
+    @Test
+    public void testTokenize() {
+        final ILexicalTokenizer tokenizer = LexicalTokenizer.getInstance(BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, VowelLexicalTokenAnalyzer.DEFAULT_TOKEN_FILTER_PATTERN);
+        Assert.assertEquals("[platon, made, bamboo, boats]", this.tokenize(tokenizer, " Platon made\tbamboo boats. ").toString());
+        Assert.assertEquals("[dont, stopme, believing]", this.tokenize(tokenizer, "Don't stop-me,believing!!!").toString());
+        Assert.assertEquals("[]", this.tokenize(tokenizer, "").toString());
+    }
+
+    @Test
+    public void testTokenizeSameAsRegex() {
+        final Random random = new Random(42);
+        final String[][] patterns = {
+            {BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, VowelLexicalTokenAnalyzer.DEFAULT_TOKEN_FILTER_PATTERN},
+            {BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, null},
+            {"\\s+", "[^\\p{L}]"},
+            {"[\\s,]", "[0-9]+"}
+        };
+        for (final String[] pattern : patterns) {
+            final ILexicalTokenizer tokenizer = LexicalTokenizer.getInstance(pattern[0], pattern[1]);
+            final ILexicalTokenizer regexTokenizer = new RegexLexicalTokenizer(new LexicalTokenFilter(pattern[1]), pattern[0]);
+            for (int i = 0; i < 2000; i++) {
+                final StringBuilder line = new StringBuilder();
+                final int length = random.nextInt(40);
+                for (int j = 0; j < length; j++) {
+                    line.append(DEFAULT_TEST_ALPHABET.charAt(random.nextInt(DEFAULT_TEST_ALPHABET.length())));
+                }
+                Assert.assertEquals(this.tokenize(regexTokenizer, line), this.tokenize(tokenizer, line));
+            }
+        }
+    }
+
+    @Test
+    public void testTokenizeAlphabet() {
+        final Random random = new Random(42);
+        final String testAlphabet = DEFAULT_TEST_ALPHABET + "ёЁжЖяЯщЩ";
+        for (final LexicalAlphabet alphabet : new LexicalAlphabet[]{LexicalAlphabet.ENGLISH, LexicalAlphabet.RUSSIAN, LexicalAlphabet.getInstance("english+russian")}) {
+            final ILexicalTokenizer tokenizer = LexicalTokenizer.getInstance(BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, alphabet);
+            final ILexicalTokenizer regexTokenizer = new RegexLexicalTokenizer(new LexicalTokenFilter(alphabet), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER);
+            for (int i = 0; i < 2000; i++) {
+                final StringBuilder line = new StringBuilder();
+                final int length = random.nextInt(40);
+                for (int j = 0; j < length; j++) {
+                    line.append(testAlphabet.charAt(random.nextInt(testAlphabet.length())));
+                }
+                Assert.assertEquals(this.tokenize(regexTokenizer, line), this.tokenize(tokenizer, line));
+            }
+        }
+        final ILexicalTokenizer tokenizer = LexicalTokenizer.getInstance(BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, LexicalAlphabet.RUSSIAN);
+        Assert.assertEquals("[ёжик, в, тумане]", this.tokenize(tokenizer, "Ёжик в  ТУМАНЕ (Hedgehog)!").toString());
+        final Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            Assert.assertEquals("[quit, it]", this.tokenize(LexicalTokenizer.getInstance(BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, LexicalAlphabet.ENGLISH), "QUIT IT").toString());
+            Assert.assertEquals("[quit, it]", this.tokenize(new RegexLexicalTokenizer(new LexicalTokenFilter(LexicalAlphabet.ENGLISH), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER), "QUIT IT").toString());
+        } finally {
+            Locale.setDefault(locale);
+        }
+
+        final VowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> analyzer = new VowelLexicalTokenAnalyzer<>(LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY, NoOpLexicalTokenMetrics.getInstance(), LexicalAlphabet.RUSSIAN);
+        final List<IVowelLexicalToken<String>> tokenList = analyzer.getLexicalTokenList(Stream.of("Ёжик в тумане, yes"));
+        Assert.assertEquals(3, tokenList.size());
+        Assert.assertEquals("[ё, и]", tokenList.get(0).vowelCharacterSet().toString());
+        Assert.assertEquals(3, tokenList.get(2).vowelCount());
+        Assert.assertEquals("[а, е, у]", tokenList.get(2).vowelCharacterSet().toString());
+        Assert.assertEquals(6, LexicalAlphabet.ENGLISH.vowelIndex('a'));
+        Assert.assertEquals(-1, LexicalAlphabet.ENGLISH.vowelIndex('ж'));
+        Assert.assertEquals(-1, LexicalAlphabet.RUSSIAN.vowelIndex('a'));
+        Assert.assertEquals(0, analyzer.getLexicalTokenList(Stream.of("yes")).size());
+    }
+
+    @Test
+    public void testFilterPatternAlphabet() {
+        final LexicalAlphabet symbols = LexicalAlphabet.register("symbols", "a-zA-Z[]^\\&-", "AEIOUYaeiouy");
+        Assert.assertEquals("[^a-zA-Z\\[\\]\\^\\\\\\&\\-]", symbols.getFilterPattern());
+        Assert.assertTrue(LexicalTokenizer.isCompilable(BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, symbols.getFilterPattern()));
+        Assert.assertEquals("a[b]^\\&-c", new LexicalTokenFilter(symbols).apply("A[b]^\\&-c!1").toString());
+        final String line = "Q[1]: x^2 & y-z \\ end!";
+        Assert.assertEquals(this.tokenize(new RegexLexicalTokenizer(new LexicalTokenFilter(symbols), BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER), line),
+                this.tokenize(LexicalTokenizer.getInstance(BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, symbols), line));
+        Assert.assertEquals("[q[], x^, &, y-z, \\, end]", this.tokenize(LexicalTokenizer.getInstance(BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, symbols), line).toString());
+    }
+
+    @Test
+    public void testVowelAlphabet() {
+        final LexicalAlphabet latin = LexicalAlphabet.register("latin", "a-zA-Z", "AEIOUaeiou");
+        final VowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> latinAnalyzer = new VowelLexicalTokenAnalyzer<>(LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY, NoOpLexicalTokenMetrics.getInstance(), latin);
+        final IVowelLexicalToken<String> token = latinAnalyzer.getLexicalTokenList(Stream.of("yyy")).get(0);
+        Assert.assertFalse(latin.isVowel('y'));
+        Assert.assertEquals(-1, latin.vowelIndex('y'));
+        Assert.assertEquals(0, token.vowelCount());
+        Assert.assertEquals(0, token.vowelMask());
+        Assert.assertEquals(3, new VowelLexicalToken<>("yyy").vowelCount());
+        Assert.assertEquals(LexicalAlphabet.ENGLISH.vowelIndex('a'), latin.vowelIndex('a'));
+
+        final LexicalAlphabet german = LexicalAlphabet.register("german", "a-zA-ZäöüÄÖÜß", "AEIOUYaeiouyäöüÄÖÜ");
+        Assert.assertTrue(german.vowelIndex('ü') >= Integer.SIZE);
+        Assert.assertSame(german, LexicalAlphabet.register("German", "a-zA-ZäöüÄÖÜß", "AEIOUYaeiouyäöüÄÖÜ"));
+        Assert.assertEquals(german.vowelIndex('ü'), LexicalAlphabet.register("german", "a-zA-ZäöüÄÖÜß", "AEIOUYaeiouyäöüÄÖÜ").vowelIndex('ü'));
+        try {
+            LexicalAlphabet.register("german", "a-zA-Z", "AEIOUYaeiouy");
+            Assert.fail("Alphabet with the same name and another definition should not be registered");
+        } catch (IllegalArgumentException ex) {
+            Assert.assertSame(german, LexicalAlphabet.getInstance("german"));
+        }
+        final VowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> germanAnalyzer = new VowelLexicalTokenAnalyzer<>(LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY, NoOpLexicalTokenMetrics.getInstance(), german);
+        final List<IVowelLexicalToken<String>> tokenList = germanAnalyzer.getLexicalTokenList(Stream.of("Über üben, Straße"));
+        Assert.assertEquals(2, tokenList.get(0).vowelCount());
+        Assert.assertEquals("[e, ü]", tokenList.get(0).vowelCharacterSet().toString());
+        final LexicalTokenCardinality groups = germanAnalyzer.getLexicalTokenCardinality(Stream.of("über üben straße"), 12);
+        Assert.assertEquals(2, groups.estimateByGroup(german.toVowelMask("üe")));
+        Assert.assertEquals(1, groups.estimateByGroup(german.toVowelMask("ae")));
+    }
+
+    @Test
+    public void testByteTokenize() {
+        final Random random = new Random(42);
+        final ILexicalTokenizer[] tokenizers = {
+            LexicalTokenizer.getInstance(BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, VowelLexicalTokenAnalyzer.DEFAULT_TOKEN_FILTER_PATTERN),
+            new RegexLexicalTokenizer(new LexicalTokenFilter("[0-9]"), "[,;]")
+        };
+        final int[] codePoints = DEFAULT_TEST_ALPHABET.codePoints().toArray();
+        for (final ILexicalTokenizer tokenizer : tokenizers) {
+            for (int i = 0; i < 500; i++) {
+                final StringBuilder text = new StringBuilder();
+                final int length = random.nextInt(200);
+                for (int j = 0; j < length; j++) {
+                    if (random.nextInt(10) == 0) {
+                        text.append(random.nextBoolean() ? "\r\n" : "\n");
+                    } else {
+                        text.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+                    }
+                }
+                final List<String> expected = new ArrayList<>();
+                for (final String line : text.toString().split("\\r\\n|\\r|\\n")) {
+                    expected.addAll(this.tokenize(tokenizer, line));
+                }
+                final List<String> tokens = new ArrayList<>();
+                final ByteLexicalTokenizer byteTokenizer = new ByteLexicalTokenizer(tokenizer, (token) -> tokens.add(token.toString()));
+                final ByteBuffer bytes = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    final ByteBuffer chunk = bytes.slice();
+                    chunk.limit(Math.min(chunk.remaining(), 1 + random.nextInt(7)));
+                    bytes.position(bytes.position() + chunk.limit());
+                    byteTokenizer.tokenize(chunk);
+                }
+                byteTokenizer.finish();
+                Assert.assertEquals(expected, tokens);
+            }
+        }
+    }
+
+    @Test
+    public void testIsCompilable() {
+        Assert.assertTrue(LexicalTokenizer.isCompilable(BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, VowelLexicalTokenAnalyzer.DEFAULT_TOKEN_FILTER_PATTERN));
+        Assert.assertTrue(LexicalTokenizer.isCompilable("\\s+", null));
+        Assert.assertFalse(LexicalTokenizer.isCompilable("[a][b]", null));
+        Assert.assertFalse(LexicalTokenizer.isCompilable("\\s*", null));
+        Assert.assertFalse(LexicalTokenizer.isCompilable("\\s+", "ab"));
+    }
+
+    @Test
+    public void testByteTokenizeCharset() {
+        final Random random = new Random(42);
+        final String testAlphabet = DEFAULT_TEST_ALPHABET + "ёЁжЖяЯщЩ";
+        final Charset[] charsets = {Charset.forName("windows-1251"), StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16LE, StandardCharsets.UTF_16};
+        Assert.assertTrue(ByteLexicalTokenizer.isSingleByte(charsets[0]) && ByteLexicalTokenizer.isAsciiCompatible(charsets[0]));
+        Assert.assertFalse(ByteLexicalTokenizer.isSingleByte(StandardCharsets.UTF_16LE) || ByteLexicalTokenizer.isAsciiCompatible(StandardCharsets.UTF_16LE));
+        final ILexicalTokenizer[] tokenizers = {
+            LexicalTokenizer.getInstance(BaseLexicalTokenAnalyzer.DEFAULT_TOKEN_DELIMITER, LexicalAlphabet.getInstance("english+russian")),
+            new RegexLexicalTokenizer(new LexicalTokenFilter("[0-9]"), "[,;]")
+        };
+        for (final Charset charset : charsets) {
+            final int[] codePoints = testAlphabet.codePoints().filter(c -> charset.newEncoder().canEncode(new String(Character.toChars(c)))).toArray();
+            for (final ILexicalTokenizer tokenizer : tokenizers) {
+                for (int i = 0; i < 300; i++) {
+                    final StringBuilder text = new StringBuilder();
+                    final int length = random.nextInt(200);
+                    for (int j = 0; j < length; j++) {
+                        if (random.nextInt(10) == 0) {
+                            text.append(random.nextBoolean() ? "\r\n" : "\n");
+                        } else {
+                            text.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+                        }
+                    }
+                    final List<String> expected = new ArrayList<>();
+                    for (final String line : text.toString().split("\\r\\n|\\r|\\n")) {
+                        expected.addAll(this.tokenize(tokenizer, line));
+                    }
+                    final List<String> tokens = new ArrayList<>();
+                    final ByteLexicalTokenizer byteTokenizer = new ByteLexicalTokenizer(tokenizer, (token) -> tokens.add(token.toString()), NoOpLexicalTokenMetrics.getInstance(), charset);
+                    final ByteBuffer bytes = ByteBuffer.wrap(text.toString().getBytes(charset));
+                    while (bytes.hasRemaining()) {
+                        final ByteBuffer chunk = bytes.slice();
+                        chunk.limit(Math.min(chunk.remaining(), 1 + random.nextInt(7)));
+                        bytes.position(bytes.position() + chunk.limit());
+                        byteTokenizer.tokenize(chunk);
+                    }
+                    byteTokenizer.finish();
+                    Assert.assertEquals(expected, tokens);
+                }
+            }
+        }
+    }
+
+    private List<String> tokenize(final ILexicalTokenizer tokenizer, final CharSequence value) {
+        final List<String> tokens = new ArrayList<>();
+        tokenizer.tokenize(value, (token) -> tokens.add(token.toString()));
+        return tokens;
+    }
+
+    @After
+    public void tearDown() {
+    }
+}
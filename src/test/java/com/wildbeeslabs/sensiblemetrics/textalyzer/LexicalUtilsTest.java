@@ -24,13 +24,45 @@
 package com.wildbeeslabs.sensiblemetrics.textalyzer;
 
 import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.IVowelLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.LexicalTokenPipeline;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.VowelLexicalTokenAnalyzer;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.analyzer.interfaces.ILexicalTokenAggregator;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntLongCounter;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.IntObjectMap;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenCardinality;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenIdIndex;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenHeavyHitters;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenSet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.LexicalTokenTopK;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.OffHeapLexicalTokenList;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.collections.OffHeapLexicalTokenStore;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalAlphabet;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.LexicalTokenIdStrategy;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.VowelLexicalToken;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.VowelLexicalTokenSummaryTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.VowelLexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.ILexicalTokenAggregate;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalToken;
 import com.wildbeeslabs.sensiblemetrics.textalyzer.entities.interfaces.IVowelLexicalTokenTerm;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.metrics.NoOpLexicalTokenMetrics;
+import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.FileUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.log4j.LogManager;
@@ -79,6 +111,187 @@ public class LexicalUtilsTest {
         Assert.assertEquals(0, map.size());
     }
 
+    @Test
+    public void testGetCountByWordLength() {
+        final String inputString = "Base test simple string a new one";
+        final IntLongCounter counter = this.analyzer.getCountByLength(Stream.of(inputString));
+        Assert.assertEquals(this.analyzer.getCountMapByLength(Stream.of(inputString)), counter.toMap());
+        Assert.assertArrayEquals(new int[]{1, 3, 4, 6}, counter.keys());
+        Assert.assertEquals(2, counter.get(4));
+        Assert.assertEquals(7, counter.total());
+
+        final IntObjectMap<List<IVowelLexicalToken<String>>> map = this.analyzer.getLexicalTokenIntMapByLength(Stream.of(inputString));
+        Assert.assertEquals(4, map.size());
+        Assert.assertEquals(2, map.get(6).size());
+        Assert.assertNull(map.get(5));
+
+        for (final int key : new int[]{-7, IntObjectMap.DEFAULT_DENSE_LIMIT, Integer.MAX_VALUE, 100}) {
+            counter.add(key, 3);
+            map.put(key, new ArrayList<>());
+        }
+        Assert.assertEquals(3, counter.get(Integer.MAX_VALUE));
+        Assert.assertEquals(3, counter.get(100));
+        Assert.assertArrayEquals(new int[]{-7, 1, 3, 4, 6, 100, IntObjectMap.DEFAULT_DENSE_LIMIT, Integer.MAX_VALUE}, counter.keys());
+        Assert.assertArrayEquals(counter.keys(), map.keys());
+        final IntLongCounter copy = new IntLongCounter();
+        copy.merge(counter);
+        Assert.assertEquals(counter, copy);
+    }
+
+    @Test
+    public void testGetUniqueTokenSetByWordLength() {
+        final String inputString = "sfd saf sdf f asdfs dsf sdf sdf ass";
+        final IntObjectMap<LexicalTokenSet> setMap = this.analyzer.getUniqueLexicalTokenSetByLength(Stream.of(inputString));
+        final Map<Integer, Set<IVowelLexicalToken<String>>> map = this.analyzer.getUniqueLexicalTokenMapByLength(Stream.of(inputString));
+        Assert.assertEquals(map.size(), setMap.size());
+        Assert.assertEquals(5, setMap.get(3).size());
+        Assert.assertEquals(map.get(3).size(), setMap.get(3).size());
+        Assert.assertEquals(15, setMap.get(3).getArenaSize());
+
+        final LexicalTokenSet tokenSet = new LexicalTokenSet();
+        final String[] words = {"мама", "mama", "über", "mama", "мама", ""};
+        for (final String word : words) {
+            Assert.assertEquals(word, tokenSet.get(tokenSet.add(new StringBuilder(word))).toString());
+        }
+        Assert.assertEquals(4, tokenSet.size());
+        Assert.assertEquals(8 + 4 + 4, tokenSet.getArenaSize());
+        Assert.assertTrue(tokenSet.contains("über"));
+        Assert.assertFalse(tokenSet.contains("uber"));
+        Assert.assertEquals("мама".hashCode(), tokenSet.get(0).hashCode());
+        Assert.assertEquals(tokenSet.get(1), tokenSet.get(tokenSet.indexOf("mama")));
+
+        final LexicalTokenSet largeSet = new LexicalTokenSet();
+        for (int i = 0; i < 100000; i++) {
+            largeSet.add(Integer.toString(i % 50000));
+        }
+        Assert.assertEquals(50000, largeSet.size());
+        Assert.assertEquals(31337, largeSet.indexOf("31337"));
+    }
+
+    @Test
+    public void testGetOffHeapTokenList() throws IOException {
+        final String inputString = "Base test simple string a new one";
+        final List<IVowelLexicalToken<String>> tokenList = this.analyzer.getLexicalTokenList(Stream.of(inputString));
+        final File storeFile = File.createTempFile("textalyzer", ".store");
+        storeFile.deleteOnExit();
+        for (final OffHeapLexicalTokenStore store : new OffHeapLexicalTokenStore[]{new OffHeapLexicalTokenStore(), new OffHeapLexicalTokenStore(storeFile, 16)}) {
+            try (final OffHeapLexicalTokenStore closeable = store) {
+                final OffHeapLexicalTokenList offHeapList = this.analyzer.getOffHeapLexicalTokenList(Stream.of(inputString), store);
+                Assert.assertEquals(tokenList.size(), offHeapList.size());
+                for (int i = 0; i < tokenList.size(); i++) {
+                    Assert.assertEquals(((VowelLexicalToken<String>) tokenList.get(i)).getValue(), offHeapList.get(i).toString());
+                    Assert.assertEquals(tokenList.get(i).vowelMask(), offHeapList.get(i).vowelMask());
+                    Assert.assertEquals(tokenList.get(i).vowelCount(), offHeapList.get(i).vowelCount());
+                    Assert.assertEquals(tokenList.get(i).characterSet(), offHeapList.get(i).characterSet());
+                }
+                final IntObjectMap<OffHeapLexicalTokenList> offHeapMap = this.analyzer.getOffHeapLexicalTokenMapByLength(Stream.of(inputString), store);
+                Assert.assertEquals(2, offHeapMap.get(6).size());
+                Assert.assertEquals("string", offHeapMap.get(6).get(1).toString());
+                offHeapList.append("мир");
+                Assert.assertEquals("мир", offHeapList.get(offHeapList.size() - 1).toString());
+                Assert.assertEquals("мир".hashCode(), offHeapList.get(offHeapList.size() - 1).hashCode());
+            }
+        }
+    }
+
+    @Test
+    public void testGetLexicalTokenHeavyHitters() {
+        final StringBuilder sBuffer = new StringBuilder();
+        for (int i = 1; i <= 200; i++) {
+            for (int j = 0; j < 1000 / i; j++) {
+                sBuffer.append("w").append(Integer.toString(i, 26).replaceAll("[0-9]", "x")).append(' ');
+            }
+        }
+        final String[] lines = sBuffer.toString().split("(?<=\\G.{997})");
+        final Map<Integer, List<IVowelLexicalToken<String>>> tokenMap = this.analyzer.getLexicalTokenMapByLength(Stream.of(lines));
+        final LexicalTokenHeavyHitters heavyHitters = this.analyzer.getLexicalTokenHeavyHitters(Stream.of(lines).parallel(), 3, 1e-3, 1e-3);
+        for (final Map.Entry<Integer, List<IVowelLexicalToken<String>>> entry : tokenMap.entrySet()) {
+            final Map<String, Long> exact = entry.getValue().stream().collect(Collectors.groupingBy((token) -> ((VowelLexicalToken<String>) token).getValue(), Collectors.counting()));
+            final List<Map.Entry<String, Long>> expected = exact.entrySet().stream().sorted(LexicalTokenTopK.DEFAULT_ENTRY_COMPARATOR).limit(3).collect(Collectors.toList());
+            final List<Map.Entry<String, Long>> actual = heavyHitters.get(entry.getKey()).getEntries();
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertEquals(expected.get(i).getKey(), actual.get(i).getKey());
+                Assert.assertTrue(actual.get(i).getValue() >= expected.get(i).getValue());
+                Assert.assertTrue(actual.get(i).getValue() <= expected.get(i).getValue() + 1e-3 * heavyHitters.getSketch().getTotalCount());
+            }
+        }
+
+        final LexicalTokenTopK topK = new LexicalTokenTopK(5, 4);
+        for (int i = 0; i < 10000; i++) {
+            topK.offer("t" + (i % 1000), 1 + i / 1000);
+        }
+        topK.offer("t1", 100);
+        Assert.assertEquals(4, topK.size());
+        Assert.assertEquals("(5) -> [t1=100, t0=10, t2=10, t3=10]", topK.toString());
+    }
+
+    @Test
+    public void testGetLexicalTokenCardinality() {
+        final List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            final StringBuilder sBuffer = new StringBuilder();
+            for (int j = 0; j < 20; j++) {
+                sBuffer.append(Integer.toString(i * 20 + j, 21).replaceAll("[0-9]", "z")).append(' ');
+            }
+            lines.add(sBuffer.toString());
+        }
+        final IntObjectMap<LexicalTokenSet> exact = this.analyzer.getUniqueLexicalTokenSetByLength(lines.stream());
+        final LexicalTokenCardinality cardinality = this.analyzer.getLexicalTokenCardinality(lines.stream().parallel(), 12);
+        final double error = 3 * 1.04 / Math.sqrt(1 << 12);
+        exact.forEach((set, length) -> {
+            final long estimate = cardinality.estimateByLength(length);
+            Assert.assertTrue(Math.abs(estimate - set.size()) <= Math.max(1, error * set.size()));
+        });
+
+        final LexicalTokenCardinality merged = this.analyzer.getLexicalTokenCardinality(lines.subList(0, 1000).stream(), 12);
+        merged.merge(this.analyzer.getLexicalTokenCardinality(lines.subList(1000, 2000).stream(), 12));
+        Assert.assertEquals(cardinality.getLengthEstimateList(Comparator.naturalOrder()), merged.getLengthEstimateList(Comparator.naturalOrder()));
+        Assert.assertEquals(cardinality.getGroupEstimateList(Comparator.naturalOrder()), merged.getGroupEstimateList(Comparator.naturalOrder()));
+
+        final LexicalTokenCardinality groups = this.analyzer.getLexicalTokenCardinality(Stream.of("bamboo tomato platon banana cat dog"), 12);
+        Assert.assertEquals(3, groups.estimateByGroup(VowelLexicalToken.toVowelMask("ao")));
+        Assert.assertEquals(2, groups.estimateByGroup(VowelLexicalToken.toVowelMask("a")));
+        Assert.assertEquals(1, groups.estimateByGroup(VowelLexicalToken.toVowelMask("o")));
+    }
+
+    @Test
+    public void testGetLexicalTokenPipeline() {
+        final List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            lines.add("Base test simple string, a new one " + Integer.toString(i, 26).replaceAll("[0-9]", "q") + " banana " + i);
+        }
+        final AtomicInteger lineCount = new AtomicInteger();
+        final LexicalTokenPipeline pipeline = this.analyzer.getLexicalTokenPipeline()
+                .subscribe("totalLength", () -> new long[1], (long[] total, CharSequence word) -> total[0] += word.length(), (first, last) -> first[0] += last[0]);
+        final LexicalTokenPipeline result = this.analyzer.getLexicalTokenPipeline(lines.stream().peek((line) -> lineCount.incrementAndGet()).parallel(), pipeline);
+        Assert.assertEquals(lines.size(), lineCount.get());
+        Assert.assertEquals(0, pipeline.getTokenCount());
+        Assert.assertEquals(4, result.size());
+
+        final IntLongCounter counter = result.get(LexicalTokenPipeline.DEFAULT_COUNT_BY_LENGTH);
+        Assert.assertEquals(this.analyzer.getCountMapByLength(lines.stream()), counter.toMap());
+        Assert.assertEquals(counter.total(), result.getTokenCount());
+        final IntObjectMap<LexicalTokenSet> tokenSetMap = result.get(LexicalTokenPipeline.DEFAULT_UNIQUE_BY_LENGTH);
+        this.analyzer.getUniqueLexicalTokenMapByLength(lines.stream()).forEach((length, tokens) -> Assert.assertEquals(tokens.size(), tokenSetMap.get(length).size()));
+        final ILexicalTokenAggregator<String> aggregator = result.get(LexicalTokenPipeline.DEFAULT_AGGREGATES);
+        final List<ILexicalTokenAggregate<String>> expected = this.analyzer.getLexicalTokenAggregateList(lines.stream(), Comparator.reverseOrder());
+        final List<ILexicalTokenAggregate<String>> actual = aggregator.getAggregateList(Comparator.reverseOrder());
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).toFormatString(), actual.get(i).toFormatString());
+        }
+        final long[] totalLength = result.get("totalLength");
+        Assert.assertEquals(counter.toMap().entrySet().stream().mapToLong((entry) -> entry.getKey() * entry.getValue()).sum(), totalLength[0]);
+
+        try {
+            pipeline.subscribe("totalLength", () -> new long[1], (long[] total, CharSequence word) -> total[0]++, (first, last) -> first[0] += last[0]);
+            Assert.fail();
+        } catch (IllegalArgumentException ex) {
+            LOGGER.debug(ex.getMessage());
+        }
+    }
+
     @Test
     public void testGetSortedTokenMapByWordLength() {
         String inputString = "Base test simple string a new one";
@@ -96,6 +309,156 @@ public class LexicalUtilsTest {
         Assert.assertEquals(3, list.size());
     }
 
+    @Test
+    public void testGetLexicalTokenAggregateList() {
+        String inputString = "Platon made bamboo boats. You, quite EASY; queue! eunoia, yogi-bear";
+        List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> termList = this.analyzer.getLexicalTokenTermList(Stream.of(inputString), Comparator.reverseOrder());
+        List<ILexicalTokenAggregate<String>> aggregateList = this.analyzer.getLexicalTokenAggregateList(Stream.of(inputString), Comparator.reverseOrder());
+        Assert.assertEquals(termList.size(), aggregateList.size());
+        for (int i = 0; i < termList.size(); i++) {
+            Assert.assertEquals(termList.get(i).toFormatString(), aggregateList.get(i).toFormatString());
+            Assert.assertEquals(termList.get(i).size(), aggregateList.get(i).getTokenCount());
+        }
+
+        aggregateList = this.analyzer.getLexicalTokenAggregateList(Stream.of(""), Comparator.reverseOrder());
+        Assert.assertEquals(0, aggregateList.size());
+    }
+
+    @Test
+    public void testVowelLexicalTokenTermStatistics() {
+        final VowelLexicalTokenTerm<String, IVowelLexicalToken<String>> term = new VowelLexicalTokenTerm<>();
+        final IVowelLexicalToken<String> bamboo = new VowelLexicalToken<>("bamboo");
+        final IVowelLexicalToken<String> queue = new VowelLexicalToken<>("queue");
+        term.setTokens(Arrays.asList(bamboo, queue, new VowelLexicalToken<>("sfd")));
+        Assert.assertEquals(3, term.getStatistics().getCount());
+        Assert.assertEquals(7, term.count());
+        Assert.assertEquals(4, term.getStatistics().getMax());
+        Assert.assertEquals(14 / 3.0, term.getAvgTokenLength(), 1e-9);
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList('a', 'e', 'o', 'u')), term.getUniqueVowelSet());
+        Assert.assertEquals(Arrays.asList('e', 'u'), new ArrayList<>(queue.vowelCharacterSet()));
+        Assert.assertEquals(Arrays.asList('a', 'e', 'o', 'u'), new ArrayList<>(term.getUniqueVowelSet()));
+
+        term.removeToken(queue);
+        Assert.assertEquals(3, term.getStatistics().getMax());
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList('a', 'o')), term.getUniqueVowelSet());
+        Assert.assertEquals("({a, o}, 4) -> 1.5", term.toFormatString());
+
+        term.getStatistics().accept(100);
+        Assert.assertEquals(2, term.getStatistics().getCount());
+        try {
+            term.getTokenList().add(queue);
+            Assert.fail("Token list should be read-only");
+        } catch (UnsupportedOperationException ex) {
+            Assert.assertEquals(2, term.size());
+        }
+        term.setTokens(null);
+        Assert.assertEquals(0, term.getUniqueVowelMask());
+        Assert.assertEquals(0, term.getAvgVowelCounterPerToken(), 0);
+    }
+
+    @Test
+    public void testVowelLexicalTokenSummaryTerm() {
+        final String inputString = "Platon made bamboo boats. You, quite EASY; queue! eunoia, yogi-bear";
+        final VowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> summaryAnalyzer = new VowelLexicalTokenAnalyzer<>(LexicalTokenIdStrategy.DEFAULT_ID_STRATEGY, NoOpLexicalTokenMetrics.getInstance(), LexicalAlphabet.DEFAULT_ALPHABET, FileUtils.DEFAULT_FILE_CHARACTER_ENCODING, false);
+        final List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> termList = this.analyzer.getLexicalTokenTermList(Stream.of(inputString), Comparator.reverseOrder());
+        final List<IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> summaryList = summaryAnalyzer.getLexicalTokenTermList(Stream.of(inputString), Comparator.reverseOrder());
+        Assert.assertEquals(termList.size(), summaryList.size());
+        for (int i = 0; i < termList.size(); i++) {
+            Assert.assertTrue(summaryList.get(i) instanceof VowelLexicalTokenSummaryTerm);
+            Assert.assertEquals(termList.get(i).toFormatString(), summaryList.get(i).toFormatString());
+            Assert.assertEquals(termList.get(i).size(), summaryList.get(i).size());
+            Assert.assertEquals(termList.get(i).getStatistics().toString(), summaryList.get(i).getStatistics().toString());
+            Assert.assertEquals(termList.get(i).getAvgTokenLength(), summaryList.get(i).getAvgTokenLength(), 0);
+        }
+
+        final VowelLexicalTokenSummaryTerm<String, IVowelLexicalToken<String>> term = new VowelLexicalTokenSummaryTerm<>();
+        term.addToken(new VowelLexicalToken<>("bamboo"));
+        final VowelLexicalTokenSummaryTerm<String, IVowelLexicalToken<String>> other = new VowelLexicalTokenSummaryTerm<>();
+        other.accept("queue");
+        other.accept(3, 0, 0);
+        term.merge(other);
+        Assert.assertEquals(3, term.size());
+        Assert.assertEquals(7, term.count());
+        Assert.assertEquals(3, term.getLengthStatistics().getMin());
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList('a', 'e', 'o', 'u')), term.getUniqueVowelSet());
+        try {
+            term.removeToken(new VowelLexicalToken<>("bamboo"));
+            Assert.fail("Summary term should not support token removal");
+        } catch (UnsupportedOperationException ex) {
+            Assert.assertEquals(3, term.size());
+        }
+
+        Assert.assertFalse(summaryAnalyzer.isTokenRetention());
+        final IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>> summaryTerm = summaryList.get(0);
+        final int size = summaryTerm.size();
+        try {
+            summaryTerm.removeToken(new VowelLexicalToken<>("bamboo"));
+            Assert.fail("Summary term of the analyzer without token retention should not support token removal");
+        } catch (UnsupportedOperationException ex) {
+            Assert.assertEquals(size, summaryTerm.size());
+        }
+    }
+
+    @Test
+    public void testVowelLexicalTokenSummaryTermSerialization() throws IOException, ClassNotFoundException {
+        final VowelLexicalTokenSummaryTerm<String, IVowelLexicalToken<String>> term = new VowelLexicalTokenSummaryTerm<>();
+        Stream.of("bamboo", "queue", "sfd", "eunoia", "yogi").forEach(term::accept);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(output)) {
+            out.writeObject(term);
+        }
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            final VowelLexicalTokenSummaryTerm<String, IVowelLexicalToken<String>> copy = (VowelLexicalTokenSummaryTerm<String, IVowelLexicalToken<String>>) in.readObject();
+            Assert.assertEquals(term.toFormatString(), copy.toFormatString());
+            Assert.assertEquals(term.getStatistics().toString(), copy.getStatistics().toString());
+            Assert.assertEquals(term.getLengthStatistics().toString(), copy.getLengthStatistics().toString());
+            Assert.assertEquals(term.getUniqueVowelSet(), copy.getUniqueVowelSet());
+            copy.accept("boat");
+            Assert.assertEquals(term.size() + 1, copy.size());
+        }
+    }
+
+    @Test
+    public void testVowelLexicalToken() {
+        final VowelLexicalToken<String> token = new VowelLexicalToken<>("bamboo");
+        Assert.assertEquals(3, token.vowelCount());
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList('a', 'o')), token.vowelCharacterSet());
+        Assert.assertEquals("ao", token.getDistinctVowelString());
+
+        token.setValue("queue");
+        Assert.assertEquals(4, token.vowelCount());
+        Assert.assertEquals("eu", token.getDistinctVowelString());
+        Assert.assertEquals(token.vowelMask(), new VowelLexicalToken<>("eu").vowelMask());
+
+        Assert.assertEquals(0, new VowelLexicalToken<>("sfd").vowelMask());
+    }
+
+    @Test
+    public void testGetLexicalTokenIndexById() {
+        String inputString = "Platon made bamboo boats. You, quite EASY; queue! eunoia, yogi-bear";
+        for (final LexicalTokenIdStrategy idStrategy : LexicalTokenIdStrategy.values()) {
+            final VowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>> idAnalyzer = new VowelLexicalTokenAnalyzer<>(idStrategy);
+            final List<IVowelLexicalToken<String>> tokenList = idAnalyzer.getLexicalTokenList(Stream.of(inputString, inputString));
+            final LexicalTokenIdIndex<IVowelLexicalToken<String>> index = idAnalyzer.getLexicalTokenIndexById(tokenList.stream());
+            if (LexicalTokenIdStrategy.NONE == idStrategy) {
+                Assert.assertTrue(index.isEmpty());
+                Assert.assertNull(tokenList.get(0).getId());
+                continue;
+            }
+            Assert.assertEquals(tokenList.size(), index.size());
+            Assert.assertEquals(tokenList.size(), idAnalyzer.getLexicalTokenMapById(tokenList.stream()).size());
+            for (final IVowelLexicalToken<String> token : tokenList) {
+                Assert.assertSame(token, index.get(token.getId()));
+                Assert.assertSame(token, index.get(token.getIdMostSignificantBits(), token.getIdLeastSignificantBits()));
+            }
+            Assert.assertNull(index.get(new UUID(-1L, -1L)));
+        }
+        final List<IVowelLexicalToken<String>> tokenList = new VowelLexicalTokenAnalyzer<String, IVowelLexicalToken<String>, IVowelLexicalTokenTerm<String, IVowelLexicalToken<String>>>(LexicalTokenIdStrategy.UUID).getLexicalTokenList(Stream.of(inputString));
+        Assert.assertEquals(4, tokenList.get(0).getId().version());
+        Assert.assertEquals(2, tokenList.get(0).getId().variant());
+    }
+
     @After
     public void tearDown() {
     }
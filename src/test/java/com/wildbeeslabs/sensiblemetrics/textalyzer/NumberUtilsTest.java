@@ -25,6 +25,9 @@ package com.wildbeeslabs.sensiblemetrics.textalyzer;
 
 import com.wildbeeslabs.sensiblemetrics.textalyzer.utils.NumberUtils;
 
+import java.text.DecimalFormat;
+import java.util.Random;
+
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 
@@ -68,6 +71,35 @@ public class NumberUtilsTest {
         Assert.assertEquals("3.5", NumberUtils.formatByPattern(value, "#.#"));
     }
 
+    @Test
+    public void testAppendFormat() {
+        final DecimalFormat format = new DecimalFormat(NumberUtils.DEFAULT_NUMBER_FORMAT_PATTERN);
+        final double[] values = {0, -0.0, 0.5, 1.005, 2.345, 0.125, 0.135, 3.54, 99.995, 1e-300, 1e14 + 0.125, 1e16, -2.5, Double.NaN, Double.POSITIVE_INFINITY};
+        for (final double value : values) {
+            Assert.assertEquals(format.format(value), NumberUtils.appendFormat(new StringBuilder(), value).toString());
+        }
+        final Random random = new Random(20171212L);
+        for (int i = 0; i < 100000; i++) {
+            final double value = (0 == i % 2) ? random.nextInt(100000) / 1000.0 : random.nextDouble() * Math.pow(10, random.nextInt(12));
+            Assert.assertEquals(format.format(value), NumberUtils.appendFormat(new StringBuilder(), value).toString());
+        }
+    }
+
+    @Test
+    public void testAppendFormatFixedPointLimit() {
+        final DecimalFormat format = new DecimalFormat(NumberUtils.DEFAULT_NUMBER_FORMAT_PATTERN);
+        Assert.assertEquals("999999999999999.9", NumberUtils.appendFormat(new StringBuilder(), 999999999999999.9).toString());
+        final double[] values = {7e13 + 0.9, Math.nextDown(1e13), 1e13, Math.nextUp(1e13), 1e13 - 0.01, 1e13 - 0.05, 9999999999999.99, 9999999999999.9};
+        for (final double value : values) {
+            Assert.assertEquals(format.format(value), NumberUtils.appendFormat(new StringBuilder(), value).toString());
+        }
+        final Random random = new Random(20171212L);
+        for (int i = 0; i < 100000; i++) {
+            final double value = (0 == i % 2) ? Math.floor(1e14 + random.nextDouble() * 9e14) / 100.0 : 1e12 + random.nextDouble() * 9e12;
+            Assert.assertEquals(format.format(value), NumberUtils.appendFormat(new StringBuilder(), value).toString());
+        }
+    }
+
     @After
     public void tearDown() {
     }